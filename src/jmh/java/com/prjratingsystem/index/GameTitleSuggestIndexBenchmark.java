@@ -0,0 +1,72 @@
+package com.prjratingsystem.index;
+
+import com.prjratingsystem.dto.GameObjectDTO;
+import com.prjratingsystem.event.GameObjectDeletedEvent;
+import com.prjratingsystem.event.GameObjectSavedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Cost of one {@link GameTitleSuggestIndex#suggest} call over 100k distinct titles listed by 200k game objects, for a
+ * one-letter prefix that matches about a tenth of the titles and for longer, more selective prefixes. {@code update}
+ * alternately adds and deletes a listing by a new seller, raising and lowering the seller count of a title that ranks
+ * among the top suggestions for its first letter. Run with {@code gradle jmh}; add {@code -prof gc} to the JMH
+ * arguments to see the allocation per call.
+ */
+@State(Scope.Benchmark)
+public class GameTitleSuggestIndexBenchmark {
+
+    private static final String[] WORDS = {"Ancient", "Blood", "Crimson", "Dragon", "Emerald", "Frozen", "Golden",
+            "Hollow", "Iron", "Jade", "Knight", "Lunar", "Mystic", "Night", "Obsidian", "Phantom", "Quartz", "Rune",
+            "Shadow", "Thunder"};
+    private static final int TITLES = 100_000;
+    private static final int GAME_OBJECTS = 200_000;
+
+    @Param({"s", "shadow", "shadow kn"})
+    private String prefix;
+
+    private GameTitleSuggestIndex index;
+    private GameObjectDTO listing;
+    private boolean listed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new GameTitleSuggestIndex(null);
+        Random random = new Random(42);
+        for (int id = 1; id <= GAME_OBJECTS; id++) {
+            int title = id <= TITLES ? id : 1 + random.nextInt(TITLES);
+            GameObjectDTO gameObject = new GameObjectDTO();
+            gameObject.setId(id);
+            gameObject.setUserId(1 + random.nextInt(5_000));
+            gameObject.setTitle("%s %s %d".formatted(WORDS[title % WORDS.length], WORDS[title / WORDS.length % WORDS.length], title));
+            index.onGameObjectSaved(new GameObjectSavedEvent(gameObject));
+        }
+
+        listing = new GameObjectDTO();
+        listing.setId(GAME_OBJECTS + 1);
+        listing.setUserId(0);
+        listing.setTitle(index.suggest(prefix.substring(0, 1), 10).get(9).getTitle());
+    }
+
+    @Benchmark
+    public List<?> suggest() {
+        return index.suggest(prefix, 10);
+    }
+
+    @Benchmark
+    public void update() {
+        if (listed) {
+            index.onGameObjectDeleted(new GameObjectDeletedEvent(listing.getId()));
+        } else {
+            index.onGameObjectSaved(new GameObjectSavedEvent(listing));
+        }
+        listed = !listed;
+    }
+}
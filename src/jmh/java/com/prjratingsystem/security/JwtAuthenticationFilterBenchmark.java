@@ -0,0 +1,64 @@
+package com.prjratingsystem.security;
+
+import com.prjratingsystem.model.enums.Role;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Cost of {@link JwtAuthenticationFilter} per authenticated request, excluding the user lookup, with the verified-token
+ * cache disabled ({@code cacheSize = 0}) and enabled, in both authentication modes. Run with {@code gradle jmh}.
+ */
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    private long cacheSize;
+
+    @Param({"LOOKUP", "STATELESS"})
+    private JwtProperties.Mode mode;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private final String filteredAttribute = JwtAuthenticationFilter.class.getName() + OncePerRequestFilter.ALREADY_FILTERED_SUFFIX;
+    private final FilterChain chain = (request, response) -> {
+    };
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setMode(mode);
+        JwtUtil jwtUtil = new JwtUtil(properties, cacheSize);
+        UserDetails user = new User("seller@example.com", "-", AuthorityUtils.createAuthorityList("ROLE_SELLER"));
+        filter = new JwtAuthenticationFilter(jwtUtil, email -> user, new TokenRevocationList(null, null, properties), properties);
+
+        com.prjratingsystem.model.User seller = new com.prjratingsystem.model.User();
+        seller.setId(7);
+        seller.setEmail(user.getUsername());
+        seller.setRole(Role.SELLER);
+        seller.setApproved(true);
+
+        request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader("Authorization", "Bearer %s".formatted(jwtUtil.generateAccessToken(seller)));
+    }
+
+    @Benchmark
+    public void filterRequest(Blackhole blackhole) throws Exception {
+        request.removeAttribute(filteredAttribute);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,71 @@
+package com.prjratingsystem.cache;
+
+import com.prjratingsystem.event.GameObjectDeletedEvent;
+import com.prjratingsystem.event.GameObjectSavedEvent;
+import com.prjratingsystem.event.SellerRatingChangedEvent;
+import com.prjratingsystem.event.SellerRatingStatsRebuiltEvent;
+import com.prjratingsystem.event.UserChangedEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached reads once the write that made them stale has committed. A cached user includes the seller's average
+ * rating, so rating changes evict the seller as well.
+ */
+@Component
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    public CacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(CacheNames.USERS, event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        evict(CacheNames.USERS, event.userId());
+        clear(CacheNames.GAME_OBJECTS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSellerRatingChanged(SellerRatingChangedEvent event) {
+        evict(CacheNames.USERS, event.sellerId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSellerRatingStatsRebuilt(SellerRatingStatsRebuiltEvent event) {
+        clear(CacheNames.USERS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameObjectSaved(GameObjectSavedEvent event) {
+        evict(CacheNames.GAME_OBJECTS, event.gameObject().getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameObjectDeleted(GameObjectDeletedEvent event) {
+        evict(CacheNames.GAME_OBJECTS, event.gameObjectId());
+    }
+
+    private void evict(String cacheName, Integer id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && id != null) {
+            cache.evict(id);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
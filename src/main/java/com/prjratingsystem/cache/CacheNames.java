@@ -0,0 +1,10 @@
+package com.prjratingsystem.cache;
+
+public final class CacheNames {
+
+    public static final String USERS = "users";
+    public static final String GAME_OBJECTS = "gameObjects";
+
+    private CacheNames() {
+    }
+}
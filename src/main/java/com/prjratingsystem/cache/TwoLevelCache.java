@@ -0,0 +1,288 @@
+package com.prjratingsystem.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A cache with a bounded in-heap level in front of a shared Redis level.
+ * <p>
+ * Reads try this node's Caffeine cache, then Redis, then the loader; each level that missed is filled on the way back.
+ * Values are stored as JSON of the cache's value type, in Redis under {@code cache:{name}:{key}} with a TTL and locally
+ * as the same string, so every read gets its own copy. Evicting
+ * replaces the Redis entry with a short-lived tombstone and publishes the key on
+ * {@link TwoLevelCacheManager#INVALIDATION_CHANNEL} so the other nodes drop their local copy. Redis errors are logged
+ * and the read falls through to the loader.
+ * <p>
+ * A fill must not store a value loaded before an eviction that ran while it loaded. The Redis fill only succeeds if the
+ * entry and the cache's clear marker still hold what the read saw before loading, which an eviction or a clear always
+ * changes. The local fill only succeeds if no invalidation of the key's stripe ran since the read began.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    static final String CLEAR_ALL = "*";
+    static final String TOMBSTONE_PREFIX = "tombstone:";
+
+    /**
+     * Stores ARGV[3] with a TTL of ARGV[4] ms if the entry (KEYS[1]) and the clear marker (KEYS[2]) still hold ARGV[1]
+     * and ARGV[2], where an empty string stands for a missing key.
+     */
+    static final RedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[1]) or '') ~= ARGV[1] or (redis.call('GET', KEYS[2]) or '') ~= ARGV[2] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[3], 'PX', ARGV[4])
+            return 1
+            """, Long.class);
+
+    private static final int GENERATION_STRIPES = 64;
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private final String name;
+    private final Class<?> valueType;
+    private final com.github.benmanes.caffeine.cache.Cache<String, String> local;
+    private final AtomicLongArray localGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TwoLevelCacheProperties properties;
+    private final Counter localHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+
+    public TwoLevelCache(String name, Class<?> valueType, TwoLevelCacheProperties properties,
+                         RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.valueType = valueType;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .build();
+        this.localHits = meterRegistry.counter("cache.two_level.gets", "cache", name, "result", "local_hit");
+        this.remoteHits = meterRegistry.counter("cache.two_level.gets", "cache", name, "result", "remote_hit");
+        this.misses = meterRegistry.counter("cache.two_level.gets", "cache", name, "result", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return read(key.toString()).value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Read read = read(key.toString());
+        if (read.value() != null) {
+            return (T) read.value();
+        }
+
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        fill(read, loaded);
+        return loaded;
+    }
+
+    /**
+     * Stores a value known to be current, replacing whatever the key holds.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        String json = serialize(key.toString(), value);
+        if (json == null) {
+            return;
+        }
+
+        String localKey = key.toString();
+        local.put(localKey, json);
+        try {
+            redisTemplate.opsForValue().set(remoteKey(localKey), json, properties.getRemoteTtl());
+        } catch (DataAccessException ex) {
+            log.warn("Could not store {}:{} in Redis: {}", name, localKey, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = key.toString();
+        invalidateLocal(localKey);
+        try {
+            redisTemplate.opsForValue().set(remoteKey(localKey), TOMBSTONE_PREFIX + UUID.randomUUID(),
+                    properties.getTombstoneTtl());
+            redisTemplate.convertAndSend(TwoLevelCacheManager.INVALIDATION_CHANNEL, "%s:%s".formatted(name, localKey));
+        } catch (DataAccessException ex) {
+            log.warn("Could not invalidate {}:{} in Redis: {}", name, localKey, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void clear() {
+        invalidateLocal(CLEAR_ALL);
+        try {
+            redisTemplate.opsForValue().set(clearMarkerKey(), UUID.randomUUID().toString());
+            List<String> keys = new ArrayList<>();
+            try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(remoteKey("*")).count(1000).build())) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+            redisTemplate.convertAndSend(TwoLevelCacheManager.INVALIDATION_CHANNEL, "%s:%s".formatted(name, CLEAR_ALL));
+        } catch (DataAccessException ex) {
+            log.warn("Could not clear {} in Redis: {}", name, ex.getMessage());
+        }
+    }
+
+    /**
+     * Drops an entry, or all entries for {@link #CLEAR_ALL}, from this node only. The generation moves first, so a fill
+     * that began earlier either lands before the entry is dropped or is refused.
+     */
+    void invalidateLocal(String key) {
+        if (CLEAR_ALL.equals(key)) {
+            for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+                localGenerations.incrementAndGet(stripe);
+            }
+            local.invalidateAll();
+        } else {
+            localGenerations.incrementAndGet(stripe(key));
+            local.invalidate(key);
+        }
+    }
+
+    private Read read(String key) {
+        long generation = localGenerations.get(stripe(key));
+        String json = local.getIfPresent(key);
+        if (json != null) {
+            Object value = deserialize(key, json);
+            if (value != null) {
+                localHits.increment();
+                return new Read(key, generation, value, null, null);
+            }
+        }
+
+        List<String> remote;
+        try {
+            remote = redisTemplate.opsForValue().multiGet(List.of(remoteKey(key), clearMarkerKey()));
+        } catch (DataAccessException ex) {
+            log.warn("Could not read {}:{} from Redis: {}", name, key, ex.getMessage());
+            remote = null;
+        }
+        if (remote == null) {
+            misses.increment();
+            return new Read(key, generation, null, null, null);
+        }
+
+        String entry = remote.get(0);
+        String clearMarker = remote.get(1) == null ? "" : remote.get(1);
+        if (entry != null && !entry.startsWith(TOMBSTONE_PREFIX)) {
+            Object value = deserialize(key, entry);
+            if (value != null) {
+                remoteHits.increment();
+                fillLocal(key, generation, entry);
+                return new Read(key, generation, value, null, null);
+            }
+        }
+
+        misses.increment();
+        return new Read(key, generation, null, entry == null ? "" : entry, clearMarker);
+    }
+
+    /**
+     * Stores a loaded value on both levels unless an invalidation ran since the read that missed. When Redis could not
+     * be read, only the local level is filled.
+     */
+    private void fill(Read read, Object value) {
+        String json = serialize(read.key(), value);
+        if (json == null) {
+            return;
+        }
+
+        fillLocal(read.key(), read.generation(), json);
+        if (read.remoteEntry() == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(FILL_SCRIPT, List.of(remoteKey(read.key()), clearMarkerKey()),
+                    read.remoteEntry(), read.remoteClearMarker(), json, Long.toString(properties.getRemoteTtl().toMillis()));
+        } catch (DataAccessException ex) {
+            log.warn("Could not store {}:{} in Redis: {}", name, read.key(), ex.getMessage());
+        }
+    }
+
+    private void fillLocal(String key, long generation, String json) {
+        local.asMap().compute(key, (k, current) -> localGenerations.get(stripe(k)) == generation ? json : current);
+    }
+
+    private String serialize(String key, Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not serialize {}:{}: {}", name, key, ex.getMessage());
+            return null;
+        }
+    }
+
+    private Object deserialize(String key, String json) {
+        try {
+            return objectMapper.readValue(json, valueType);
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not read cached {}:{}: {}", name, key, ex.getMessage());
+            return null;
+        }
+    }
+
+    private static int stripe(String key) {
+        return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+    }
+
+    private String remoteKey(String key) {
+        return "cache:%s:%s".formatted(name, key);
+    }
+
+    private String clearMarkerKey() {
+        return "cache-cleared:%s".formatted(name);
+    }
+
+    /**
+     * What a read found: the value, or on a miss the Redis entry and clear marker it saw ({@code ""} when missing, null
+     * when Redis could not be read), which a fill must still find.
+     */
+    private record Read(String key, long generation, Object value, String remoteEntry, String remoteClearMarker) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.prjratingsystem.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Holds a fixed set of {@link TwoLevelCache}s and applies invalidations published by other nodes.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidate";
+
+    private final Map<String, TwoLevelCache> caches;
+
+    public TwoLevelCacheManager(List<TwoLevelCache> caches) {
+        this.caches = caches.stream().collect(Collectors.toUnmodifiableMap(TwoLevelCache::getName, Function.identity()));
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return caches.keySet();
+    }
+
+    /**
+     * Applies a {@code name:key} message from {@link #INVALIDATION_CHANNEL} to this node's local levels.
+     */
+    public void receiveInvalidation(String message) {
+        int separator = message.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(message.substring(0, separator));
+        if (cache != null) {
+            cache.invalidateLocal(message.substring(separator + 1));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.prjratingsystem.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizes and lifetimes of the read-through caches, bound from {@code cache.two-level.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.two-level")
+public class TwoLevelCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Entries kept in each in-heap cache; Caffeine evicts with W-TinyLFU beyond that. */
+    private long localMaximumSize = 10_000;
+
+    /** Bounds how stale an entry can get on a node that missed an invalidation message. */
+    private Duration localTtl = Duration.ofMinutes(5);
+
+    private Duration remoteTtl = Duration.ofMinutes(30);
+
+    /** How long an evicted key refuses fills that began before the eviction; must exceed the slowest load. */
+    private Duration tombstoneTtl = Duration.ofMinutes(1);
+}
@@ -0,0 +1,34 @@
+package com.prjratingsystem.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prjratingsystem.cache.CacheNames;
+import com.prjratingsystem.cache.TwoLevelCache;
+import com.prjratingsystem.cache.TwoLevelCacheManager;
+import com.prjratingsystem.cache.TwoLevelCacheProperties;
+import com.prjratingsystem.dto.GameObjectDTO;
+import com.prjratingsystem.dto.UserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(TwoLevelCacheProperties properties, RedisTemplate<String, String> redisTemplate,
+                                     ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            return new NoOpCacheManager();
+        }
+        return new TwoLevelCacheManager(List.of(
+                new TwoLevelCache(CacheNames.USERS, UserDTO.class, properties, redisTemplate, objectMapper, meterRegistry),
+                new TwoLevelCache(CacheNames.GAME_OBJECTS, GameObjectDTO.class, properties, redisTemplate, objectMapper, meterRegistry)));
+    }
+}
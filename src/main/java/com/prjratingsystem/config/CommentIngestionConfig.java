@@ -0,0 +1,25 @@
+package com.prjratingsystem.config;
+
+import com.prjratingsystem.ingest.CommentIngestionProperties;
+import com.prjratingsystem.ingest.CommentIngestionQueue;
+import com.prjratingsystem.ingest.InMemoryCommentIngestionQueue;
+import com.prjratingsystem.ingest.RedisStreamCommentIngestionQueue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+@Configuration
+public class CommentIngestionConfig {
+
+    @Bean
+    @ConditionalOnExpression(CommentIngestionProperties.WRITE_BEHIND)
+    public CommentIngestionQueue commentIngestionQueue(CommentIngestionProperties properties, RedisTemplate<String, String> redisTemplate) {
+        return switch (properties.getMode()) {
+            case REDIS -> new RedisStreamCommentIngestionQueue(redisTemplate, properties.getStreamKey(),
+                    properties.getConsumerGroup(), properties.getConsumerName(), properties.getCapacity());
+            case MEMORY -> new InMemoryCommentIngestionQueue(properties.getCapacity());
+            case DIRECT -> throw new IllegalStateException("Direct comment ingestion has no queue");
+        };
+    }
+}
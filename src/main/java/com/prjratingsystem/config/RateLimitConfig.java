@@ -0,0 +1,43 @@
+package com.prjratingsystem.config;
+
+import com.prjratingsystem.ratelimit.LocalFailureCounter;
+import com.prjratingsystem.ratelimit.LocalRateLimiter;
+import com.prjratingsystem.ratelimit.LoginThrottleProperties;
+import com.prjratingsystem.ratelimit.RedisFailureCounter;
+import com.prjratingsystem.ratelimit.RedisRateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Creates the rate limiter and the login failure counter for the configured modes. Only the selected implementation
+ * exists, so the local ones, which sweep their own idle entries, are not created in redis mode.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.mode", havingValue = "local", matchIfMissing = true)
+    public LocalRateLimiter localRateLimiter() {
+        return new LocalRateLimiter();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.mode", havingValue = "redis")
+    public RedisRateLimiter redisRateLimiter(RedisTemplate<String, String> redisTemplate) {
+        return new RedisRateLimiter(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "login-throttle.mode", havingValue = "local", matchIfMissing = true)
+    public LocalFailureCounter localLoginFailureCounter(LoginThrottleProperties properties) {
+        return new LocalFailureCounter(properties.longestWindow());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "login-throttle.mode", havingValue = "redis")
+    public RedisFailureCounter redisLoginFailureCounter(RedisTemplate<String, String> redisTemplate) {
+        return new RedisFailureCounter(redisTemplate);
+    }
+}
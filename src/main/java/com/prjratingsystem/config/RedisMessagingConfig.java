@@ -0,0 +1,33 @@
+package com.prjratingsystem.config;
+
+import com.prjratingsystem.cache.TwoLevelCacheManager;
+import com.prjratingsystem.security.UserChangeBroadcaster;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+public class RedisMessagingConfig {
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       UserChangeBroadcaster userChangeBroadcaster,
+                                                                       CacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> userChangeBroadcaster.receive(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(UserChangeBroadcaster.USER_CHANGED_CHANNEL));
+        if (cacheManager instanceof TwoLevelCacheManager twoLevelCacheManager) {
+            container.addMessageListener(
+                    (message, pattern) -> twoLevelCacheManager.receiveInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        }
+        return container;
+    }
+}
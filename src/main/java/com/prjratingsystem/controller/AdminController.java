@@ -2,6 +2,10 @@ package com.prjratingsystem.controller;
 
 import com.prjratingsystem.dto.UserDTO;
 import com.prjratingsystem.dto.CommentDTO;
+import com.prjratingsystem.dto.CommentReviewDTO;
+import com.prjratingsystem.dto.CommentReviewResultDTO;
+import com.prjratingsystem.dto.CursorPage;
+import com.prjratingsystem.dto.PurgeStatusDTO;
 import com.prjratingsystem.service.AdminService;
 import com.prjratingsystem.service.RatingService;
 import org.springframework.http.ResponseEntity;
@@ -27,10 +31,27 @@ public class AdminController {
         return ResponseEntity.ok(averageRating);
     }
 
+    @GetMapping("/purge")
+    public ResponseEntity<PurgeStatusDTO> getPurgeStatus() {
+        return ResponseEntity.ok(adminService.getPurgeStatus());
+    }
+
+    @PostMapping("/ratings/rebuild")
+    public ResponseEntity<Integer> rebuildSellerRatingStats() {
+        return ResponseEntity.ok(ratingService.rebuildSellerRatingStats());
+    }
+
     @GetMapping("/comments/pending")
-    public ResponseEntity<List<CommentDTO>> getPendingComments() {
-        List<CommentDTO> pendingComments = adminService.getPendingComments();
-        return ResponseEntity.ok(pendingComments);
+    public ResponseEntity<List<CommentDTO>> getPendingComments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<CommentDTO> pendingComments = adminService.getPendingComments(cursor, limit);
+        return CursorResponses.ok(pendingComments);
+    }
+
+    @GetMapping("/comments/pending/count")
+    public ResponseEntity<Long> countPendingComments() {
+        return ResponseEntity.ok(adminService.countPendingComments());
     }
 
     @GetMapping("/sellers/pending")
@@ -47,6 +68,11 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    @PatchMapping("/comments/review")
+    public ResponseEntity<List<CommentReviewResultDTO>> reviewComments(@RequestBody List<CommentReviewDTO> reviews) {
+        return ResponseEntity.ok(adminService.reviewComments(reviews));
+    }
+
     @PatchMapping("/sellers/{sellerId}/approve")
     public ResponseEntity<Void> approveSeller(@PathVariable Integer sellerId) {
         adminService.approveSeller(sellerId);
@@ -1,12 +1,18 @@
 package com.prjratingsystem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.prjratingsystem.dto.CommentDTO;
 import com.prjratingsystem.dto.CommentWithSellerRequestDTO;
+import com.prjratingsystem.dto.CursorPage;
 import com.prjratingsystem.exception.UserAlreadyExistsException;
+import com.prjratingsystem.ingest.CommentIngestionBuffer;
 import com.prjratingsystem.service.CommentService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,27 +21,48 @@ import java.util.List;
 public class CommentController {
 
     private final CommentService commentService;
+    /** Null in direct mode, where comments are written within the request. */
+    private final CommentIngestionBuffer commentIngestionBuffer;
+    private final ObjectWriter objectWriter;
 
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, ObjectProvider<CommentIngestionBuffer> commentIngestionBuffer,
+                             ObjectMapper objectMapper) {
         this.commentService = commentService;
+        this.commentIngestionBuffer = commentIngestionBuffer.getIfAvailable();
+        this.objectWriter = objectMapper.writer();
     }
 
     @PostMapping("/sellers/{sellerId}")
-    public ResponseEntity<Void> createComment(@PathVariable Integer sellerId, @RequestBody CommentDTO commentDTO) {
-        commentService.createComment(sellerId, commentDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+    public ResponseEntity<CommentDTO> createComment(@PathVariable Integer sellerId, @RequestBody CommentDTO commentDTO) {
+        if (commentIngestionBuffer != null) {
+            CommentDTO accepted = commentIngestionBuffer.submit(sellerId, commentDTO);
+            return ResponseEntity.accepted().body(accepted);
+        }
+
+        CommentDTO stored = commentService.createComment(sellerId, commentDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(stored);
     }
 
     @PostMapping("/sellers")
-    public ResponseEntity<Void> createCommentWithSellerRequest(@RequestBody CommentWithSellerRequestDTO requestDTO) throws UserAlreadyExistsException {
-        commentService.createCommentWithSellerRequest(requestDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+    public ResponseEntity<CommentDTO> createCommentWithSellerRequest(@RequestBody CommentWithSellerRequestDTO requestDTO) throws UserAlreadyExistsException {
+        CommentDTO stored = commentService.createCommentWithSellerRequest(requestDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(stored);
     }
 
     @GetMapping("/sellers/{sellerId}/comments")
-    public ResponseEntity<List<CommentDTO>> getCommentsBySeller(@PathVariable Integer sellerId) {
-        List<CommentDTO> comments = commentService.getCommentsBySellerId(sellerId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<List<CommentDTO>> getCommentsBySeller(
+            @PathVariable Integer sellerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<CommentDTO> comments = commentService.getCommentsBySellerId(sellerId, cursor, limit);
+        return CursorResponses.ok(comments);
+    }
+
+    @GetMapping(value = "/sellers/{sellerId}/comments", produces = NdjsonResponses.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCommentsBySeller(@PathVariable Integer sellerId) {
+        commentService.checkSellerExists(sellerId);
+        return NdjsonResponses.<CommentDTO>ok(objectWriter,
+                consumer -> commentService.exportCommentsBySellerId(sellerId, consumer));
     }
 
     @GetMapping("/{commentId}")
@@ -0,0 +1,25 @@
+package com.prjratingsystem.controller;
+
+import com.prjratingsystem.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+final class CursorResponses {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorResponses() {
+    }
+
+    /**
+     * Returns the page items as the body, so the response shape of list endpoints is unchanged, and the continuation
+     * token in the {@value #NEXT_CURSOR_HEADER} header.
+     */
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+}
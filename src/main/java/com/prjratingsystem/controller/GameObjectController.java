@@ -1,10 +1,15 @@
 package com.prjratingsystem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.prjratingsystem.dto.CursorPage;
 import com.prjratingsystem.dto.GameObjectDTO;
+import com.prjratingsystem.dto.TitleSuggestionDTO;
 import com.prjratingsystem.service.GameObjectService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -13,9 +18,11 @@ import java.util.List;
 public class GameObjectController {
 
     private final GameObjectService gameObjectService;
+    private final ObjectWriter objectWriter;
 
-    public GameObjectController(GameObjectService gameObjectService) {
+    public GameObjectController(GameObjectService gameObjectService, ObjectMapper objectMapper) {
         this.gameObjectService = gameObjectService;
+        this.objectWriter = objectMapper.writer();
     }
 
     @PostMapping
@@ -31,11 +38,34 @@ public class GameObjectController {
     }
 
     @GetMapping
-    public ResponseEntity<List<GameObjectDTO>> getAllGameObjects() {
-        List<GameObjectDTO> gameObjects = gameObjectService.getAllGameObjects();
+    public ResponseEntity<List<GameObjectDTO>> getAllGameObjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<GameObjectDTO> gameObjects = gameObjectService.getAllGameObjects(cursor, limit);
+        return CursorResponses.ok(gameObjects);
+    }
+
+    @GetMapping(produces = NdjsonResponses.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportGameObjects() {
+        return NdjsonResponses.ok(objectWriter, gameObjectService::exportGameObjects);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<GameObjectDTO>> searchGameObjects(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<GameObjectDTO> gameObjects = gameObjectService.searchGameObjects(q, Math.min(limit, 100));
         return ResponseEntity.ok(gameObjects);
     }
 
+    @GetMapping("/titles/suggest")
+    public ResponseEntity<List<TitleSuggestionDTO>> suggestTitles(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<TitleSuggestionDTO> suggestions = gameObjectService.suggestTitles(prefix, Math.min(limit, 50));
+        return ResponseEntity.ok(suggestions);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<GameObjectDTO> updateGameObject(@PathVariable Integer id, @RequestBody GameObjectDTO gameObjectDTO) {
         GameObjectDTO updatedGameObject = gameObjectService.updateGameObject(id, gameObjectDTO);
@@ -49,8 +79,11 @@ public class GameObjectController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<GameObjectDTO>> getGameObjectsByUserId(@PathVariable Integer userId) {
-        List<GameObjectDTO> gameObjects = gameObjectService.getGameObjectsByUserId(userId);
-        return ResponseEntity.ok(gameObjects);
+    public ResponseEntity<List<GameObjectDTO>> getGameObjectsByUserId(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<GameObjectDTO> gameObjects = gameObjectService.getGameObjectsByUserId(userId, cursor, limit);
+        return CursorResponses.ok(gameObjects);
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.prjratingsystem.controller;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+final class NdjsonResponses {
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * How long an export may stream. It applies to export responses only; other async requests keep the default.
+     */
+    static final Duration EXPORT_TIMEOUT = Duration.ofMinutes(10);
+
+    private NdjsonResponses() {
+    }
+
+    /**
+     * Streams the items handed to the consumer as newline-delimited JSON, one object per line. The first line is
+     * flushed immediately; after that the container's output buffer decides when bytes go out. Checks that can fail
+     * the request must run before this is called, because the response is committed as 200 once streaming starts.
+     */
+    static <T> ResponseEntity<StreamingResponseBody> ok(ObjectWriter objectWriter, Consumer<Consumer<T>> export) {
+        StreamingResponseBody body = outputStream -> export.accept(new Consumer<>() {
+            private boolean flushed;
+
+            @Override
+            public void accept(T item) {
+                try {
+                    outputStream.write(objectWriter.writeValueAsBytes(item));
+                    outputStream.write('\n');
+                    if (!flushed) {
+                        outputStream.flush();
+                        flushed = true;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+
+        ServletRequestAttributes request = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        WebAsyncUtils.getAsyncManager(request.getRequest()).getAsyncWebRequest().setTimeout(EXPORT_TIMEOUT.toMillis());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+}
@@ -1,5 +1,6 @@
 package com.prjratingsystem.controller;
 
+import com.prjratingsystem.dto.CursorPage;
 import com.prjratingsystem.dto.UserDTO;
 import com.prjratingsystem.dto.UserRegistrationDTO;
 import com.prjratingsystem.service.UserService;
@@ -26,15 +27,20 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.findAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserDTO>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<UserDTO> users = userService.findAllUsers(cursor, limit);
+        return CursorResponses.ok(users);
     }
 
     @GetMapping("/role/{role}")
-    public ResponseEntity<List<UserDTO>> getUsersByRole(@PathVariable String role) {
-        List<UserDTO> users = userService.findUsersByRole(role);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserDTO>> getUsersByRole(
+            @PathVariable String role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_LIMIT) int limit) {
+        CursorPage<UserDTO> users = userService.findUsersByRole(role, cursor, limit);
+        return CursorResponses.ok(users);
     }
 
     @GetMapping("/top")
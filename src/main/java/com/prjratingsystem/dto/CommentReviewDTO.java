@@ -0,0 +1,14 @@
+package com.prjratingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentReviewDTO {
+    private Integer commentId;
+    private boolean approved;
+    private Integer ratingValue;
+}
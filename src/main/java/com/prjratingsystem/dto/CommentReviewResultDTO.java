@@ -0,0 +1,21 @@
+package com.prjratingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentReviewResultDTO {
+    private Integer commentId;
+    private Status status;
+    private String message;
+
+    public enum Status {
+        APPROVED,
+        REJECTED,
+        NOT_FOUND,
+        INVALID
+    }
+}
@@ -0,0 +1,81 @@
+package com.prjratingsystem.dto;
+
+import com.prjratingsystem.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. The next cursor is an opaque token holding the id of the last returned item,
+ * and is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    /**
+     * The page size used when a request gives no limit, as a string so it can be a request parameter default.
+     */
+    public static final String DEFAULT_LIMIT = "50";
+    public static final int MAX_LIMIT = 200;
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Builds a page from up to {@code fetchSize(limit)} rows fetched in ascending id order.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Integer> idExtractor) {
+        int pageSize = pageSize(limit);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(items, encode(idExtractor.apply(items.get(pageSize - 1))));
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    /**
+     * The number of rows to fetch so that the presence of a next page can be detected.
+     */
+    public static int fetchSize(int limit) {
+        return pageSize(limit) + 1;
+    }
+
+    public static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    public static String encode(Integer lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into the id after which the next page starts; a missing cursor starts from the beginning.
+     */
+    public static Integer decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new InvalidCursorException();
+            }
+            return Integer.valueOf(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.prjratingsystem.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -7,6 +8,7 @@ import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
+@AllArgsConstructor
 public class GameObjectDTO {
     private Integer id;
     private String title;
@@ -0,0 +1,25 @@
+package com.prjratingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the purge worker on this node, and the soft-deleted rows still waiting for it across all nodes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurgeStatusDTO {
+    private boolean running;
+    private Integer currentUserId;
+    private LocalDateTime lastRunStartedAt;
+    private LocalDateTime lastRunFinishedAt;
+    private long purgedUsers;
+    private long purgedGameObjects;
+    private long purgedRows;
+    private long pendingUsers;
+    private long pendingGameObjects;
+}
@@ -0,0 +1,13 @@
+package com.prjratingsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TitleSuggestionDTO {
+    private String title;
+    private Integer sellerCount;
+}
@@ -2,8 +2,10 @@ package com.prjratingsystem.dto;
 
 import com.prjratingsystem.model.enums.Role;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class UserDTO {
     private Integer id;
     private String firstName;
@@ -12,4 +14,13 @@ public class UserDTO {
     private Role role;
     private Boolean approved;
     private Double averageRating;
+
+    public UserDTO(Integer id, String firstName, String lastName, String email, Role role, Boolean approved) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.role = role;
+        this.approved = approved;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.prjratingsystem.event;
+
+import com.prjratingsystem.dto.CommentDTO;
+
+/**
+ * Published when a comment has been accepted, either stored directly or queued for the batch writer.
+ */
+public record CommentCreatedEvent(CommentDTO comment) {
+}
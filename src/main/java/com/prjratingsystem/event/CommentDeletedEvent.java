@@ -0,0 +1,7 @@
+package com.prjratingsystem.event;
+
+/**
+ * Published after a single comment has been deleted.
+ */
+public record CommentDeletedEvent(Integer commentId) {
+}
@@ -0,0 +1,7 @@
+package com.prjratingsystem.event;
+
+/**
+ * Published after a single game object has been deleted.
+ */
+public record GameObjectDeletedEvent(Integer gameObjectId) {
+}
@@ -0,0 +1,9 @@
+package com.prjratingsystem.event;
+
+import com.prjratingsystem.dto.GameObjectDTO;
+
+/**
+ * Published after a game object has been created or updated.
+ */
+public record GameObjectSavedEvent(GameObjectDTO gameObject) {
+}
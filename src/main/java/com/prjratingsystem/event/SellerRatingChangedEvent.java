@@ -0,0 +1,17 @@
+package com.prjratingsystem.event;
+
+/**
+ * Published whenever a seller's rating aggregate changes. A rating count of zero means the seller no longer has any
+ * ratings.
+ *
+ * @param version The aggregate's version after the change; a listener that has seen a newer version of the seller
+ *                ignores the event, and {@link #REMOVED} outranks every version for a seller that is gone for good
+ */
+public record SellerRatingChangedEvent(Integer sellerId, double averageRating, int ratingCount, long version) {
+
+    public static final long REMOVED = Long.MAX_VALUE;
+
+    public static SellerRatingChangedEvent removed(Integer sellerId) {
+        return new SellerRatingChangedEvent(sellerId, 0.0, 0, REMOVED);
+    }
+}
@@ -0,0 +1,7 @@
+package com.prjratingsystem.event;
+
+/**
+ * Published after all seller rating aggregates have been recomputed from the ratings table.
+ */
+public record SellerRatingStatsRebuiltEvent(int sellerCount) {
+}
@@ -0,0 +1,17 @@
+package com.prjratingsystem.event;
+
+/**
+ * Published when anything that authentication depends on changes for a user: password, role, approval, email, or the
+ * user being deleted.
+ *
+ * @param tokenVersion The user's token version after the change; tokens issued for an older version are no longer
+ *                     accepted, and {@link #DELETED} rejects them all
+ */
+public record UserChangedEvent(Integer userId, String email, int tokenVersion) {
+
+    public static final int DELETED = Integer.MAX_VALUE;
+
+    public static UserChangedEvent deleted(Integer userId, String email) {
+        return new UserChangedEvent(userId, email, DELETED);
+    }
+}
@@ -0,0 +1,7 @@
+package com.prjratingsystem.event;
+
+/**
+ * Published after a user has been deleted together with everything the user owns.
+ */
+public record UserDeletedEvent(Integer userId) {
+}
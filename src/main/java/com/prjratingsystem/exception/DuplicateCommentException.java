@@ -0,0 +1,7 @@
+package com.prjratingsystem.exception;
+
+public class DuplicateCommentException extends RuntimeException {
+    public DuplicateCommentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.prjratingsystem.exception;
+
+public class IngestionBufferFullException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public IngestionBufferFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
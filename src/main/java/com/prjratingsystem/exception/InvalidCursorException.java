@@ -0,0 +1,11 @@
+package com.prjratingsystem.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException() {
+        super("Invalid pagination cursor");
+    }
+}
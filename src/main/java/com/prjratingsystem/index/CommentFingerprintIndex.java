@@ -0,0 +1,227 @@
+package com.prjratingsystem.index;
+
+import com.prjratingsystem.dto.CommentDTO;
+import com.prjratingsystem.event.CommentCreatedEvent;
+import com.prjratingsystem.event.CommentDeletedEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
+import com.prjratingsystem.exception.DuplicateCommentException;
+import com.prjratingsystem.repository.CommentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Remembers the SimHash fingerprints of recent comments and finds near duplicates of a new message.
+ * <p>
+ * Fingerprints are split into four 16-bit bands, and each band value maps to the comments having it (banded LSH). Two
+ * fingerprints at most three bits apart agree on at least one band, so looking up the four buckets of a new message
+ * finds every near duplicate without scanning the rest. Fingerprints expire after the configured window and the oldest
+ * are dropped beyond the configured capacity.
+ */
+@Component
+public class CommentFingerprintIndex {
+
+    static final int BANDS = 4;
+    private static final int BAND_BITS = Long.SIZE / BANDS;
+    private static final long BAND_MASK = (1L << BAND_BITS) - 1;
+
+    /**
+     * Outcome of checking a message against the index.
+     *
+     * @param type              Whether and how the message repeats recent comments
+     * @param existingCommentId The comment it repeats when the type is {@code DUPLICATE}
+     */
+    public record Verdict(Type type, Integer existingCommentId) {
+
+        public enum Type {
+            UNIQUE,
+            /** Nearly repeats a recent comment on the same seller. */
+            DUPLICATE,
+            /** Nearly repeats many recent comments across sellers. */
+            WAVE
+        }
+
+        static final Verdict UNIQUE = new Verdict(Type.UNIQUE, null);
+        static final Verdict WAVE = new Verdict(Type.WAVE, null);
+    }
+
+    private final CommentSpamProperties properties;
+    private final CommentRepository commentRepository;
+    private final Clock clock;
+
+    /** Keyed by comment id, oldest first, so eviction takes the head and removing a deleted comment is O(1). */
+    private final LinkedHashMap<Integer, Fingerprint> fingerprints = new LinkedHashMap<>();
+    private final Map<Long, Set<Fingerprint>> buckets = new HashMap<>();
+
+    @Autowired
+    public CommentFingerprintIndex(CommentSpamProperties properties, CommentRepository commentRepository) {
+        this(properties, commentRepository, Clock.systemDefaultZone());
+    }
+
+    CommentFingerprintIndex(CommentSpamProperties properties, CommentRepository commentRepository, Clock clock) {
+        this.properties = properties;
+        this.commentRepository = commentRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Applies the spam policy to a message before it is stored.
+     *
+     * @param sellerId The seller the message is about, or null for a seller that does not exist yet
+     * @param message  The comment text
+     * @return The ID of an earlier comment the message should be merged into, or empty to store it as a new comment
+     * @throws DuplicateCommentException when the message is part of a spam wave, or a near duplicate that is rejected
+     */
+    public Optional<Integer> screen(Integer sellerId, String message) {
+        Verdict verdict = inspect(sellerId, message);
+        return switch (verdict.type()) {
+            case UNIQUE -> Optional.empty();
+            case WAVE -> throw new DuplicateCommentException("This message has been posted too often recently");
+            case DUPLICATE -> {
+                if (properties.getDuplicateAction() == CommentSpamProperties.DuplicateAction.MERGE) {
+                    yield Optional.of(verdict.existingCommentId());
+                }
+                throw new DuplicateCommentException("A nearly identical comment was already posted for this seller");
+            }
+        };
+    }
+
+    /**
+     * Checks a message against the recent comments on one seller and on all sellers.
+     *
+     * @param sellerId The seller the message is about
+     * @param message  The comment text
+     * @return The verdict; messages too short to fingerprint are always unique
+     */
+    public synchronized Verdict inspect(Integer sellerId, String message) {
+        if (!properties.isEnabled()) {
+            return Verdict.UNIQUE;
+        }
+        List<String> tokens = TextTokenizer.tokenize(message);
+        if (tokens.size() < properties.getMinTokens()) {
+            return Verdict.UNIQUE;
+        }
+
+        evictExpired();
+        long fingerprint = SimHash.fingerprint(tokens);
+        Set<Fingerprint> nearDuplicates = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int band = 0; band < BANDS; band++) {
+            for (Fingerprint candidate : buckets.getOrDefault(bucketKey(fingerprint, band), Set.of())) {
+                if (SimHash.distance(fingerprint, candidate.value()) > properties.getMaxDistance()) {
+                    continue;
+                }
+                if (sellerId != null && sellerId.equals(candidate.sellerId())) {
+                    return new Verdict(Verdict.Type.DUPLICATE, candidate.commentId());
+                }
+                nearDuplicates.add(candidate);
+                if (nearDuplicates.size() >= properties.getWaveThreshold()) {
+                    return Verdict.WAVE;
+                }
+            }
+        }
+        return Verdict.UNIQUE;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentCreated(CommentCreatedEvent event) {
+        remember(event.comment());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCommentDeleted(CommentDeletedEvent event) {
+        remove(fingerprints.get(event.commentId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserDeleted(UserDeletedEvent event) {
+        fingerprints.values().stream()
+                .filter(fingerprint -> Objects.equals(fingerprint.sellerId(), event.userId()))
+                .toList()
+                .forEach(this::remove);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<CommentDTO> recent = commentRepository.findDTOsCreatedAfter(LocalDateTime.now(clock).minus(properties.getWindow()));
+        synchronized (this) {
+            fingerprints.clear();
+            buckets.clear();
+            recent.forEach(this::remember);
+        }
+    }
+
+    private synchronized void remember(CommentDTO comment) {
+        if (!properties.isEnabled() || fingerprints.containsKey(comment.getId())) {
+            return;
+        }
+        List<String> tokens = TextTokenizer.tokenize(comment.getMessage());
+        if (tokens.size() < properties.getMinTokens()) {
+            return;
+        }
+
+        LocalDateTime createdAt = comment.getCreatedAt() != null ? comment.getCreatedAt() : LocalDateTime.now(clock);
+        Fingerprint fingerprint = new Fingerprint(comment.getId(), comment.getSellerId(), SimHash.fingerprint(tokens), createdAt);
+        fingerprints.put(fingerprint.commentId(), fingerprint);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bucketKey(fingerprint.value(), band), key -> new LinkedHashSet<>()).add(fingerprint);
+        }
+
+        while (fingerprints.size() > properties.getCapacity()) {
+            remove(oldest());
+        }
+    }
+
+    private void evictExpired() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(properties.getWindow());
+        while (!fingerprints.isEmpty() && oldest().createdAt().isBefore(cutoff)) {
+            remove(oldest());
+        }
+    }
+
+    private Fingerprint oldest() {
+        return fingerprints.values().iterator().next();
+    }
+
+    private void remove(Fingerprint fingerprint) {
+        if (fingerprint == null || fingerprints.remove(fingerprint.commentId()) == null) {
+            return;
+        }
+
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucketKey(fingerprint.value(), band);
+            Set<Fingerprint> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(fingerprint) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private static long bucketKey(long fingerprint, int band) {
+        return (long) band << BAND_BITS | (fingerprint >>> band * BAND_BITS & BAND_MASK);
+    }
+
+    int size() {
+        return fingerprints.size();
+    }
+
+    private record Fingerprint(Integer commentId, Integer sellerId, long value, LocalDateTime createdAt) {
+    }
+}
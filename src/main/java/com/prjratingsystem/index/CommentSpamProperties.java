@@ -0,0 +1,43 @@
+package com.prjratingsystem.index;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for near-duplicate detection on submitted comments, bound from {@code comments.spam.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "comments.spam")
+public class CommentSpamProperties {
+
+    /**
+     * What happens to a comment that nearly repeats a recent comment on the same seller.
+     */
+    public enum DuplicateAction {
+        /** Refuse it with 409 Conflict. */
+        REJECT,
+        /** Answer with the earlier comment instead of storing a new one. */
+        MERGE
+    }
+
+    private boolean enabled = true;
+
+    /** Largest fingerprint distance, in bits, that counts as a near duplicate. Values above 3 are not reliably found. */
+    private int maxDistance = 3;
+
+    /** Comments with fewer words are too short to fingerprint and are never matched. */
+    private int minTokens = 5;
+
+    /** How long a fingerprint is remembered. */
+    private Duration window = Duration.ofHours(1);
+
+    /** Most fingerprints remembered at once; the oldest are forgotten first. */
+    private int capacity = 200_000;
+
+    /** Near duplicates across all sellers within the window from which a message is treated as a spam wave. */
+    private int waveThreshold = 25;
+
+    private DuplicateAction duplicateAction = DuplicateAction.REJECT;
+}
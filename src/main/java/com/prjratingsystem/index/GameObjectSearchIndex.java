@@ -0,0 +1,203 @@
+package com.prjratingsystem.index;
+
+import com.prjratingsystem.dto.GameObjectDTO;
+import com.prjratingsystem.event.GameObjectDeletedEvent;
+import com.prjratingsystem.event.GameObjectSavedEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
+import com.prjratingsystem.repository.GameObjectRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Full-text index over game object titles and texts, ranked with BM25.
+ * <p>
+ * Each document keeps its term frequencies so it can be removed again, and posting lists map a term to the documents
+ * containing it. Title terms are counted twice so that title matches outrank matches in the body text. The indexed
+ * DTOs are served directly, so searches never reach the database.
+ * <p>
+ * Changes are applied under one lock. While a rebuild loads its snapshot, they are also logged and replayed onto the
+ * rebuilt state right before it is swapped in, so game objects saved or deleted during a rebuild are not lost. A change
+ * removes the document before adding it again, so replaying one the snapshot already contains is harmless.
+ */
+@Component
+public class GameObjectSearchIndex {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+
+    private final GameObjectRepository gameObjectRepository;
+
+    private final Object lock = new Object();
+    private volatile State state = new State();
+    private List<Consumer<State>> changesDuringRebuild;
+
+    public GameObjectSearchIndex(GameObjectRepository gameObjectRepository) {
+        this.gameObjectRepository = gameObjectRepository;
+    }
+
+    /**
+     * Searches titles and texts for any of the query terms.
+     *
+     * @param query The free-text query
+     * @param limit The maximum number of results
+     * @return The best matching game objects, highest score first
+     */
+    public List<GameObjectDTO> search(String query, int limit) {
+        State current = state;
+        int documentCount = current.documents.size();
+        if (documentCount == 0 || limit <= 0) {
+            return List.of();
+        }
+        double averageLength = (double) current.totalLength.get() / documentCount;
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String term : new LinkedHashSet<>(TextTokenizer.tokenize(query))) {
+            Map<Integer, Integer> postings = current.postings.get(term);
+            if (postings == null) {
+                continue;
+            }
+
+            double idf = Math.log(1 + (documentCount - postings.size() + 0.5) / (postings.size() + 0.5));
+            postings.forEach((documentId, termFrequency) -> {
+                IndexedDocument document = current.documents.get(documentId);
+                if (document != null) {
+                    double norm = K1 * (1 - B + B * document.length() / averageLength);
+                    scores.merge(documentId, idf * termFrequency * (K1 + 1) / (termFrequency + norm), Double::sum);
+                }
+            });
+        }
+
+        PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(Map.Entry.<Integer, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        List<GameObjectDTO> results = new ArrayList<>(ranked.size());
+        for (Map.Entry<Integer, Double> entry : ranked) {
+            IndexedDocument document = current.documents.get(entry.getKey());
+            if (document != null) {
+                results.add(document.gameObject());
+            }
+        }
+        return results;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameObjectSaved(GameObjectSavedEvent event) {
+        IndexedDocument document = analyze(event.gameObject());
+        apply(current -> {
+            remove(current, document.gameObject().getId());
+            add(current, document);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameObjectDeleted(GameObjectDeletedEvent event) {
+        apply(current -> remove(current, event.gameObjectId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        apply(current -> current.documents.values().stream()
+                .filter(document -> event.userId().equals(document.gameObject().getUserId()))
+                .map(document -> document.gameObject().getId())
+                .toList()
+                .forEach(documentId -> remove(current, documentId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        synchronized (lock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        State rebuilt = new State();
+        try {
+            gameObjectRepository.findAllAsDTOs().parallelStream()
+                    .map(GameObjectSearchIndex::analyze)
+                    .forEach(document -> add(rebuilt, document));
+        } catch (RuntimeException ex) {
+            synchronized (lock) {
+                changesDuringRebuild = null;
+            }
+            throw ex;
+        }
+
+        synchronized (lock) {
+            changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changesDuringRebuild = null;
+            state = rebuilt;
+        }
+    }
+
+    private void apply(Consumer<State> change) {
+        synchronized (lock) {
+            change.accept(state);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+    }
+
+    private static IndexedDocument analyze(GameObjectDTO gameObject) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        List<String> titleTokens = TextTokenizer.tokenize(gameObject.getTitle());
+        List<String> textTokens = TextTokenizer.tokenize(gameObject.getText());
+        titleTokens.forEach(token -> termFrequencies.merge(token, TITLE_WEIGHT, Integer::sum));
+        textTokens.forEach(token -> termFrequencies.merge(token, 1, Integer::sum));
+
+        int length = TITLE_WEIGHT * titleTokens.size() + textTokens.size();
+        return new IndexedDocument(gameObject, length, termFrequencies);
+    }
+
+    private static void add(State state, IndexedDocument document) {
+        Integer documentId = document.gameObject().getId();
+        state.documents.put(documentId, document);
+        state.totalLength.addAndGet(document.length());
+        document.termFrequencies().forEach((term, frequency) ->
+                state.postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(documentId, frequency));
+    }
+
+    private static void remove(State state, Integer documentId) {
+        IndexedDocument document = state.documents.remove(documentId);
+        if (document == null) {
+            return;
+        }
+
+        state.totalLength.addAndGet(-document.length());
+        for (String term : document.termFrequencies().keySet()) {
+            state.postings.computeIfPresent(term, (t, postings) -> {
+                postings.remove(documentId);
+                return postings.isEmpty() ? null : postings;
+            });
+        }
+    }
+
+    private record IndexedDocument(GameObjectDTO gameObject, int length, Map<String, Integer> termFrequencies) {
+    }
+
+    private static class State {
+        private final Map<Integer, IndexedDocument> documents = new ConcurrentHashMap<>();
+        private final Map<String, Map<Integer, Integer>> postings = new ConcurrentHashMap<>();
+        private final AtomicLong totalLength = new AtomicLong();
+    }
+}
@@ -0,0 +1,376 @@
+package com.prjratingsystem.index;
+
+import com.prjratingsystem.dto.TitleSuggestionDTO;
+import com.prjratingsystem.event.GameObjectDeletedEvent;
+import com.prjratingsystem.event.GameObjectSavedEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
+import com.prjratingsystem.repository.GameObjectRepository;
+import com.prjratingsystem.repository.projection.GameObjectTitleEntry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Prefix autocomplete over distinct game titles, ranked by how many sellers list each title.
+ * <p>
+ * Titles live in a radix tree keyed by their lower-cased form, and every node keeps the best
+ * {@value #MAX_SUGGESTIONS} titles below it, ranked in advance. A lookup walks the prefix and returns the list of the
+ * node it ends in, so it costs O(prefix length) however many titles match. Differently cased titles share a node but
+ * stay distinct suggestions, because the seller filter matches titles exactly.
+ * <p>
+ * Changes are applied under one lock and only touch the lists on the changed title's path, up to the first one the
+ * title is not ranked in. Lookups take no lock: nodes that change shape are replaced rather than modified, and
+ * ranked lists are immutable. While a rebuild loads its snapshot, changes are also logged and replayed onto the rebuilt
+ * tree right before it is swapped in, like in {@link SellerSearchIndex}.
+ */
+@Component
+public class GameTitleSuggestIndex {
+
+    /**
+     * The most suggestions a lookup returns, matching the cap of the suggest endpoint.
+     */
+    static final int MAX_SUGGESTIONS = 50;
+
+    private static final Comparator<TitleSuggestionDTO> RANKING = Comparator
+            .comparing(TitleSuggestionDTO::getSellerCount, Comparator.reverseOrder())
+            .thenComparing(TitleSuggestionDTO::getTitle);
+
+    private final GameObjectRepository gameObjectRepository;
+
+    private final Object lock = new Object();
+    private volatile State state = new State();
+    private List<Consumer<State>> changesDuringRebuild;
+
+    public GameTitleSuggestIndex(GameObjectRepository gameObjectRepository) {
+        this.gameObjectRepository = gameObjectRepository;
+    }
+
+    /**
+     * Suggests titles starting with a prefix, ignoring case.
+     *
+     * @param prefix The typed prefix
+     * @param limit  The maximum number of suggestions, capped at {@value #MAX_SUGGESTIONS}
+     * @return Suggestions ordered by seller count, then title
+     */
+    public List<TitleSuggestionDTO> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return List.of();
+        }
+
+        Node node = state.root;
+        int matched = 0;
+        while (matched < prefix.length()) {
+            node = node.children.get(Character.toLowerCase(prefix.charAt(matched)));
+            if (node == null) {
+                return List.of();
+            }
+            for (int i = 0; i < node.label.length() && matched < prefix.length(); i++, matched++) {
+                if (node.label.charAt(i) != Character.toLowerCase(prefix.charAt(matched))) {
+                    return List.of();
+                }
+            }
+        }
+
+        List<TitleSuggestionDTO> top = node.top;
+        return top.size() <= limit ? top : top.subList(0, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameObjectSaved(GameObjectSavedEvent event) {
+        Integer gameObjectId = event.gameObject().getId();
+        Integer sellerId = event.gameObject().getUserId();
+        String title = event.gameObject().getTitle();
+        apply(current -> {
+            remove(current, gameObjectId);
+            add(current, gameObjectId, sellerId, title);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameObjectDeleted(GameObjectDeletedEvent event) {
+        apply(current -> remove(current, event.gameObjectId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        apply(current -> current.gameObjects.entrySet().stream()
+                .filter(entry -> event.userId().equals(entry.getValue().sellerId()))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(gameObjectId -> remove(current, gameObjectId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        synchronized (lock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        State rebuilt = new State();
+        try {
+            for (GameObjectTitleEntry entry : gameObjectRepository.findAllTitleEntries()) {
+                rebuilt.gameObjects.put(entry.getId(), new IndexedGameObject(entry.getUserId(), entry.getTitle()));
+                rebuilt.titles.computeIfAbsent(entry.getTitle(), TitleStats::new)
+                        .listingsBySeller.merge(entry.getUserId(), 1, Integer::sum);
+            }
+            for (TitleStats stats : rebuilt.titles.values()) {
+                stats.refresh();
+                last(walk(rebuilt.root, stats.title)).terminals.add(stats);
+            }
+            rankAll(rebuilt.root);
+        } catch (RuntimeException ex) {
+            synchronized (lock) {
+                changesDuringRebuild = null;
+            }
+            throw ex;
+        }
+
+        synchronized (lock) {
+            changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changesDuringRebuild = null;
+            state = rebuilt;
+        }
+    }
+
+    private void apply(Consumer<State> change) {
+        synchronized (lock) {
+            change.accept(state);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+    }
+
+    private static void add(State state, Integer gameObjectId, Integer sellerId, String title) {
+        state.gameObjects.put(gameObjectId, new IndexedGameObject(sellerId, title));
+
+        List<Node> path = walk(state.root, title);
+        TitleStats stats = state.titles.get(title);
+        if (stats == null) {
+            stats = new TitleStats(title);
+            state.titles.put(title, stats);
+            last(path).terminals.add(stats);
+        }
+        if (stats.listingsBySeller.merge(sellerId, 1, Integer::sum) == 1) {
+            TitleSuggestionDTO before = stats.suggestion;
+            stats.refresh();
+            rerank(path, before, stats.suggestion);
+        }
+    }
+
+    private static void remove(State state, Integer gameObjectId) {
+        IndexedGameObject removed = state.gameObjects.remove(gameObjectId);
+        if (removed == null) {
+            return;
+        }
+
+        TitleStats stats = state.titles.get(removed.title());
+        if (stats.listingsBySeller.computeIfPresent(removed.sellerId(), (id, count) -> count == 1 ? null : count - 1) != null) {
+            return;
+        }
+
+        List<Node> path = walk(state.root, removed.title());
+        TitleSuggestionDTO before = stats.suggestion;
+        if (stats.listingsBySeller.isEmpty()) {
+            state.titles.remove(removed.title());
+            last(path).terminals.remove(stats);
+            prune(path);
+            rerank(path, before, null);
+        } else {
+            stats.refresh();
+            rerank(path, before, stats.suggestion);
+        }
+    }
+
+    /**
+     * Finds the path to a title's node, splitting an edge or adding a leaf when the tree has no node for it yet.
+     */
+    private static List<Node> walk(Node root, String title) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int matched = 0;
+        while (matched < title.length()) {
+            char next = Character.toLowerCase(title.charAt(matched));
+            Node child = node.children.get(next);
+            if (child == null) {
+                child = new Node(toKey(title, matched));
+                node.children.put(next, child);
+                path.add(child);
+                return path;
+            }
+
+            int common = 0;
+            while (common < child.label.length() && matched + common < title.length()
+                    && child.label.charAt(common) == Character.toLowerCase(title.charAt(matched + common))) {
+                common++;
+            }
+            if (common < child.label.length()) {
+                Node split = new Node(child.label.substring(0, common));
+                Node rest = child.relabel(child.label.substring(common));
+                split.children.put(rest.label.charAt(0), rest);
+                split.top = rest.top;
+                node.children.put(next, split);
+                child = split;
+            }
+            path.add(child);
+            node = child;
+            matched += common;
+        }
+        return path;
+    }
+
+    /**
+     * Drops nodes left without titles at the end of the path and merges a node left with a single child into it. A
+     * merged node starts with the list of the node it replaces, so {@link #rerank} still finds the removed title in it.
+     */
+    private static void prune(List<Node> path) {
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node node = path.get(depth);
+            Node parent = path.get(depth - 1);
+            if (!node.terminals.isEmpty()) {
+                return;
+            }
+            if (node.children.isEmpty()) {
+                parent.children.remove(node.label.charAt(0));
+                path.remove(depth);
+                continue;
+            }
+            if (node.children.size() == 1) {
+                Node child = node.children.values().iterator().next();
+                Node merged = child.relabel(node.label + child.label);
+                merged.top = node.top;
+                parent.children.put(node.label.charAt(0), merged);
+                path.set(depth, merged);
+            }
+            return;
+        }
+    }
+
+    /**
+     * Moves a title within the ranked lists on its path after its seller count changed, bottom-up, and stops at the first
+     * list it was not in and does not get into. Only a title dropping out of a full list needs the node re-ranked from
+     * its children, because the title that takes its place may come from any of them.
+     *
+     * @param before The title's previous suggestion, or null for a new title
+     * @param after  The title's current suggestion, or null for a removed title
+     */
+    private static void rerank(List<Node> path, TitleSuggestionDTO before, TitleSuggestionDTO after) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            List<TitleSuggestionDTO> top = node.top;
+            int position = before == null ? -1 : top.indexOf(before);
+            boolean full = top.size() == MAX_SUGGESTIONS;
+            boolean afterFits = after != null && (!full || RANKING.compare(after, top.get(MAX_SUGGESTIONS - 1)) < 0);
+
+            if (position < 0 && !afterFits) {
+                return;
+            }
+            if (position >= 0 && full && !afterFits) {
+                node.top = rank(node);
+                continue;
+            }
+
+            List<TitleSuggestionDTO> updated = new ArrayList<>(top);
+            if (position >= 0) {
+                updated.remove(position);
+            }
+            if (after != null) {
+                updated.add(-Collections.binarySearch(updated, after, RANKING) - 1, after);
+                if (updated.size() > MAX_SUGGESTIONS) {
+                    updated.remove(MAX_SUGGESTIONS);
+                }
+            }
+            node.top = List.copyOf(updated);
+        }
+    }
+
+    private static void rankAll(Node node) {
+        node.children.values().forEach(GameTitleSuggestIndex::rankAll);
+        node.top = rank(node);
+    }
+
+    private static List<TitleSuggestionDTO> rank(Node node) {
+        List<TitleSuggestionDTO> candidates = new ArrayList<>();
+        node.terminals.forEach(stats -> candidates.add(stats.suggestion));
+        node.children.values().forEach(child -> candidates.addAll(child.top));
+        candidates.sort(RANKING);
+        return List.copyOf(candidates.subList(0, Math.min(candidates.size(), MAX_SUGGESTIONS)));
+    }
+
+    private static String toKey(String title, int from) {
+        StringBuilder key = new StringBuilder(title.length() - from);
+        for (int i = from; i < title.length(); i++) {
+            key.append(Character.toLowerCase(title.charAt(i)));
+        }
+        return key.toString();
+    }
+
+    private static Node last(List<Node> path) {
+        return path.get(path.size() - 1);
+    }
+
+    private record IndexedGameObject(Integer sellerId, String title) {
+    }
+
+    private static class TitleStats {
+        private final String title;
+        private final Map<Integer, Integer> listingsBySeller = new HashMap<>();
+        private TitleSuggestionDTO suggestion;
+
+        private TitleStats(String title) {
+            this.title = title;
+        }
+
+        private void refresh() {
+            suggestion = new TitleSuggestionDTO(title, listingsBySeller.size());
+        }
+    }
+
+    /**
+     * A tree node, reached by its parent through the first character of its label. Lookups read only the label, the
+     * children and the ranked list; the titles ending at the node are used by writers alone.
+     */
+    private static class Node {
+        private final String label;
+        private final Map<Character, Node> children;
+        private final List<TitleStats> terminals;
+        private volatile List<TitleSuggestionDTO> top = List.of();
+
+        private Node(String label) {
+            this(label, new ConcurrentHashMap<>(), new ArrayList<>());
+        }
+
+        private Node(String label, Map<Character, Node> children, List<TitleStats> terminals) {
+            this.label = label;
+            this.children = children;
+            this.terminals = terminals;
+        }
+
+        /**
+         * Copies the node under a new label. The copy takes over the children and titles, and the original must no
+         * longer be reachable from the tree.
+         */
+        private Node relabel(String newLabel) {
+            Node copy = new Node(newLabel, children, terminals);
+            copy.top = top;
+            return copy;
+        }
+    }
+
+    private static class State {
+        private final Node root = new Node("");
+        private final Map<String, TitleStats> titles = new HashMap<>();
+        private final Map<Integer, IndexedGameObject> gameObjects = new HashMap<>();
+    }
+}
@@ -0,0 +1,4 @@
+package com.prjratingsystem.index;
+
+public record LeaderboardEntry(Integer sellerId, double averageRating) {
+}
@@ -0,0 +1,251 @@
+package com.prjratingsystem.index;
+
+import com.prjratingsystem.event.SellerRatingChangedEvent;
+import com.prjratingsystem.event.SellerRatingStatsRebuiltEvent;
+import com.prjratingsystem.event.UserChangedEvent;
+import com.prjratingsystem.model.SellerRatingStats;
+import com.prjratingsystem.model.enums.Role;
+import com.prjratingsystem.repository.SellerRatingStatsRepository;
+import com.prjratingsystem.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Global ranking of the sellers that have ratings, kept in a Redis sorted set.
+ * <p>
+ * Members are zero-padded seller ids scored with the negated average rating, so an ascending ZRANGE returns the best
+ * sellers first and sellers with equal averages come out in ascending id order. Reading a page costs O(log n + size).
+ * Users that are not sellers are left out, so a page of the ranking is a page of sellers.
+ * <p>
+ * Rating changes arrive after commit and can overtake each other, so every change carries the version of the seller's
+ * aggregate, and a hash next to the sorted set keeps the last version applied per seller; an older change is ignored.
+ * <p>
+ * A rebuild fills staging keys and renames them over the live ones. While the rebuild marker exists, every node applies
+ * its changes to the staging keys as well, and the snapshot only adds sellers whose staging version is older than its
+ * own, so changes that commit during a rebuild survive the rename. The marker also keeps two nodes from rebuilding at
+ * once.
+ */
+@Component
+public class SellerLeaderboard {
+
+    static final String LEADERBOARD_KEY = "leaderboard:sellers";
+    static final String STAGING_KEY = LEADERBOARD_KEY + ":rebuild";
+    static final String VERSIONS_KEY = LEADERBOARD_KEY + ":versions";
+    static final String REBUILD_MARKER_KEY = LEADERBOARD_KEY + ":rebuilding";
+    static final String STAGING_VERSIONS_KEY = VERSIONS_KEY + ":rebuild";
+    static final List<String> KEYS = List.of(LEADERBOARD_KEY, STAGING_KEY, VERSIONS_KEY, REBUILD_MARKER_KEY,
+            STAGING_VERSIONS_KEY);
+    private static final Duration REBUILD_TIMEOUT = Duration.ofMinutes(10);
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    /**
+     * Sets or, with an empty score, removes one seller unless a newer version of it was applied already, mirroring the
+     * change into the staging keys during a rebuild. Returns 0 when the change is outdated.
+     */
+    static final RedisScript<Long> UPDATE_SCRIPT = new DefaultRedisScript<>("""
+            local function apply(ranking, versions)
+                local current = redis.call('HGET', versions, ARGV[1])
+                if current and tonumber(current) > tonumber(ARGV[3]) then
+                    return 0
+                end
+                redis.call('HSET', versions, ARGV[1], ARGV[3])
+                if ARGV[2] == '' then
+                    redis.call('ZREM', ranking, ARGV[1])
+                else
+                    redis.call('ZADD', ranking, ARGV[2], ARGV[1])
+                end
+                return 1
+            end
+            local applied = apply(KEYS[1], KEYS[3])
+            if redis.call('EXISTS', KEYS[4]) == 1 then
+                apply(KEYS[2], KEYS[5])
+            end
+            return applied
+            """, Long.class);
+
+    /**
+     * Takes the rebuild marker and clears what an abandoned rebuild left behind, or returns 0 when another rebuild holds
+     * the marker.
+     */
+    static final RedisScript<Long> START_REBUILD_SCRIPT = new DefaultRedisScript<>("""
+            if not redis.call('SET', KEYS[4], ARGV[1], 'NX', 'PX', ARGV[2]) then
+                return 0
+            end
+            redis.call('DEL', KEYS[2], KEYS[5])
+            return 1
+            """, Long.class);
+
+    /**
+     * Adds member, score and version triples to the staging keys, skipping sellers a change during the rebuild already
+     * brought to the same or a newer version. Returns 0 when the marker is no longer ours.
+     */
+    static final RedisScript<Long> SNAPSHOT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[4]) ~= ARGV[1] then
+                return 0
+            end
+            for i = 2, #ARGV, 3 do
+                local current = redis.call('HGET', KEYS[5], ARGV[i])
+                if not current or tonumber(current) < tonumber(ARGV[i + 2]) then
+                    redis.call('HSET', KEYS[5], ARGV[i], ARGV[i + 2])
+                    redis.call('ZADD', KEYS[2], ARGV[i + 1], ARGV[i])
+                end
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * Swaps the staging keys in, provided the marker is still ours. Returns 0, leaving the live keys alone, when the
+     * marker expired in the meantime.
+     */
+    static final RedisScript<Long> FINISH_REBUILD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[4]) ~= ARGV[1] then
+                return 0
+            end
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+                redis.call('RENAME', KEYS[2], KEYS[1])
+            else
+                redis.call('DEL', KEYS[1])
+            end
+            if redis.call('EXISTS', KEYS[5]) == 1 then
+                redis.call('RENAME', KEYS[5], KEYS[3])
+            else
+                redis.call('DEL', KEYS[3])
+            end
+            redis.call('DEL', KEYS[4])
+            return 1
+            """, Long.class);
+
+    static final RedisScript<Long> ABORT_REBUILD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[4]) ~= ARGV[1] then
+                return 0
+            end
+            redis.call('DEL', KEYS[2], KEYS[4], KEYS[5])
+            return 1
+            """, Long.class);
+
+    private static final Logger log = LoggerFactory.getLogger(SellerLeaderboard.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final SellerRatingStatsRepository sellerRatingStatsRepository;
+    private final UserRepository userRepository;
+
+    public SellerLeaderboard(RedisTemplate<String, String> redisTemplate, SellerRatingStatsRepository sellerRatingStatsRepository,
+                             UserRepository userRepository) {
+        this.redisTemplate = redisTemplate;
+        this.sellerRatingStatsRepository = sellerRatingStatsRepository;
+        this.userRepository = userRepository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSellerRatingChanged(SellerRatingChangedEvent event) {
+        boolean ranked = event.ratingCount() > 0 && userRepository.existsByIdAndRole(event.sellerId(), Role.SELLER);
+        String score = ranked ? Double.toString(toScore(event.averageRating())) : "";
+        redisTemplate.execute(UPDATE_SCRIPT, KEYS, toMember(event.sellerId()), score, Long.toString(event.version()));
+    }
+
+    /**
+     * Re-applies the seller's current aggregate, since a role change adds the user to the ranking or takes them out. The
+     * role is read when the change is applied and carries no version of its own. Deleted users are taken out by the
+     * {@link SellerRatingChangedEvent} that clearing their aggregate publishes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.tokenVersion() == UserChangedEvent.DELETED) {
+            return;
+        }
+        sellerRatingStatsRepository.findById(event.userId()).ifPresent(stats ->
+                onSellerRatingChanged(new SellerRatingChangedEvent(stats.getSellerId(), stats.getAverage(),
+                        stats.getRatingCount(), stats.getVersion())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSellerRatingStatsRebuilt(SellerRatingStatsRebuiltEvent event) {
+        rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        String token = UUID.randomUUID().toString();
+        Long started = redisTemplate.execute(START_REBUILD_SCRIPT, KEYS, token,
+                Long.toString(REBUILD_TIMEOUT.toMillis()));
+        if (started == null || started == 0) {
+            log.info("Leaderboard rebuild skipped, another node is rebuilding it");
+            return;
+        }
+
+        try {
+            // read after the marker is set, so every change committed later also reaches the staging keys
+            List<String> batch = new ArrayList<>();
+            batch.add(token);
+            for (SellerRatingStats stats : sellerRatingStatsRepository.findRatedByRole(Role.SELLER)) {
+                batch.add(toMember(stats.getSellerId()));
+                batch.add(Double.toString(toScore(stats.getAverage())));
+                batch.add(Long.toString(stats.getVersion()));
+                if (batch.size() > 3 * REBUILD_BATCH_SIZE) {
+                    redisTemplate.execute(SNAPSHOT_SCRIPT, KEYS, batch.toArray());
+                    batch.subList(1, batch.size()).clear();
+                }
+            }
+            if (batch.size() > 1) {
+                redisTemplate.execute(SNAPSHOT_SCRIPT, KEYS, batch.toArray());
+            }
+        } catch (RuntimeException ex) {
+            redisTemplate.execute(ABORT_REBUILD_SCRIPT, KEYS, token);
+            throw ex;
+        }
+
+        Long finished = redisTemplate.execute(FINISH_REBUILD_SCRIPT, KEYS, token);
+        if (finished == null || finished == 0) {
+            log.warn("Leaderboard rebuild discarded, it took longer than {}", REBUILD_TIMEOUT);
+        }
+    }
+
+    /**
+     * Returns the number of ranked sellers.
+     */
+    public long size() {
+        Long size = redisTemplate.opsForZSet().zCard(LEADERBOARD_KEY);
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * Returns a slice of the global ranking, best sellers first.
+     *
+     * @param offset The zero-based rank of the first entry
+     * @param size   The maximum number of entries to return
+     * @return The ranked entries, possibly fewer than {@code size}
+     */
+    public List<LeaderboardEntry> getRange(long offset, int size) {
+        Set<TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                .rangeWithScores(LEADERBOARD_KEY, offset, offset + size - 1);
+        if (tuples == null) {
+            return List.of();
+        }
+
+        return tuples.stream()
+                .map(tuple -> new LeaderboardEntry(Integer.valueOf(tuple.getValue()), -tuple.getScore()))
+                .toList();
+    }
+
+    static String toMember(Integer sellerId) {
+        return "%010d".formatted(sellerId);
+    }
+
+    static double toScore(double averageRating) {
+        return -averageRating;
+    }
+}
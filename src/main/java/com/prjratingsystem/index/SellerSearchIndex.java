@@ -0,0 +1,237 @@
+package com.prjratingsystem.index;
+
+import com.prjratingsystem.dto.GameObjectDTO;
+import com.prjratingsystem.event.GameObjectDeletedEvent;
+import com.prjratingsystem.event.GameObjectSavedEvent;
+import com.prjratingsystem.event.SellerRatingChangedEvent;
+import com.prjratingsystem.event.SellerRatingStatsRebuiltEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
+import com.prjratingsystem.model.SellerRatingStats;
+import com.prjratingsystem.repository.GameObjectRepository;
+import com.prjratingsystem.repository.SellerRatingStatsRepository;
+import com.prjratingsystem.repository.projection.GameObjectTitleEntry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index behind the seller filter.
+ * <p>
+ * Game titles map to the sellers that list them (an inverted index), and rated sellers are kept in a skip list ordered
+ * by average rating (a range index). A filter is answered by intersecting the two without touching the database.
+ * Sellers without ratings count as 0.0, like the original query did.
+ * <p>
+ * Changes are applied under one lock. While a rebuild loads its snapshot, they are also logged and replayed onto the
+ * rebuilt state right before it is swapped in, so changes that commit during a rebuild are not lost. Every change sets
+ * absolute values, so replaying one the snapshot already contains is harmless.
+ */
+@Component
+public class SellerSearchIndex {
+
+    private static final Comparator<RatedSeller> BY_AVERAGE = Comparator
+            .comparingDouble(RatedSeller::averageRating)
+            .thenComparing(RatedSeller::sellerId);
+
+    private final GameObjectRepository gameObjectRepository;
+    private final SellerRatingStatsRepository sellerRatingStatsRepository;
+
+    private final Object lock = new Object();
+    private volatile State state = new State();
+    private List<Consumer<State>> changesDuringRebuild;
+
+    public SellerSearchIndex(GameObjectRepository gameObjectRepository, SellerRatingStatsRepository sellerRatingStatsRepository) {
+        this.gameObjectRepository = gameObjectRepository;
+        this.sellerRatingStatsRepository = sellerRatingStatsRepository;
+    }
+
+    /**
+     * Finds the sellers matching a filter. The rating range only applies when both bounds are given.
+     *
+     * @param gameTitle The exact game title sellers must list, or null for any title
+     * @param minRating The lowest accepted average rating
+     * @param maxRating The highest accepted average rating
+     * @return The matching seller IDs, or null when the filter also matches sellers the index does not know about
+     * (no title given and the range admits unrated sellers), in which case the caller must enumerate all sellers
+     */
+    public Set<Integer> findSellerIds(String gameTitle, Double minRating, Double maxRating) {
+        State current = state;
+        boolean rangeApplies = minRating != null && maxRating != null;
+
+        if (gameTitle != null) {
+            Map<Integer, Integer> listingSellers = current.sellersByTitle.getOrDefault(gameTitle, Map.of());
+            Set<Integer> result = new HashSet<>();
+            for (Integer sellerId : listingSellers.keySet()) {
+                if (!rangeApplies || inRange(current.averageBySeller.getOrDefault(sellerId, 0.0), minRating, maxRating)) {
+                    result.add(sellerId);
+                }
+            }
+            return result;
+        }
+
+        if (!rangeApplies || inRange(0.0, minRating, maxRating)) {
+            return null;
+        }
+
+        NavigableSet<RatedSeller> matches = current.sellersByAverage.subSet(
+                new RatedSeller(minRating, Integer.MIN_VALUE), true,
+                new RatedSeller(maxRating, Integer.MAX_VALUE), true);
+        Set<Integer> result = new HashSet<>();
+        for (RatedSeller ratedSeller : matches) {
+            result.add(ratedSeller.sellerId());
+        }
+        return result;
+    }
+
+    /**
+     * Tells whether a seller's average rating lies in the given range.
+     */
+    public boolean matchesRating(Integer sellerId, Double minRating, Double maxRating) {
+        if (minRating == null || maxRating == null) {
+            return true;
+        }
+        return inRange(state.averageBySeller.getOrDefault(sellerId, 0.0), minRating, maxRating);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameObjectSaved(GameObjectSavedEvent event) {
+        GameObjectDTO gameObject = event.gameObject();
+        apply(current -> {
+            removeGameObject(current, gameObject.getId());
+            addGameObject(current, gameObject.getId(), gameObject.getUserId(), gameObject.getTitle());
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameObjectDeleted(GameObjectDeletedEvent event) {
+        apply(current -> removeGameObject(current, event.gameObjectId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        apply(current -> {
+            Set<Integer> ownedObjects = current.gameObjectsBySeller.getOrDefault(event.userId(), Set.of());
+            for (Integer gameObjectId : Set.copyOf(ownedObjects)) {
+                removeGameObject(current, gameObjectId);
+            }
+            setAverage(current, event.userId(), null);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSellerRatingChanged(SellerRatingChangedEvent event) {
+        apply(current -> setAverage(current, event.sellerId(), event.ratingCount() == 0 ? null : event.averageRating()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSellerRatingStatsRebuilt(SellerRatingStatsRebuiltEvent event) {
+        rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        synchronized (lock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        State rebuilt = new State();
+        try {
+            for (GameObjectTitleEntry entry : gameObjectRepository.findAllTitleEntries()) {
+                addGameObject(rebuilt, entry.getId(), entry.getUserId(), entry.getTitle());
+            }
+            for (SellerRatingStats stats : sellerRatingStatsRepository.findAll()) {
+                setAverage(rebuilt, stats.getSellerId(), stats.getAverage());
+            }
+        } catch (RuntimeException ex) {
+            synchronized (lock) {
+                changesDuringRebuild = null;
+            }
+            throw ex;
+        }
+
+        synchronized (lock) {
+            changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changesDuringRebuild = null;
+            state = rebuilt;
+        }
+    }
+
+    private void apply(Consumer<State> change) {
+        synchronized (lock) {
+            change.accept(state);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+    }
+
+    private static void addGameObject(State state, Integer gameObjectId, Integer sellerId, String title) {
+        state.gameObjects.put(gameObjectId, new IndexedGameObject(sellerId, title));
+        state.gameObjectsBySeller.computeIfAbsent(sellerId, id -> ConcurrentHashMap.newKeySet()).add(gameObjectId);
+        state.sellersByTitle.computeIfAbsent(title, t -> new ConcurrentHashMap<>()).merge(sellerId, 1, Integer::sum);
+    }
+
+    private static void removeGameObject(State state, Integer gameObjectId) {
+        IndexedGameObject removed = state.gameObjects.remove(gameObjectId);
+        if (removed == null) {
+            return;
+        }
+
+        Set<Integer> ownedObjects = state.gameObjectsBySeller.get(removed.sellerId());
+        if (ownedObjects != null) {
+            ownedObjects.remove(gameObjectId);
+            if (ownedObjects.isEmpty()) {
+                state.gameObjectsBySeller.remove(removed.sellerId());
+            }
+        }
+
+        Map<Integer, Integer> listingSellers = state.sellersByTitle.get(removed.title());
+        if (listingSellers != null) {
+            listingSellers.computeIfPresent(removed.sellerId(), (id, count) -> count == 1 ? null : count - 1);
+            if (listingSellers.isEmpty()) {
+                state.sellersByTitle.remove(removed.title());
+            }
+        }
+    }
+
+    private static void setAverage(State state, Integer sellerId, Double averageRating) {
+        Double previous = averageRating == null
+                ? state.averageBySeller.remove(sellerId)
+                : state.averageBySeller.put(sellerId, averageRating);
+        if (previous != null) {
+            state.sellersByAverage.remove(new RatedSeller(previous, sellerId));
+        }
+        if (averageRating != null) {
+            state.sellersByAverage.add(new RatedSeller(averageRating, sellerId));
+        }
+    }
+
+    private static boolean inRange(double averageRating, double minRating, double maxRating) {
+        return averageRating >= minRating && averageRating <= maxRating;
+    }
+
+    private record RatedSeller(double averageRating, Integer sellerId) {
+    }
+
+    private record IndexedGameObject(Integer sellerId, String title) {
+    }
+
+    private static class State {
+        private final Map<String, Map<Integer, Integer>> sellersByTitle = new ConcurrentHashMap<>();
+        private final Map<Integer, IndexedGameObject> gameObjects = new ConcurrentHashMap<>();
+        private final Map<Integer, Set<Integer>> gameObjectsBySeller = new ConcurrentHashMap<>();
+        private final Map<Integer, Double> averageBySeller = new ConcurrentHashMap<>();
+        private final NavigableSet<RatedSeller> sellersByAverage = new ConcurrentSkipListSet<>(BY_AVERAGE);
+    }
+}
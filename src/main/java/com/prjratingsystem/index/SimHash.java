@@ -0,0 +1,61 @@
+package com.prjratingsystem.index;
+
+import java.util.List;
+
+/**
+ * 64-bit SimHash fingerprints of free text.
+ * <p>
+ * Every word and every pair of adjacent words is hashed, and each fingerprint bit is the majority vote of that bit over
+ * all feature hashes. Texts that share most of their features therefore differ in only a few bits.
+ */
+public final class SimHash {
+
+    private SimHash() {
+    }
+
+    public static long fingerprint(List<String> tokens) {
+        int[] votes = new int[Long.SIZE];
+        for (int i = 0; i < tokens.size(); i++) {
+            vote(votes, hash(tokens.get(i)));
+            if (i > 0) {
+                vote(votes, hash(tokens.get(i - 1) + ' ' + tokens.get(i)));
+            }
+        }
+
+        long fingerprint = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (votes[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    private static void vote(int[] votes, long hash) {
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            votes[bit] += (hash >>> bit & 1) == 1 ? 1 : -1;
+        }
+    }
+
+    /**
+     * FNV-1a over the UTF-16 chars, followed by the MurmurHash3 finalizer so that every input bit affects every output
+     * bit.
+     */
+    static long hash(String feature) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < feature.length(); i++) {
+            hash ^= feature.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
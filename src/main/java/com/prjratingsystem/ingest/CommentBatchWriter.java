@@ -0,0 +1,119 @@
+package com.prjratingsystem.ingest;
+
+import com.prjratingsystem.dto.CommentDTO;
+import com.prjratingsystem.event.CommentCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drains the ingestion queue into the comments table in batches, one multi-row insert per batch.
+ * <p>
+ * The batch is bound as one array per column and unnested, so a batch costs a single statement and round trip. The
+ * insert joins the seller rows, so a comment whose seller does not exist (or was deleted meanwhile) inserts nothing
+ * instead of failing the whole batch on the foreign key. {@code ON CONFLICT (id) DO NOTHING} makes a redelivered
+ * comment a no-op. Either case counts as dropped. A {@link CommentCreatedEvent} is published for each comment the
+ * statement returns once it has committed, so listeners only see comments that exist. A batch that fails is released
+ * back to the queue and retried on the next run. Runs are serialized, so the drain at shutdown waits for a scheduled
+ * run instead of polling alongside it. Like the queue, the writer only exists in the write-behind modes.
+ */
+@Component
+@ConditionalOnExpression(CommentIngestionProperties.WRITE_BEHIND)
+public class CommentBatchWriter {
+
+    static final String INSERT_COMMENTS_SQL = "INSERT INTO comments (id, message, user_id, created_at, approved) " +
+            "SELECT c.id, c.message, u.id, c.created_at, false " +
+            "FROM unnest(?::int[], ?::text[], ?::timestamp[], ?::int[]) AS c(id, message, created_at, seller_id) " +
+            "JOIN users u ON u.id = c.seller_id AND u.deleted_at IS NULL " +
+            "ON CONFLICT (id) DO NOTHING RETURNING id";
+
+    private static final Logger log = LoggerFactory.getLogger(CommentBatchWriter.class);
+
+    private final CommentIngestionQueue queue;
+    private final CommentIngestionProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+
+    public CommentBatchWriter(CommentIngestionQueue queue, CommentIngestionProperties properties, JdbcTemplate jdbcTemplate,
+                              ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.queue = queue;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.flushTimer = Timer.builder("comments.ingestion.flush")
+                .description("Time to write one batch of queued comments")
+                .register(meterRegistry);
+        this.writtenCounter = meterRegistry.counter("comments.ingestion.written");
+        this.droppedCounter = meterRegistry.counter("comments.ingestion.dropped");
+    }
+
+    @Scheduled(fixedDelayString = "${comments.ingestion.flush-interval:200ms}")
+    public synchronized void flush() {
+        List<PendingComment> batch;
+        do {
+            batch = queue.poll(properties.getBatchSize());
+            if (batch.isEmpty() || !write(batch)) {
+                return;
+            }
+        } while (batch.size() == properties.getBatchSize());
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+
+    private boolean write(List<PendingComment> batch) {
+        Set<Integer> inserted;
+        try {
+            inserted = new HashSet<>(flushTimer.record(() -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(INSERT_COMMENTS_SQL);
+                statement.setArray(1, connection.createArrayOf("int4",
+                        batch.stream().map(PendingComment::id).toArray()));
+                statement.setArray(2, connection.createArrayOf("text",
+                        batch.stream().map(PendingComment::message).toArray()));
+                statement.setArray(3, connection.createArrayOf("timestamp",
+                        batch.stream().map(comment -> Timestamp.valueOf(comment.createdAt())).toArray()));
+                statement.setArray(4, connection.createArrayOf("int4",
+                        batch.stream().map(PendingComment::sellerId).toArray()));
+                return statement;
+            }, (resultSet, rowNum) -> resultSet.getInt(1))));
+        } catch (DataAccessException ex) {
+            log.warn("Writing {} queued comments failed, retrying on the next run", batch.size(), ex);
+            queue.release(batch);
+            return false;
+        }
+
+        queue.acknowledge(batch);
+        int written = 0;
+        for (PendingComment comment : batch) {
+            // remove, so a comment delivered twice within one batch is announced once
+            if (inserted.remove(comment.id())) {
+                written++;
+                eventPublisher.publishEvent(new CommentCreatedEvent(new CommentDTO(
+                        comment.id(), comment.message(), comment.sellerId(), comment.createdAt(), false)));
+            }
+        }
+        writtenCounter.increment(written);
+        droppedCounter.increment(batch.size() - written);
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package com.prjratingsystem.ingest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out comment ids from {@code comments_seq} without a database round trip per comment.
+ * <p>
+ * The sequence is shared with Hibernate's pooled generator on {@code Comment}, so blocks follow the same rule: a
+ * sequence value v reserves the ids (v - 50, v], except the sequence's first value 1, which reserves only itself.
+ */
+@Component
+public class CommentIdAllocator {
+
+    static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private int next;
+    private int last = -1;
+
+    public CommentIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public synchronized int nextId() {
+        if (next > last) {
+            Integer high = jdbcTemplate.queryForObject("SELECT nextval('comments_seq')", Integer.class);
+            last = high;
+            next = Math.max(1, high - ALLOCATION_SIZE + 1);
+        }
+        return next++;
+    }
+}
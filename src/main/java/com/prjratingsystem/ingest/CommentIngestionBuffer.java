@@ -0,0 +1,80 @@
+package com.prjratingsystem.ingest;
+
+import com.prjratingsystem.dto.CommentDTO;
+import com.prjratingsystem.exception.DuplicateCommentException;
+import com.prjratingsystem.exception.IngestionBufferFullException;
+import com.prjratingsystem.index.CommentFingerprintIndex;
+import com.prjratingsystem.repository.CommentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Front of the write-behind path for public comment submission.
+ * <p>
+ * Only exists in the write-behind modes. A submitted comment gets its id from {@link CommentIdAllocator} and is queued
+ * for {@link CommentBatchWriter}; the request never waits for a connection. Near duplicates of written comments are
+ * screened out first; a comment only becomes a screening candidate once the writer has inserted it, so near duplicates
+ * submitted within one flush interval are both kept. The seller is only checked by the writer, so a comment for an
+ * unknown seller is accepted here and dropped later.
+ */
+@Component
+@ConditionalOnExpression(CommentIngestionProperties.WRITE_BEHIND)
+public class CommentIngestionBuffer {
+
+    private final CommentIngestionProperties properties;
+    private final CommentIngestionQueue queue;
+    private final CommentIdAllocator idAllocator;
+    private final CommentFingerprintIndex commentFingerprintIndex;
+    private final CommentRepository commentRepository;
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+
+    public CommentIngestionBuffer(CommentIngestionProperties properties, CommentIngestionQueue queue,
+                                  CommentIdAllocator idAllocator, CommentFingerprintIndex commentFingerprintIndex,
+                                  CommentRepository commentRepository, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.queue = queue;
+        this.idAllocator = idAllocator;
+        this.commentFingerprintIndex = commentFingerprintIndex;
+        this.commentRepository = commentRepository;
+        this.acceptedCounter = meterRegistry.counter("comments.ingestion.accepted");
+        this.rejectedCounter = meterRegistry.counter("comments.ingestion.rejected");
+        Gauge.builder("comments.ingestion.queue.depth", queue, CommentIngestionQueue::size)
+                .description("Comments accepted but not yet written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a comment for the batch writer.
+     *
+     * @param sellerId   The ID of the seller being commented on
+     * @param commentDTO The comment details
+     * @return The accepted comment with its final ID, not yet visible to reads, or the earlier comment it was merged into
+     * @throws DuplicateCommentException   when the message is rejected as a near duplicate
+     * @throws IngestionBufferFullException when the queue is at capacity
+     */
+    public CommentDTO submit(Integer sellerId, CommentDTO commentDTO) {
+        Optional<CommentDTO> mergedInto = commentFingerprintIndex.screen(sellerId, commentDTO.getMessage())
+                .flatMap(commentRepository::findDTOById);
+        if (mergedInto.isPresent()) {
+            return mergedInto.get();
+        }
+
+        PendingComment comment = new PendingComment(
+                idAllocator.nextId(), sellerId, commentDTO.getMessage(), LocalDateTime.now());
+        if (!queue.offer(comment)) {
+            rejectedCounter.increment();
+            long retryAfterSeconds = Math.max(1, properties.getFlushInterval().toSeconds());
+            throw new IngestionBufferFullException("Too many comments are waiting to be saved, try again later", retryAfterSeconds);
+        }
+
+        acceptedCounter.increment();
+        return new CommentDTO(comment.id(), comment.message(), sellerId, comment.createdAt(), false);
+    }
+}
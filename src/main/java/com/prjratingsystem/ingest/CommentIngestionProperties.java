@@ -0,0 +1,63 @@
+package com.prjratingsystem.ingest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+/**
+ * Settings for public comment submission, bound from {@code comments.ingestion.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "comments.ingestion")
+public class CommentIngestionProperties {
+
+    /**
+     * Bean condition that holds in the write-behind modes. The queue, the buffer and the batch writer only exist then, so
+     * direct mode runs no writer and allocates no queue.
+     */
+    public static final String WRITE_BEHIND = "!'${comments.ingestion.mode:direct}'.equalsIgnoreCase('direct')";
+
+    /**
+     * How submitted comments reach the database.
+     */
+    public enum Mode {
+        /** Each request inserts its comment before responding. */
+        DIRECT,
+        /** Requests queue in memory; a crash loses comments not yet written. */
+        MEMORY,
+        /** Requests queue in a Redis stream and survive restarts until written. */
+        REDIS
+    }
+
+    private Mode mode = Mode.DIRECT;
+
+    /** Comments that may wait for the writer before submissions are refused with 429. */
+    private int capacity = 10_000;
+
+    /** Comments written per multi-row insert. */
+    private int batchSize = 500;
+
+    /** Pause between writer runs. */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private String streamKey = "comments:ingest";
+
+    private String consumerGroup = "comment-writers";
+
+    /**
+     * Consumer name inside the group; must be unique per instance, and stable across its restarts so pending entries are
+     * recovered. Defaults to the host name, or the process id where the host name cannot be resolved.
+     */
+    private String consumerName = defaultConsumerName();
+
+    private static String defaultConsumerName() {
+        try {
+            return "writer-" + InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "writer-" + ProcessHandle.current().pid();
+        }
+    }
+}
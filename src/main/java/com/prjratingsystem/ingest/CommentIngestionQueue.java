@@ -0,0 +1,40 @@
+package com.prjratingsystem.ingest;
+
+import java.util.List;
+
+/**
+ * Bounded queue between the comment endpoint and the batch writer.
+ * <p>
+ * Polled comments are leased to the writer: they are removed for good by {@link #acknowledge} once written, and
+ * handed out again after {@link #release} when the write failed.
+ */
+public interface CommentIngestionQueue {
+
+    /**
+     * Adds a comment unless the queue is full.
+     *
+     * @param comment The accepted comment
+     * @return false when the queue is at capacity
+     */
+    boolean offer(PendingComment comment);
+
+    /**
+     * Leases up to {@code maxComments} comments, oldest first, without blocking.
+     */
+    List<PendingComment> poll(int maxComments);
+
+    /**
+     * Confirms that leased comments were written.
+     */
+    void acknowledge(List<PendingComment> comments);
+
+    /**
+     * Returns leased comments so that a later poll hands them out again.
+     */
+    void release(List<PendingComment> comments);
+
+    /**
+     * Counts the comments that are queued or leased.
+     */
+    long size();
+}
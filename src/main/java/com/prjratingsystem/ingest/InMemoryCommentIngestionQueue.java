@@ -0,0 +1,58 @@
+package com.prjratingsystem.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ingestion queue held in the JVM heap. It is the fastest option, but comments still queued when the process dies are
+ * lost.
+ */
+public class InMemoryCommentIngestionQueue implements CommentIngestionQueue {
+
+    private final BlockingQueue<PendingComment> queued;
+    private final ConcurrentLinkedDeque<PendingComment> released = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger leased = new AtomicInteger();
+
+    public InMemoryCommentIngestionQueue(int capacity) {
+        this.queued = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public boolean offer(PendingComment comment) {
+        return queued.offer(comment);
+    }
+
+    @Override
+    public List<PendingComment> poll(int maxComments) {
+        List<PendingComment> batch = new ArrayList<>(Math.min(maxComments, queued.size() + released.size()));
+        PendingComment comment;
+        while (batch.size() < maxComments && (comment = released.pollFirst()) != null) {
+            batch.add(comment);
+        }
+        queued.drainTo(batch, maxComments - batch.size());
+        leased.addAndGet(batch.size());
+        return batch;
+    }
+
+    @Override
+    public void acknowledge(List<PendingComment> comments) {
+        leased.addAndGet(-comments.size());
+    }
+
+    @Override
+    public void release(List<PendingComment> comments) {
+        for (int i = comments.size() - 1; i >= 0; i--) {
+            released.addFirst(comments.get(i));
+        }
+        leased.addAndGet(-comments.size());
+    }
+
+    @Override
+    public long size() {
+        return queued.size() + released.size() + leased.get();
+    }
+}
@@ -0,0 +1,10 @@
+package com.prjratingsystem.ingest;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment that was accepted by the ingestion buffer but not yet written. The id is already allocated from the
+ * comment sequence, so the writer can insert it idempotently.
+ */
+public record PendingComment(Integer id, Integer sellerId, String message, LocalDateTime createdAt) {
+}
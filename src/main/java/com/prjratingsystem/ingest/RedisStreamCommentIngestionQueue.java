@@ -0,0 +1,140 @@
+package com.prjratingsystem.ingest;
+
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ingestion queue kept in a Redis stream read through a consumer group.
+ * <p>
+ * Accepted comments survive an application restart: entries stay pending in the group until the writer acknowledges
+ * them, and a writer first re-reads its own pending entries before taking new ones. A comment can therefore be
+ * delivered twice, which the writer tolerates because ids are allocated up front. The capacity check is a separate
+ * XLEN call, so concurrent submissions can overshoot it slightly.
+ */
+public class RedisStreamCommentIngestionQueue implements CommentIngestionQueue {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String streamKey;
+    private final String group;
+    private final Consumer consumer;
+    private final long capacity;
+
+    private final Map<Integer, RecordId> recordIds = new ConcurrentHashMap<>();
+    private volatile boolean groupCreated;
+    private volatile boolean recovering = true;
+
+    public RedisStreamCommentIngestionQueue(RedisTemplate<String, String> redisTemplate, String streamKey,
+                                            String group, String consumerName, long capacity) {
+        this.redisTemplate = redisTemplate;
+        this.streamKey = streamKey;
+        this.group = group;
+        this.consumer = Consumer.from(group, consumerName);
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean offer(PendingComment comment) {
+        if (size() >= capacity) {
+            return false;
+        }
+
+        redisTemplate.opsForStream().add(StreamRecords.newRecord().in(streamKey).ofMap(Map.of(
+                "id", comment.id().toString(),
+                "sellerId", comment.sellerId().toString(),
+                "message", comment.message(),
+                "createdAt", comment.createdAt().toString())));
+        return true;
+    }
+
+    @Override
+    public List<PendingComment> poll(int maxComments) {
+        ensureGroup();
+
+        // Entries this consumer read before a crash or a failed write are pending under offset 0;
+        // once none are left, continue with entries never delivered to the group.
+        List<MapRecord<String, Object, Object>> records = List.of();
+        if (recovering) {
+            records = read(ReadOffset.from("0"), maxComments);
+            recovering = !records.isEmpty();
+        }
+        if (records.isEmpty()) {
+            records = read(ReadOffset.lastConsumed(), maxComments);
+        }
+
+        List<PendingComment> batch = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            PendingComment comment = toComment(record.getValue());
+            recordIds.put(comment.id(), record.getId());
+            batch.add(comment);
+        }
+        return batch;
+    }
+
+    @Override
+    public void acknowledge(List<PendingComment> comments) {
+        RecordId[] ids = comments.stream()
+                .map(comment -> recordIds.remove(comment.id()))
+                .toArray(RecordId[]::new);
+        if (ids.length > 0) {
+            redisTemplate.opsForStream().acknowledge(streamKey, group, ids);
+            redisTemplate.opsForStream().delete(streamKey, ids);
+        }
+    }
+
+    @Override
+    public void release(List<PendingComment> comments) {
+        comments.forEach(comment -> recordIds.remove(comment.id()));
+        recovering = true;
+    }
+
+    @Override
+    public long size() {
+        Long size = redisTemplate.opsForStream().size(streamKey);
+        return size == null ? 0 : size;
+    }
+
+    private List<MapRecord<String, Object, Object>> read(ReadOffset offset, int maxComments) {
+        // read() declares generic varargs; the one-element array it gets is only read by the call, never stored
+        @SuppressWarnings("unchecked")
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .read(consumer, StreamReadOptions.empty().count(maxComments), StreamOffset.create(streamKey, offset));
+        return records == null ? List.of() : records;
+    }
+
+    private void ensureGroup() {
+        if (groupCreated) {
+            return;
+        }
+        try {
+            redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.from("0"), group);
+        } catch (DataAccessException ex) {
+            String message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                throw ex;
+            }
+        }
+        groupCreated = true;
+    }
+
+    private static PendingComment toComment(Map<Object, Object> fields) {
+        return new PendingComment(
+                Integer.valueOf((String) fields.get("id")),
+                Integer.valueOf((String) fields.get("sellerId")),
+                (String) fields.get("message"),
+                LocalDateTime.parse((String) fields.get("createdAt")));
+    }
+}
@@ -0,0 +1,180 @@
+package com.prjratingsystem.mail;
+
+import com.prjratingsystem.model.EmailOutboxMessage;
+import com.prjratingsystem.model.enums.OutboxStatus;
+import com.prjratingsystem.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends the messages queued in the email outbox.
+ * <p>
+ * Each run claims a batch of due messages with {@code FOR UPDATE SKIP LOCKED}, so several nodes can dispatch at once
+ * without sending a message twice, and pushes the claim forward by the lease before committing. The batch is then sent
+ * over a single SMTP connection with no transaction open, and the outcome of each message is recorded in a second short
+ * transaction. A failed message is retried with exponential back-off until it runs out of attempts. A dispatcher that
+ * dies mid-batch leaves its messages to be picked up again once the lease runs out, so delivery is at least once.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailOutboxProperties properties;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    @Autowired
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository, EmailOutboxProperties properties,
+                                 JavaMailSender mailSender, PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this(outboxRepository, properties, mailSender, transactionManager, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    EmailOutboxDispatcher(EmailOutboxRepository outboxRepository, EmailOutboxProperties properties,
+                          JavaMailSender mailSender, PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry, Clock clock) {
+        this.outboxRepository = outboxRepository;
+        this.properties = properties;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.sentCounter = meterRegistry.counter("mail.outbox.sent");
+        this.retriedCounter = meterRegistry.counter("mail.outbox.retried");
+        this.failedCounter = meterRegistry.counter("mail.outbox.failed");
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:1s}")
+    public void dispatch() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        try {
+            while (dispatchBatch() == properties.getBatchSize()) {
+                // keep draining while full batches come back
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Email outbox dispatch failed, retrying on the next run: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 3_600_000)
+    public void purgeSent() {
+        if (properties.isEnabled()) {
+            LocalDateTime before = LocalDateTime.now(clock).minus(properties.getRetention());
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.deleteSentBefore(before));
+        }
+    }
+
+    int dispatchBatch() {
+        List<EmailOutboxMessage> batch = transactionTemplate.execute(status -> claim());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Integer, Exception> failures = send(batch);
+        transactionTemplate.executeWithoutResult(status -> record(batch, failures));
+        return batch.size();
+    }
+
+    private List<EmailOutboxMessage> claim() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<EmailOutboxMessage> batch = outboxRepository.lockDue(now, properties.getBatchSize());
+        for (EmailOutboxMessage message : batch) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(now.plus(properties.getLease()));
+        }
+        return outboxRepository.saveAll(batch);
+    }
+
+    /**
+     * Sends a batch over one connection.
+     *
+     * @return The exception for each message that was not sent, by position in the batch
+     */
+    private Map<Integer, Exception> send(List<EmailOutboxMessage> batch) {
+        SimpleMailMessage[] mails = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < mails.length; i++) {
+            EmailOutboxMessage message = batch.get(i);
+            mails[i] = new SimpleMailMessage();
+            mails[i].setFrom(message.getSender());
+            mails[i].setTo(message.getRecipient());
+            mails[i].setSubject(message.getSubject());
+            mails[i].setText(message.getBody());
+        }
+
+        Map<Integer, Exception> failures = new HashMap<>();
+        try {
+            mailSender.send(mails);
+        } catch (MailSendException ex) {
+            Map<Object, Exception> failedMessages = ex.getFailedMessages();
+            for (int i = 0; i < mails.length; i++) {
+                Exception failure = failedMessages.isEmpty() ? ex : failedMessages.get(mails[i]);
+                if (failure != null) {
+                    failures.put(i, failure);
+                }
+            }
+        } catch (MailException ex) {
+            for (int i = 0; i < mails.length; i++) {
+                failures.put(i, ex);
+            }
+        }
+        return failures;
+    }
+
+    private void record(List<EmailOutboxMessage> batch, Map<Integer, Exception> failures) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutboxMessage message = batch.get(i);
+            Exception failure = failures.get(i);
+            if (failure == null) {
+                message.setStatus(OutboxStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+                sentCounter.increment();
+                continue;
+            }
+
+            message.setLastError(truncate(String.valueOf(failure.getMessage())));
+            if (message.getAttempts() >= properties.getMaxAttempts()) {
+                message.setStatus(OutboxStatus.FAILED);
+                failedCounter.increment();
+                log.warn("Giving up on email {} to {} after {} attempts: {}",
+                        message.getId(), message.getRecipient(), message.getAttempts(), failure.getMessage());
+            } else {
+                message.setNextAttemptAt(now.plus(properties.retryDelay(message.getAttempts())));
+                retriedCounter.increment();
+            }
+        }
+        outboxRepository.saveAll(batch);
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
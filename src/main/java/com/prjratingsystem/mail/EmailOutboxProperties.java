@@ -0,0 +1,44 @@
+package com.prjratingsystem.mail;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for outgoing email, bound from {@code mail.outbox.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "mail.outbox")
+public class EmailOutboxProperties {
+
+    /** Queue emails in the outbox table; when off, callers send over SMTP themselves. */
+    private boolean enabled = true;
+
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /** Messages sent over one SMTP connection. */
+    private int batchSize = 50;
+
+    /** How long a claimed message stays invisible to other dispatchers, in case this one dies mid-batch. */
+    private Duration lease = Duration.ofMinutes(5);
+
+    /** Attempts before a message is marked failed. */
+    private int maxAttempts = 8;
+
+    /** Delay before the first retry, doubled for each further attempt up to {@code maxDelay}. */
+    private Duration baseDelay = Duration.ofSeconds(30);
+
+    private Duration maxDelay = Duration.ofHours(1);
+
+    /** How long sent messages are kept. */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * How long to wait before retrying a message that has failed {@code attempts} times.
+     */
+    public Duration retryDelay(int attempts) {
+        long doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        return Duration.ofMillis(Math.min(baseDelay.toMillis() << doublings, maxDelay.toMillis()));
+    }
+}
@@ -2,8 +2,11 @@ package com.prjratingsystem.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,9 +15,11 @@ import java.time.LocalDateTime;
 @Table(name = "game_objects")
 @Data
 @NoArgsConstructor
+@SQLRestriction("deleted_at IS NULL")
 public class GameObject {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_objects_seq")
+    @SequenceGenerator(name = "game_objects_seq", sequenceName = "game_objects_seq", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false, length = 100)
@@ -23,8 +28,10 @@ public class GameObject {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String text;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     @CreationTimestamp
@@ -34,4 +41,8 @@ public class GameObject {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    /** Set when the game object, or its owner, is deleted; the row is hidden until the purge worker removes it. */
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 }
@@ -0,0 +1,57 @@
+package com.prjratingsystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "seller_rating_stats")
+@Data
+@NoArgsConstructor
+public class SellerRatingStats {
+
+    @Id
+    @Column(name = "seller_id")
+    private Integer sellerId;
+
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(nullable = false)
+    private Integer ratingCount = 0;
+
+    private Integer minRating;
+
+    private Integer maxRating;
+
+    /** Bumped on every change, so listeners can tell which of two change events for the seller is newer. */
+    @Column(nullable = false)
+    private Long version = 0L;
+
+    public SellerRatingStats(Integer sellerId) {
+        this.sellerId = sellerId;
+    }
+
+    public void addRating(int ratingValue) {
+        ratingSum += ratingValue;
+        ratingCount++;
+        minRating = minRating == null ? ratingValue : Math.min(minRating, ratingValue);
+        maxRating = maxRating == null ? ratingValue : Math.max(maxRating, ratingValue);
+        version++;
+    }
+
+    /**
+     * Replaces the aggregate, e.g. with one recomputed from the remaining ratings.
+     */
+    public void replace(long ratingSum, int ratingCount, Integer minRating, Integer maxRating) {
+        this.ratingSum = ratingSum;
+        this.ratingCount = ratingCount;
+        this.minRating = minRating;
+        this.maxRating = maxRating;
+        version++;
+    }
+
+    public double getAverage() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+}
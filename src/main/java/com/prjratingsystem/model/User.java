@@ -4,14 +4,20 @@ import com.prjratingsystem.model.enums.Role;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
 @Data
 @NoArgsConstructor
+@SQLRestriction("deleted_at IS NULL")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Integer id;
 
     @Column(nullable = false)
@@ -33,4 +39,28 @@ public class User {
     @Column(nullable = false)
     private Boolean approved = false;
 
-}
\ No newline at end of file
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer tokenVersion = 0;
+
+    /** Set when the user is deleted; the row is hidden from every query until the purge worker removes it. */
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    /**
+     * Invalidates every token issued to this user so far; tokens carry the version they were issued for.
+     */
+    public void revokeTokens() {
+        tokenVersion++;
+    }
+
+    /**
+     * Soft-deletes the user. The email is replaced by a placeholder so that the address can be registered again before
+     * the row is purged, and all tokens are revoked.
+     */
+    public void markDeleted(LocalDateTime now) {
+        deletedAt = now;
+        email = "deleted-%d@deleted.invalid".formatted(id);
+        revokeTokens();
+    }
+}
@@ -0,0 +1,7 @@
+package com.prjratingsystem.model.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
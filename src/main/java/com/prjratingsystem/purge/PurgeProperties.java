@@ -0,0 +1,34 @@
+package com.prjratingsystem.purge;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for purging soft-deleted users and game objects, bound from {@code purge.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "purge")
+public class PurgeProperties {
+
+    private boolean enabled = true;
+
+    /** When the purge worker runs; the default keeps it to the night hours. */
+    private String cron = "0 */10 0-5 * * *";
+
+    /** Rows deleted per statement, each chunk in its own transaction. */
+    private int chunkSize = 1000;
+
+    /** Pause after each chunk, so a purge leaves headroom for regular traffic. */
+    private Duration chunkPause = Duration.ofMillis(100);
+
+    /** A run stops picking up new users once it has been going for this long. */
+    private Duration maxRunTime = Duration.ofMinutes(8);
+
+    /**
+     * A user claimed longer ago than this is claimed again by the next run, so a node that died mid-purge does not hold
+     * the user forever. Purging is idempotent, so a purge that outlives its claim only repeats work.
+     */
+    private Duration leaseTime = Duration.ofMinutes(30);
+}
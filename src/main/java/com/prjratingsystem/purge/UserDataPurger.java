@@ -0,0 +1,101 @@
+package com.prjratingsystem.purge;
+
+import com.prjratingsystem.repository.CommentRepository;
+import com.prjratingsystem.repository.GameObjectRepository;
+import com.prjratingsystem.repository.RatingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Deletes the rows that belong to a user (the ratings on their comments, their comments and their game objects) with
+ * set-based deletes of at most {@code purge.chunk-size} rows each.
+ * <p>
+ * Every chunk commits in its own transaction, so row locks are held for one chunk only and a large seller never blocks
+ * comment moderation or rating for long, and the purge pauses between chunks to leave room for regular traffic. Chunks
+ * run dependents first (ratings before comments) so no foreign key is violated. A purge that fails half way leaves the
+ * user row in place and can simply be run again. An interrupt, e.g. on shutdown, stops it before the next chunk.
+ */
+@Component
+public class UserDataPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDataPurger.class);
+
+    private final RatingRepository ratingRepository;
+    private final CommentRepository commentRepository;
+    private final GameObjectRepository gameObjectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PurgeProperties properties;
+    private final Timer purgeTimer;
+
+    public UserDataPurger(RatingRepository ratingRepository, CommentRepository commentRepository,
+                          GameObjectRepository gameObjectRepository, PlatformTransactionManager transactionManager,
+                          PurgeProperties properties, MeterRegistry meterRegistry) {
+        this.ratingRepository = ratingRepository;
+        this.commentRepository = commentRepository;
+        this.gameObjectRepository = gameObjectRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.purgeTimer = Timer.builder("users.purge")
+                .description("Time to delete the ratings, comments and game objects of one user")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Deletes everything that references the user, but not the user row itself. When the thread is interrupted, stops
+     * before the next chunk and returns with the interrupt flag still set, leaving the rest for a later run.
+     *
+     * @param userId The ID of the user
+     * @return The number of deleted rows
+     */
+    public long purge(Integer userId) {
+        return purgeTimer.record(() -> {
+            long ratings = deleteInChunks(limit -> ratingRepository.deleteChunkBySellerId(userId, limit));
+            long comments = deleteInChunks(limit -> commentRepository.deleteChunkByUserId(userId, limit));
+            long gameObjects = deleteInChunks(limit -> gameObjectRepository.deleteChunkByUserId(userId, limit));
+            if (ratings + comments + gameObjects > 0) {
+                log.info("Purged user {}: {} ratings, {} comments, {} game objects", userId, ratings, comments, gameObjects);
+            }
+            return ratings + comments + gameObjects;
+        });
+    }
+
+    /**
+     * Deletes the game objects that were soft-deleted on their own.
+     *
+     * @return The number of deleted rows
+     */
+    public long purgeDeletedGameObjects() {
+        return deleteInChunks(gameObjectRepository::purgeDeletedChunk);
+    }
+
+    private long deleteInChunks(IntUnaryOperator deleteChunk) {
+        int chunkSize = properties.getChunkSize();
+        long total = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            int deleted = transactionTemplate.execute(status -> deleteChunk.applyAsInt(chunkSize));
+            total += deleted;
+            if (deleted < chunkSize) {
+                break;
+            }
+            pause();
+        }
+        return total;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getChunkPause().toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
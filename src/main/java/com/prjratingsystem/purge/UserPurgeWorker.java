@@ -0,0 +1,156 @@
+package com.prjratingsystem.purge;
+
+import com.prjratingsystem.dto.PurgeStatusDTO;
+import com.prjratingsystem.repository.GameObjectRepository;
+import com.prjratingsystem.repository.UserRepository;
+import com.prjratingsystem.service.RatingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Removes soft-deleted users and game objects for good, off-peak, on the {@code purge.cron} schedule.
+ * <p>
+ * Each user is claimed in a short transaction that locks the row with {@code FOR NO KEY UPDATE SKIP LOCKED} and stamps
+ * {@code purge_started_at}, so nodes running the worker at the same time split the backlog between them without keeping
+ * a connection busy for a whole purge. {@link UserDataPurger} then deletes the user's rows chunk by chunk, and the user
+ * row itself is deleted in a last transaction once nothing references it anymore. A claim older than
+ * {@code purge.lease-time} is taken over by the next run. A run stops taking new users after {@code purge.max-run-time};
+ * whatever is left waits for the next run.
+ */
+@Component
+public class UserPurgeWorker implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPurgeWorker.class);
+
+    private final UserRepository userRepository;
+    private final GameObjectRepository gameObjectRepository;
+    private final UserDataPurger userDataPurger;
+    private final RatingService ratingService;
+    private final PurgeProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Counter purgedUsersCounter;
+    private final Counter purgedRowsCounter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong purgedUsers = new AtomicLong();
+    private final AtomicLong purgedGameObjects = new AtomicLong();
+    private final AtomicLong purgedRows = new AtomicLong();
+    private volatile Integer currentUserId;
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile LocalDateTime lastRunFinishedAt;
+
+    @Autowired
+    public UserPurgeWorker(UserRepository userRepository, GameObjectRepository gameObjectRepository,
+                           UserDataPurger userDataPurger, RatingService ratingService, PurgeProperties properties,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this(userRepository, gameObjectRepository, userDataPurger, ratingService, properties, transactionManager,
+                meterRegistry, Clock.systemDefaultZone());
+    }
+
+    UserPurgeWorker(UserRepository userRepository, GameObjectRepository gameObjectRepository,
+                    UserDataPurger userDataPurger, RatingService ratingService, PurgeProperties properties,
+                    PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, Clock clock) {
+        this.userRepository = userRepository;
+        this.gameObjectRepository = gameObjectRepository;
+        this.userDataPurger = userDataPurger;
+        this.ratingService = ratingService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.purgedUsersCounter = meterRegistry.counter("purge.users");
+        this.purgedRowsCounter = meterRegistry.counter("purge.rows");
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addCronTask(this::purge, properties.getCron());
+    }
+
+    public void purge() {
+        if (!properties.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now(clock);
+        LocalDateTime deadline = startedAt.plus(properties.getMaxRunTime());
+        lastRunStartedAt = startedAt;
+        try {
+            Long rows;
+            while (!Thread.currentThread().isInterrupted() && LocalDateTime.now(clock).isBefore(deadline)
+                    && (rows = purgeNextUser()) != null) {
+                purgedUsers.incrementAndGet();
+                purgedUsersCounter.increment();
+                recordRows(rows);
+            }
+
+            long gameObjects = userDataPurger.purgeDeletedGameObjects();
+            purgedGameObjects.addAndGet(gameObjects);
+            recordRows(gameObjects);
+        } catch (DataAccessException ex) {
+            log.warn("Purge of deleted users failed, retrying on the next run: {}", ex.getMessage());
+        } finally {
+            currentUserId = null;
+            lastRunFinishedAt = LocalDateTime.now(clock);
+            running.set(false);
+        }
+    }
+
+    public PurgeStatusDTO status() {
+        return new PurgeStatusDTO(running.get(), currentUserId, lastRunStartedAt, lastRunFinishedAt,
+                purgedUsers.get(), purgedGameObjects.get(), purgedRows.get(),
+                userRepository.countDeleted(), gameObjectRepository.countDeleted());
+    }
+
+    /**
+     * Claims and purges the user deleted longest ago.
+     *
+     * @return The number of deleted rows, or null when no deleted user is left or the thread was interrupted
+     */
+    private Long purgeNextUser() {
+        Integer userId = transactionTemplate.execute(status -> claimNextUser());
+        if (userId == null) {
+            return null;
+        }
+
+        currentUserId = userId;
+        long rows = userDataPurger.purge(userId);
+        if (Thread.currentThread().isInterrupted()) {
+            // the user row stays, so a later run takes the user over once the lease runs out
+            log.info("Purge of user {} interrupted", userId);
+            recordRows(rows);
+            return null;
+        }
+        return rows + transactionTemplate.execute(status -> {
+            ratingService.clearSellerRatingStats(userId);
+            return userRepository.purgeDeleted(userId);
+        });
+    }
+
+    private Integer claimNextUser() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Optional<Integer> next = userRepository.lockNextDeleted(now.minus(properties.getLeaseTime()));
+        next.ifPresent(userId -> userRepository.claimForPurge(userId, now));
+        return next.orElse(null);
+    }
+
+    private void recordRows(long rows) {
+        purgedRows.addAndGet(rows);
+        purgedRowsCounter.increment(rows);
+    }
+}
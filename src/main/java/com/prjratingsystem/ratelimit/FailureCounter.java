@@ -0,0 +1,32 @@
+package com.prjratingsystem.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Consecutive failure counts keyed by an arbitrary string, each remembering when its last failure happened.
+ * <p>
+ * An attempt is counted as a failure up front, in the same atomic step that checks the back-off, so concurrent attempts
+ * cannot all pass the check before any of them is counted. An attempt that then succeeds is taken back with
+ * {@link #release(String)}.
+ */
+public interface FailureCounter {
+
+    /**
+     * Reserves an attempt under a back-off policy: unless the key is blocked, counts a failure now, starting over if the
+     * previous one is older than {@code window}.
+     *
+     * @param key     Identifies the counter
+     * @param backoff Turns the failure count into a delay after the last failure
+     * @param window  How long failures are remembered
+     * @return {@link Duration#ZERO} when the attempt was reserved, otherwise the time until one can be, with nothing
+     * counted
+     */
+    Duration tryAcquire(String key, LoginThrottleProperties.Backoff backoff, Duration window);
+
+    /**
+     * Takes back one reserved attempt. The time of the last failure stays where the reservation put it.
+     */
+    void release(String key);
+
+    void reset(String key);
+}
@@ -0,0 +1,83 @@
+package com.prjratingsystem.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Failure counters held in this JVM.
+ * <p>
+ * Each counter is one {@link AtomicLong} packing the time of the last failure in milliseconds (upper bits) with the
+ * failure count (lower {@value #COUNT_BITS} bits), checked and updated with one compare-and-set loop. Counters without a failure
+ * for the longest window any policy uses are swept by {@link #evictIdle()}.
+ */
+public class LocalFailureCounter implements FailureCounter {
+
+    static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final Duration idleWindow;
+    private final LongSupplier currentTimeMillis;
+
+    /**
+     * @param idleWindow How long a counter is kept after its last failure; at least the longest window passed to
+     *                   {@link #tryAcquire}
+     */
+    public LocalFailureCounter(Duration idleWindow) {
+        this(idleWindow, System::currentTimeMillis);
+    }
+
+    LocalFailureCounter(Duration idleWindow, LongSupplier currentTimeMillis) {
+        this.idleWindow = idleWindow;
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    @Override
+    public Duration tryAcquire(String key, LoginThrottleProperties.Backoff backoff, Duration window) {
+        AtomicLong counter = counters.computeIfAbsent(key, k -> new AtomicLong());
+        while (true) {
+            long state = counter.get();
+            long now = currentTimeMillis.getAsLong();
+            long lastFailure = state >>> COUNT_BITS;
+            long count = now - lastFailure > window.toMillis() ? 0 : state & COUNT_MASK;
+            long wait = lastFailure + backoff.delayMillis(count) - now;
+            if (count > 0 && wait > 0) {
+                return Duration.ofMillis(wait);
+            }
+            if (counter.compareAndSet(state, now << COUNT_BITS | Math.min(count + 1, COUNT_MASK))) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        AtomicLong counter = counters.get(key);
+        if (counter != null) {
+            counter.getAndUpdate(state -> (state & COUNT_MASK) == 0 ? state : state - 1);
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        counters.remove(key);
+    }
+
+    /**
+     * Drops counters whose last failure is older than the idle window.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        long cutoff = currentTimeMillis.getAsLong() - idleWindow.toMillis();
+        counters.values().removeIf(counter -> counter.get() >>> COUNT_BITS < cutoff);
+    }
+
+    int size() {
+        return counters.size();
+    }
+}
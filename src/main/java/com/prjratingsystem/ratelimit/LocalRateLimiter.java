@@ -0,0 +1,63 @@
+package com.prjratingsystem.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets held in this JVM.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it would be full again (the generic cell rate
+ * algorithm), updated with a compare-and-set loop. Buckets live in a {@link ConcurrentHashMap}, so requests for
+ * different keys never contend and requests for the same key never block. Full buckets carry no information and are
+ * swept by {@link #evictIdle()}.
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoTime;
+
+    public LocalRateLimiter() {
+        this(System::nanoTime);
+    }
+
+    LocalRateLimiter(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public Duration tryAcquire(String key, RateLimitProperties.Limit limit) {
+        long period = limit.getPeriod().toNanos();
+        long interval = period / limit.getCapacity();
+        AtomicLong fullAt = buckets.computeIfAbsent(key, k -> new AtomicLong(nanoTime.getAsLong()));
+
+        while (true) {
+            long now = nanoTime.getAsLong();
+            long current = fullAt.get();
+            long backlog = Math.max(current - now, 0) + interval;
+            if (backlog > period) {
+                return Duration.ofNanos(backlog - period);
+            }
+            if (fullAt.compareAndSet(current, now + backlog)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        long now = nanoTime.getAsLong();
+        buckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
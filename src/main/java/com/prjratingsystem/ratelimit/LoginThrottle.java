@@ -0,0 +1,72 @@
+package com.prjratingsystem.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Exponential back-off for failed logins, per email and per client IP.
+ * <p>
+ * Each attempt is reserved before the user is looked up or a password hash is compared: the reservation counts it as a
+ * failure, atomically with the back-off check, so a credential-stuffing run costs one counter update per request and a
+ * burst of parallel attempts cannot slip past the check together. A successful login clears the email's counter and
+ * takes back the IP's reservation without clearing it, so an attacker cannot unblock an IP by logging into an account
+ * of their own.
+ */
+@Component
+public class LoginThrottle {
+
+    private final LoginThrottleProperties properties;
+    private final FailureCounter failureCounter;
+    private final MeterRegistry meterRegistry;
+
+    public LoginThrottle(LoginThrottleProperties properties, FailureCounter failureCounter, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.failureCounter = failureCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Reserves a login attempt, counting it as failed until {@link #recordSuccess(String, String)} says otherwise.
+     *
+     * @return {@link Duration#ZERO} when the attempt may proceed, otherwise how long it has to wait, with nothing
+     * reserved
+     */
+    public Duration acquire(String email, String clientIp) {
+        if (!properties.isEnabled()) {
+            return Duration.ZERO;
+        }
+
+        Duration emailWait = failureCounter.tryAcquire(emailKey(email), properties.getPerEmail(),
+                properties.windowFor(properties.getPerEmail()));
+        if (!emailWait.isZero()) {
+            meterRegistry.counter("login.throttled", "scope", "email").increment();
+            return emailWait;
+        }
+
+        Duration ipWait = failureCounter.tryAcquire(ipKey(clientIp), properties.getPerIp(),
+                properties.windowFor(properties.getPerIp()));
+        if (!ipWait.isZero()) {
+            failureCounter.release(emailKey(email));
+            meterRegistry.counter("login.throttled", "scope", "ip").increment();
+        }
+        return ipWait;
+    }
+
+    public void recordSuccess(String email, String clientIp) {
+        if (properties.isEnabled()) {
+            failureCounter.reset(emailKey(email));
+            failureCounter.release(ipKey(clientIp));
+        }
+    }
+
+    private static String emailKey(String email) {
+        return "lt:email:%s".formatted(email == null ? "" : email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static String ipKey(String clientIp) {
+        return "lt:ip:%s".formatted(clientIp);
+    }
+}
@@ -0,0 +1,69 @@
+package com.prjratingsystem.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Back-off for failed logins, bound from {@code login-throttle.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "login-throttle")
+public class LoginThrottleProperties {
+
+    private boolean enabled = true;
+
+    private RateLimitProperties.Mode mode = RateLimitProperties.Mode.LOCAL;
+
+    /** Failures are forgotten once none has happened for this long. */
+    private Duration failureWindow = Duration.ofMinutes(15);
+
+    private Backoff perEmail = new Backoff(5);
+
+    private Backoff perIp = new Backoff(20);
+
+    /**
+     * How long a policy's failures are kept: at least as long as the longest block they can cause.
+     */
+    public Duration windowFor(Backoff backoff) {
+        return failureWindow.compareTo(backoff.getMaxDelay()) >= 0 ? failureWindow : backoff.getMaxDelay();
+    }
+
+    public Duration longestWindow() {
+        Duration emailWindow = windowFor(perEmail);
+        Duration ipWindow = windowFor(perIp);
+        return emailWindow.compareTo(ipWindow) >= 0 ? emailWindow : ipWindow;
+    }
+
+    /**
+     * After {@code freeAttempts} failures, each further failure blocks the next attempt for {@code baseDelay} doubled
+     * per failure, up to {@code maxDelay}.
+     */
+    @Data
+    public static class Backoff {
+        private int freeAttempts;
+
+        private Duration baseDelay = Duration.ofSeconds(1);
+
+        private Duration maxDelay = Duration.ofMinutes(15);
+
+        public Backoff() {
+        }
+
+        public Backoff(int freeAttempts) {
+            this.freeAttempts = freeAttempts;
+        }
+
+        /**
+         * How long attempts are blocked after the given number of consecutive failures.
+         */
+        public long delayMillis(long failures) {
+            if (failures < freeAttempts) {
+                return 0;
+            }
+            long doublings = Math.min(failures - freeAttempts, 30);
+            return Math.min(baseDelay.toMillis() << doublings, maxDelay.toMillis());
+        }
+    }
+}
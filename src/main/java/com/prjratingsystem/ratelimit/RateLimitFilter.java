@@ -0,0 +1,109 @@
+package com.prjratingsystem.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the configured token buckets to the public write endpoints, ahead of the security filter chain.
+ * <p>
+ * A matching request takes a token from its client IP's bucket and, when the route has a seller limit, from the bucket
+ * of the seller named in the path. If either bucket is empty the request is refused with 429 and a Retry-After header.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final List<CompiledRoute> routes;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new CompiledRoute(route, PathPatternParser.defaultInstance.parse(route.getPath())))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (CompiledRoute compiled : routes) {
+            RateLimitProperties.Route route = compiled.route();
+            if (!route.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            PathPattern.PathMatchInfo match = compiled.pattern().matchAndExtract(path);
+            if (match == null) {
+                continue;
+            }
+
+            Duration wait = check(route, match.getUriVariables(), request.getRemoteAddr());
+            if (!wait.isZero()) {
+                reject(response, wait);
+                return;
+            }
+            break;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    private Duration check(RateLimitProperties.Route route, Map<String, String> uriVariables, String clientIp) {
+        if (route.getPerIp() != null) {
+            Duration wait = rateLimiter.tryAcquire("rl:%s:ip:%s".formatted(route.getName(), clientIp), route.getPerIp());
+            if (!wait.isZero()) {
+                meterRegistry.counter("rate_limit.rejected", "route", route.getName(), "scope", "ip").increment();
+                return wait;
+            }
+        }
+
+        String sellerId = uriVariables.get("sellerId");
+        if (route.getPerSeller() != null && sellerId != null) {
+            Duration wait = rateLimiter.tryAcquire("rl:%s:seller:%s".formatted(route.getName(), sellerId), route.getPerSeller());
+            if (!wait.isZero()) {
+                meterRegistry.counter("rate_limit.rejected", "route", route.getName(), "scope", "seller").increment();
+                return wait;
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    private static void reject(HttpServletResponse response, Duration wait) throws IOException {
+        long retryAfterSeconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests, try again in %d seconds".formatted(retryAfterSeconds));
+    }
+
+    private record CompiledRoute(RateLimitProperties.Route route, PathPattern pattern) {
+    }
+}
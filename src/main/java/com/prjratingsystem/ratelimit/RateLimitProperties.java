@@ -0,0 +1,70 @@
+package com.prjratingsystem.ratelimit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route request limits for the public endpoints, bound from {@code rate-limit.*}.
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Where the buckets are kept.
+     */
+    public enum Mode {
+        /** In this JVM; every node enforces the limits on its own share of the traffic. */
+        LOCAL,
+        /** In Redis, so the limits hold across all nodes. */
+        REDIS
+    }
+
+    private boolean enabled = true;
+
+    private Mode mode = Mode.LOCAL;
+
+    private List<@Valid Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        /** Short name used in bucket keys and metrics. */
+        private String name;
+
+        private String method = "POST";
+
+        /** Path pattern, e.g. {@code /api/comments/sellers/{sellerId}}. */
+        private String path;
+
+        /** Limit per client IP, or null for none. */
+        @Valid
+        private Limit perIp;
+
+        /** Limit per {@code sellerId} path variable, or null for none. */
+        @Valid
+        private Limit perSeller;
+    }
+
+    /**
+     * A token bucket holding up to {@code capacity} requests that refills completely over {@code period}.
+     */
+    @Data
+    public static class Limit {
+        @Positive
+        private int capacity;
+
+        @NotNull
+        @DurationMin(nanos = 1)
+        private Duration period;
+    }
+}
@@ -0,0 +1,18 @@
+package com.prjratingsystem.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Token buckets keyed by an arbitrary string.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket for a key, creating a full bucket on first use.
+     *
+     * @param key   Identifies the bucket
+     * @param limit The bucket size and refill period
+     * @return {@link Duration#ZERO} when a token was taken, otherwise how long until the next token is available
+     */
+    Duration tryAcquire(String key, RateLimitProperties.Limit limit);
+}
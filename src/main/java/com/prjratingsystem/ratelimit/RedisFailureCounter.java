@@ -0,0 +1,88 @@
+package com.prjratingsystem.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Failure counters held in Redis, shared by all nodes.
+ * <p>
+ * Each counter is a hash with the count ({@code n}) and the time of the last failure ({@code t}), expiring with the
+ * failure window. The acquire script checks the back-off and counts the attempt in one step, reading the clock from
+ * Redis like {@link RedisRateLimiter}. When Redis cannot be reached, attempts are let through.
+ */
+public class RedisFailureCounter implements FailureCounter {
+
+    static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'n', 't')
+            local failures = tonumber(state[1]) or 0
+            local free = tonumber(ARGV[1])
+            if failures > 0 and failures >= free then
+                local delay = math.min(tonumber(ARGV[2]) * 2 ^ math.min(failures - free, 30), tonumber(ARGV[3]))
+                local wait = tonumber(state[2]) + delay - now
+                if wait > 0 then
+                    return wait
+                end
+            end
+            redis.call('HSET', KEYS[1], 'n', failures + 1, 't', now)
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return 0
+            """, Long.class);
+
+    static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            local failures = tonumber(redis.call('HGET', KEYS[1], 'n'))
+            if failures and failures > 0 then
+                redis.call('HINCRBY', KEYS[1], 'n', -1)
+            end
+            return 0
+            """, Long.class);
+
+    private static final Logger log = LoggerFactory.getLogger(RedisFailureCounter.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public RedisFailureCounter(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Duration tryAcquire(String key, LoginThrottleProperties.Backoff backoff, Duration window) {
+        try {
+            Long waitMillis = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(key),
+                    Integer.toString(backoff.getFreeAttempts()),
+                    Long.toString(backoff.getBaseDelay().toMillis()),
+                    Long.toString(backoff.getMaxDelay().toMillis()),
+                    Long.toString(window.toMillis()));
+            return waitMillis == null ? Duration.ZERO : Duration.ofMillis(waitMillis);
+        } catch (DataAccessException ex) {
+            log.warn("Login throttle check for {} skipped, Redis is unavailable: {}", key, ex.getMessage());
+            return Duration.ZERO;
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key));
+        } catch (DataAccessException ex) {
+            log.warn("Could not release login attempt for {}: {}", key, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (DataAccessException ex) {
+            log.warn("Could not reset failed logins for {}: {}", key, ex.getMessage());
+        }
+    }
+}
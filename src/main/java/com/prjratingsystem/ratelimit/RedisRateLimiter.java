@@ -0,0 +1,57 @@
+package com.prjratingsystem.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Token buckets held in Redis, shared by all nodes.
+ * <p>
+ * The same algorithm as {@link LocalRateLimiter} runs as one Lua script, so reading and updating a bucket is atomic and
+ * costs a single round trip. The script reads the clock from Redis, which keeps nodes with skewed clocks consistent.
+ * Keys expire once their bucket is full again. When Redis cannot be reached, requests are let through.
+ */
+public class RedisRateLimiter implements RateLimiter {
+
+    static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            local interval = tonumber(ARGV[1])
+            local period = tonumber(ARGV[2])
+            local full_at = tonumber(redis.call('GET', KEYS[1]) or now)
+            local backlog = math.max(full_at - now, 0) + interval
+            if backlog > period then
+                return backlog - period
+            end
+            redis.call('SET', KEYS[1], now + backlog, 'PX', backlog)
+            return 0
+            """, Long.class);
+
+    private static final Logger log = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public RedisRateLimiter(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Duration tryAcquire(String key, RateLimitProperties.Limit limit) {
+        long period = limit.getPeriod().toMillis();
+        long interval = Math.max(period / limit.getCapacity(), 1);
+        try {
+            Long waitMillis = redisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(key),
+                    Long.toString(interval), Long.toString(period));
+            return waitMillis == null ? Duration.ZERO : Duration.ofMillis(waitMillis);
+        } catch (DataAccessException ex) {
+            log.warn("Rate limit check for {} skipped, Redis is unavailable: {}", key, ex.getMessage());
+            return Duration.ZERO;
+        }
+    }
+}
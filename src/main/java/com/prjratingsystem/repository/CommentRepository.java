@@ -1,16 +1,60 @@
 package com.prjratingsystem.repository;
 
+import com.prjratingsystem.dto.CommentDTO;
 import com.prjratingsystem.model.Comment;
+import com.prjratingsystem.repository.projection.CommentSellerEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
-    List<Comment> findByUserId(Integer id);
+    @Query("SELECT new com.prjratingsystem.dto.CommentDTO(c.id, c.message, c.user.id, c.createdAt, c.approved) " +
+            "FROM Comment c WHERE c.id = :id")
+    Optional<CommentDTO> findDTOById(@Param("id") Integer id);
 
-    void deleteAllByUserId(Integer id);
+    @Query("SELECT new com.prjratingsystem.dto.CommentDTO(c.id, c.message, c.user.id, c.createdAt, c.approved) " +
+            "FROM Comment c WHERE c.user.id = :userId AND c.id > :afterId ORDER BY c.id")
+    List<CommentDTO> findDTOsByUserIdAfter(@Param("userId") Integer userId, @Param("afterId") Integer afterId, Limit limit);
 
-    List<Comment> findByApprovedFalse();
+
+    @Query("SELECT new com.prjratingsystem.dto.CommentDTO(c.id, c.message, c.user.id, c.createdAt, c.approved) " +
+            "FROM Comment c WHERE c.createdAt > :since ORDER BY c.id")
+    List<CommentDTO> findDTOsCreatedAfter(@Param("since") LocalDateTime since);
+
+    @Query("SELECT new com.prjratingsystem.dto.CommentDTO(c.id, c.message, c.user.id, c.createdAt, c.approved) " +
+            "FROM Comment c WHERE c.approved = false AND c.user.deletedAt IS NULL AND c.id > :afterId ORDER BY c.id")
+    List<CommentDTO> findPendingDTOsAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.approved = false AND c.user.deletedAt IS NULL")
+    long countPending();
+
+    @Query("SELECT c.id AS id, c.user.id AS sellerId FROM Comment c WHERE c.id IN :ids AND c.user.deletedAt IS NULL")
+    List<CommentSellerEntry> findSellerEntries(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.approved = :approved WHERE c.id IN :ids")
+    int updateApproved(@Param("ids") Collection<Integer> ids, @Param("approved") boolean approved);
+
+    @Modifying
+    @Query(value = "DELETE FROM comments WHERE id IN (SELECT id FROM comments WHERE user_id = :userId LIMIT :limit)",
+            nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Integer userId, @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.prjratingsystem.dto.CommentDTO(c.id, c.message, c.user.id, c.createdAt, c.approved) " +
+            "FROM Comment c WHERE c.user.id = :userId ORDER BY c.id")
+    Stream<CommentDTO> streamAsDTOsByUserId(@Param("userId") Integer userId);
 }
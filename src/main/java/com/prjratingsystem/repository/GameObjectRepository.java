@@ -1,13 +1,61 @@
 package com.prjratingsystem.repository;
 
+import com.prjratingsystem.dto.GameObjectDTO;
 import com.prjratingsystem.model.GameObject;
-import com.prjratingsystem.model.User;
+import com.prjratingsystem.repository.projection.GameObjectTitleEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface GameObjectRepository extends JpaRepository<GameObject, Integer> {
-    List<GameObject> findByUser(User user);
+    @Query("SELECT new com.prjratingsystem.dto.GameObjectDTO(g.id, g.title, g.text, g.user.id, g.createdAt, g.updatedAt) " +
+            "FROM GameObject g WHERE g.id = :id")
+    Optional<GameObjectDTO> findDTOById(@Param("id") Integer id);
 
-    void deleteAllByUserId(Integer id);
+    @Query("SELECT new com.prjratingsystem.dto.GameObjectDTO(g.id, g.title, g.text, g.user.id, g.createdAt, g.updatedAt) " +
+            "FROM GameObject g WHERE g.id > :afterId ORDER BY g.id")
+    List<GameObjectDTO> findDTOsAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query("SELECT new com.prjratingsystem.dto.GameObjectDTO(g.id, g.title, g.text, g.user.id, g.createdAt, g.updatedAt) " +
+            "FROM GameObject g WHERE g.user.id = :userId AND g.id > :afterId ORDER BY g.id")
+    List<GameObjectDTO> findDTOsByUserIdAfter(@Param("userId") Integer userId, @Param("afterId") Integer afterId, Limit limit);
+
+    @Modifying
+    @Query("UPDATE GameObject g SET g.deletedAt = :deletedAt WHERE g.user.id = :userId AND g.deletedAt IS NULL")
+    int markDeletedByUserId(@Param("userId") Integer userId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM game_objects WHERE id IN (SELECT id FROM game_objects WHERE deleted_at IS NOT NULL " +
+            "LIMIT :limit)", nativeQuery = true)
+    int purgeDeletedChunk(@Param("limit") int limit);
+
+    @Query(value = "SELECT COUNT(*) FROM game_objects WHERE deleted_at IS NOT NULL", nativeQuery = true)
+    long countDeleted();
+
+    @Modifying
+    @Query(value = "DELETE FROM game_objects WHERE id IN (SELECT id FROM game_objects WHERE user_id = :userId LIMIT :limit)",
+            nativeQuery = true)
+    int deleteChunkByUserId(@Param("userId") Integer userId, @Param("limit") int limit);
+
+    @Query("SELECT g.id AS id, g.user.id AS userId, g.title AS title FROM GameObject g")
+    List<GameObjectTitleEntry> findAllTitleEntries();
+
+    @Query("SELECT new com.prjratingsystem.dto.GameObjectDTO(g.id, g.title, g.text, g.user.id, g.createdAt, g.updatedAt) " +
+            "FROM GameObject g")
+    List<GameObjectDTO> findAllAsDTOs();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.prjratingsystem.dto.GameObjectDTO(g.id, g.title, g.text, g.user.id, g.createdAt, g.updatedAt) " +
+            "FROM GameObject g ORDER BY g.id")
+    Stream<GameObjectDTO> streamAllAsDTOs();
 }
@@ -1,16 +1,33 @@
 package com.prjratingsystem.repository;
 
 import com.prjratingsystem.model.Rating;
+import com.prjratingsystem.repository.projection.SellerRatingAggregate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RatingRepository extends JpaRepository<Rating, Integer> {
     List<Rating> findByComment_User_Id(Integer sellerId);
 
-    void deleteAllByCommentUserId(Integer id);
+    @Modifying
+    @Query(value = "DELETE FROM ratings WHERE id IN (SELECT r.id FROM ratings r JOIN comments c ON c.id = r.comment_id " +
+            "WHERE c.user_id = :sellerId LIMIT :limit)", nativeQuery = true)
+    int deleteChunkBySellerId(@Param("sellerId") Integer sellerId, @Param("limit") int limit);
 
     void deleteAllByCommentId(Integer commentId);
 
     Rating findByCommentId(Integer commentId);
+
+    @Query("SELECT r.comment.id FROM Rating r WHERE r.comment.id IN :commentIds")
+    List<Integer> findRatedCommentIds(@Param("commentIds") Collection<Integer> commentIds);
+
+    @Query("SELECT r.comment.user.id AS sellerId, SUM(r.ratingValue) AS ratingSum, COUNT(r) AS ratingCount, " +
+            "MIN(r.ratingValue) AS minRating, MAX(r.ratingValue) AS maxRating " +
+            "FROM Rating r WHERE r.comment.user.id = :sellerId GROUP BY r.comment.user.id")
+    Optional<SellerRatingAggregate> aggregateBySellerId(@Param("sellerId") Integer sellerId);
 }
@@ -0,0 +1,81 @@
+package com.prjratingsystem.repository;
+
+import com.prjratingsystem.model.SellerRatingStats;
+import com.prjratingsystem.model.enums.Role;
+import com.prjratingsystem.repository.projection.SellerAverageRating;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SellerRatingStatsRepository extends JpaRepository<SellerRatingStats, Integer> {
+
+    /**
+     * Creates an empty aggregate for the seller unless one exists. A concurrent insert of the same seller makes this
+     * wait for the other transaction and then do nothing, instead of failing on the primary key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO seller_rating_stats (seller_id, rating_sum, rating_count) VALUES (:sellerId, 0, 0) " +
+            "ON CONFLICT (seller_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("sellerId") Integer sellerId);
+
+    /**
+     * Waits for every transaction that is changing an aggregate and keeps new ones from starting until this transaction
+     * ends. Plain reads are not blocked.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE seller_rating_stats IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockAll();
+
+    /**
+     * Recomputes every live seller's aggregate from the ratings table in one statement, and empties the aggregates of
+     * sellers that have no ratings left. Every changed aggregate gets a new version.
+     *
+     * @return The number of sellers with ratings
+     */
+    @Modifying
+    @Query(value = """
+            WITH aggregates AS (
+                SELECT c.user_id AS seller_id, SUM(r.rating_value) AS rating_sum, COUNT(*) AS rating_count,
+                       MIN(r.rating_value) AS min_rating, MAX(r.rating_value) AS max_rating
+                FROM ratings r
+                JOIN comments c ON c.id = r.comment_id
+                JOIN users u ON u.id = c.user_id
+                WHERE u.deleted_at IS NULL
+                GROUP BY c.user_id
+            ), emptied AS (
+                UPDATE seller_rating_stats s
+                SET rating_sum = 0, rating_count = 0, min_rating = NULL, max_rating = NULL, version = s.version + 1
+                WHERE s.rating_count > 0 AND NOT EXISTS (SELECT 1 FROM aggregates a WHERE a.seller_id = s.seller_id)
+            )
+            INSERT INTO seller_rating_stats (seller_id, rating_sum, rating_count, min_rating, max_rating)
+            SELECT seller_id, rating_sum, rating_count, min_rating, max_rating FROM aggregates
+            ON CONFLICT (seller_id) DO UPDATE SET rating_sum   = EXCLUDED.rating_sum,
+                                                  rating_count = EXCLUDED.rating_count,
+                                                  min_rating   = EXCLUDED.min_rating,
+                                                  max_rating   = EXCLUDED.max_rating,
+                                                  version      = seller_rating_stats.version + 1
+            """, nativeQuery = true)
+    int rebuildAll();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SellerRatingStats s WHERE s.sellerId = :sellerId")
+    Optional<SellerRatingStats> findBySellerIdForUpdate(@Param("sellerId") Integer sellerId);
+
+    @Query("SELECT s.sellerId AS sellerId, s.ratingSum AS ratingSum, s.ratingCount AS ratingCount " +
+            "FROM SellerRatingStats s WHERE s.sellerId IN :sellerIds")
+    List<SellerAverageRating> findAverageRatings(@Param("sellerIds") Collection<Integer> sellerIds);
+
+    /**
+     * Aggregates of the live users with the given role that have at least one rating.
+     */
+    @Query("SELECT s FROM SellerRatingStats s WHERE s.ratingCount > 0 " +
+            "AND EXISTS (SELECT 1 FROM User u WHERE u.id = s.sellerId AND u.role = :role)")
+    List<SellerRatingStats> findRatedByRole(@Param("role") Role role);
+}
@@ -1,14 +1,20 @@
 package com.prjratingsystem.repository;
 
+import com.prjratingsystem.dto.UserDTO;
 import com.prjratingsystem.model.enums.Role;
 import com.prjratingsystem.model.User;
+import com.prjratingsystem.repository.projection.UserTokenVersion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,15 +30,65 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     Page<User> findByRole(Role role, Pageable pageable);
 
-    @Query("SELECT DISTINCT u FROM User u " +
-            "LEFT JOIN GameObject g ON g.user.id = u.id " +
-            "WHERE u.role = 'SELLER' " +
-            "AND (:gameTitle IS NULL OR g.title = :gameTitle) " +
-            "AND (:minRating IS NULL OR :maxRating IS NULL OR " +
-            "(COALESCE((SELECT AVG(r.ratingValue) FROM Rating r WHERE r.comment.user.id = u.id), 0) BETWEEN :minRating AND :maxRating))")
-    List<User> findSellersByGameAndRating(@Param("gameTitle") String gameTitle,
-                                          @Param("minRating") Double minRating,
-                                          @Param("maxRating") Double maxRating);
+    @Query("SELECT new com.prjratingsystem.dto.UserDTO(u.id, u.firstName, u.lastName, u.email, u.role, u.approved) " +
+            "FROM User u WHERE u.id = :id")
+    Optional<UserDTO> findDTOById(@Param("id") Integer id);
 
+    @Query("SELECT new com.prjratingsystem.dto.UserDTO(u.id, u.firstName, u.lastName, u.email, u.role, u.approved) " +
+            "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserDTO> findDTOsAfter(@Param("afterId") Integer afterId, Limit limit);
 
-}
+    @Query("SELECT new com.prjratingsystem.dto.UserDTO(u.id, u.firstName, u.lastName, u.email, u.role, u.approved) " +
+            "FROM User u WHERE u.role = :role AND u.id > :afterId ORDER BY u.id")
+    List<UserDTO> findDTOsByRoleAfter(@Param("role") Role role, @Param("afterId") Integer afterId, Limit limit);
+
+    @Query("SELECT new com.prjratingsystem.dto.UserDTO(u.id, u.firstName, u.lastName, u.email, u.role, u.approved) " +
+            "FROM User u WHERE u.role = :role")
+    List<UserDTO> findDTOsByRole(@Param("role") Role role);
+
+    @Query("SELECT new com.prjratingsystem.dto.UserDTO(u.id, u.firstName, u.lastName, u.email, u.role, u.approved) " +
+            "FROM User u WHERE u.role = :role AND u.id IN :ids")
+    List<UserDTO> findDTOsByRoleAndIdIn(@Param("role") Role role, @Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT new com.prjratingsystem.dto.UserDTO(u.id, u.firstName, u.lastName, u.email, u.role, u.approved) " +
+            "FROM User u WHERE u.role = :role AND u.approved = false")
+    List<UserDTO> findPendingDTOsByRole(@Param("role") Role role);
+
+    boolean existsByIdAndRole(Integer id, Role role);
+
+    /**
+     * Users with the given role that have no ratings, in id order, skipping the first {@code offset}.
+     */
+    @Query("SELECT new com.prjratingsystem.dto.UserDTO(u.id, u.firstName, u.lastName, u.email, u.role, u.approved) " +
+            "FROM User u WHERE u.role = :role AND NOT EXISTS " +
+            "(SELECT 1 FROM SellerRatingStats s WHERE s.sellerId = u.id AND s.ratingCount > 0) " +
+            "ORDER BY u.id LIMIT :limit OFFSET :offset")
+    List<UserDTO> findUnratedDTOsByRole(@Param("role") Role role, @Param("offset") int offset, @Param("limit") int limit);
+
+    /**
+     * Token versions of users that have revoked tokens. Soft-deleted users are included, with every token revoked.
+     */
+    @Query(value = "SELECT id AS \"id\", CASE WHEN deleted_at IS NULL THEN token_version ELSE " + Integer.MAX_VALUE +
+            " END AS \"tokenVersion\" FROM users WHERE token_version > 0 OR deleted_at IS NOT NULL", nativeQuery = true)
+    List<UserTokenVersion> findRevokedTokenVersions();
+
+    /**
+     * Locks the soft-deleted user deleted longest ago that nobody has claimed since {@code claimedBefore}, skipping
+     * users another node is claiming right now. The lock does not block the key share locks taken by foreign key checks.
+     */
+    @Query(value = "SELECT id FROM users WHERE deleted_at IS NOT NULL " +
+            "AND (purge_started_at IS NULL OR purge_started_at < :claimedBefore) ORDER BY deleted_at LIMIT 1 " +
+            "FOR NO KEY UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Integer> lockNextDeleted(@Param("claimedBefore") LocalDateTime claimedBefore);
+
+    @Modifying
+    @Query(value = "UPDATE users SET purge_started_at = :now WHERE id = :id", nativeQuery = true)
+    int claimForPurge(@Param("id") Integer id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id = :id AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeDeleted(@Param("id") Integer id);
+
+    @Query(value = "SELECT COUNT(*) FROM users WHERE deleted_at IS NOT NULL", nativeQuery = true)
+    long countDeleted();
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.prjratingsystem.repository.projection;
+
+public interface CommentSellerEntry {
+    Integer getId();
+
+    Integer getSellerId();
+}
@@ -0,0 +1,9 @@
+package com.prjratingsystem.repository.projection;
+
+public interface GameObjectTitleEntry {
+    Integer getId();
+
+    Integer getUserId();
+
+    String getTitle();
+}
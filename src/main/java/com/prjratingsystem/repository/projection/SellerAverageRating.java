@@ -0,0 +1,13 @@
+package com.prjratingsystem.repository.projection;
+
+public interface SellerAverageRating {
+    Integer getSellerId();
+
+    Long getRatingSum();
+
+    Integer getRatingCount();
+
+    default double getAverageRating() {
+        return getRatingCount() == 0 ? 0.0 : (double) getRatingSum() / getRatingCount();
+    }
+}
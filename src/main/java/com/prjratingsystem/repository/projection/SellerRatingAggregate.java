@@ -0,0 +1,13 @@
+package com.prjratingsystem.repository.projection;
+
+public interface SellerRatingAggregate {
+    Integer getSellerId();
+
+    Long getRatingSum();
+
+    Long getRatingCount();
+
+    Integer getMinRating();
+
+    Integer getMaxRating();
+}
@@ -1,12 +1,18 @@
 package com.prjratingsystem.security;
 
-import com.prjratingsystem.service.impl.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,16 +20,31 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
+/**
+ * Authenticates requests carrying an access token.
+ * <p>
+ * Tokens whose version has been revoked are ignored in both modes. In {@link JwtProperties.Mode#STATELESS} the
+ * authentication is built from the role and approval claims; otherwise, and for tokens issued before those claims
+ * existed, the user is loaded through the {@link UserDetailsService}. Refresh tokens never authenticate a request.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+    private final boolean stateless;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                   TokenRevocationList revocationList, JwtProperties properties) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
+        this.stateless = properties.getMode() == JwtProperties.Mode.STATELESS;
     }
 
     @Override
@@ -42,20 +63,43 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             if (token != null && !token.isEmpty()) {
                 try {
-                    String email = jwtUtil.extractUsername(token);
-                    if (email != null && jwtUtil.validateToken(token)) {
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                        UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    Optional<UserDetails> userDetails = jwtUtil.parseVerifiedClaims(token)
+                            .filter(claims -> claims.getSubject() != null && !JwtUtil.isRefreshToken(claims) && !isRevoked(claims))
+                            .flatMap(this::loadUser);
+                    if (userDetails.isPresent()) {
+                        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                                userDetails.get(), null, userDetails.get().getAuthorities());
 
                         SecurityContextHolder.getContext().setAuthentication(authentication);
                     }
-                } catch (Exception e) {
-                    System.out.printf("Error processing token: %s%n", e.getMessage());
+                } catch (JwtException | AuthenticationException ex) {
+                    // a forged claim type or the token of a user who is gone: the request goes on unauthenticated
+                    log.debug("Ignoring access token: {}", ex.getMessage());
+                } catch (RuntimeException ex) {
+                    // the message may echo token content, so it only goes to the debug log
+                    log.warn("Could not authenticate access token: {}", ex.getClass().getName());
+                    log.debug("Access token authentication failed", ex);
                 }
             }
         }
 
         chain.doFilter(request, response);
     }
+
+    private boolean isRevoked(Claims claims) {
+        Integer userId = claims.get(JwtUtil.CLAIM_USER_ID, Integer.class);
+        Integer tokenVersion = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Integer.class);
+        return userId != null && tokenVersion != null && revocationList.isRevoked(userId, tokenVersion);
+    }
+
+    private Optional<UserDetails> loadUser(Claims claims) {
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        if (!stateless || role == null) {
+            return Optional.of(userDetailsService.loadUserByUsername(claims.getSubject()));
+        }
+        if (!Boolean.TRUE.equals(claims.get(JwtUtil.CLAIM_APPROVED, Boolean.class))) {
+            return Optional.empty();
+        }
+        return Optional.of(new User(claims.getSubject(), "", AuthorityUtils.createAuthorityList("ROLE_%s".formatted(role))));
+    }
 }
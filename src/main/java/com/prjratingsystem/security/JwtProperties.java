@@ -0,0 +1,30 @@
+package com.prjratingsystem.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Token lifetimes and how access tokens are turned into an authentication, bound from {@code security.jwt.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "security.jwt")
+public class JwtProperties {
+
+    /**
+     * Where the authorities of an authenticated request come from.
+     */
+    public enum Mode {
+        /** The user is loaded (through the near cache) on every request. */
+        LOOKUP,
+        /** Role and approval are read from the verified token; requests need no database access. */
+        STATELESS
+    }
+
+    private Mode mode = Mode.LOOKUP;
+
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
+
+    private Duration refreshTokenTtl = Duration.ofDays(7);
+}
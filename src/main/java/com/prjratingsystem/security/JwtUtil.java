@@ -1,51 +1,158 @@
 package com.prjratingsystem.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
+import com.prjratingsystem.model.User;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Issues and verifies the HS256 tokens used by the API.
+ * <p>
+ * The key and parser are built once. Verified claims are cached under the SHA-256 of the token until the token's own
+ * expiry, so a client repeating the same token skips the signature check and JSON parsing; the token itself is never
+ * kept in memory.
+ * <p>
+ * Access tokens carry the user id, role, approval state and token version, so that
+ * {@link JwtProperties.Mode#STATELESS} can authenticate a request from the claims alone. Refresh tokens only carry the
+ * id and version and are exchanged for new tokens after checking both against the database.
+ */
 @Component
 public class JwtUtil {
 
     private static final String SECRET_KEY = "mySuperSecretKeyForJWTThatIsVeryLongAndSecure";
-    private static final long EXPIRATION_TIME = 1000 * 60 * 60;
+    static final long VERIFIED_CACHE_SIZE = 10_000;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_APPROVED = "approved";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final String CLAIM_TYPE = "typ";
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    private final Cache<ByteBuffer, Claims> verifiedTokens;
+    private final JwtProperties properties;
+
+    @Autowired
+    public JwtUtil(JwtProperties properties) {
+        this(properties, VERIFIED_CACHE_SIZE);
     }
 
-    public String generateToken(String email) {
-        return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+    JwtUtil(JwtProperties properties, long verifiedCacheSize) {
+        this.properties = properties;
+        this.verifiedTokens = verifiedCacheSize == 0 ? null : Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    public String generateAccessToken(User user) {
+        return builder(user, TYPE_ACCESS, properties.getAccessTokenTtl())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_APPROVED, user.getApproved())
                 .compact();
     }
 
+    public String generateRefreshToken(User user) {
+        return builder(user, TYPE_REFRESH, properties.getRefreshTokenTtl()).compact();
+    }
+
+    public static boolean isRefreshToken(Claims claims) {
+        return TYPE_REFRESH.equals(claims.get(CLAIM_TYPE));
+    }
+
+    /**
+     * Verifies a token's signature and expiry and returns its claims, parsing it at most once while it stays cached.
+     *
+     * @param token The compact JWT
+     * @return The claims, or empty when the token is malformed, forged or expired
+     */
+    public Optional<Claims> parseVerifiedClaims(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+
+        ByteBuffer key = sha256(token);
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.getExpiration().getTime() > System.currentTimeMillis()) {
+            return Optional.of(cached);
+        }
+
+        Optional<Claims> claims = parse(token);
+        claims.filter(c -> c.getExpiration() != null).ifPresent(c -> verifiedTokens.put(key, c));
+        return claims;
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseVerifiedClaims(token).map(Claims::getSubject).orElse(null);
     }
 
     public boolean validateToken(String token) {
+        return parseVerifiedClaims(token).isPresent();
+    }
+
+    private JwtBuilder builder(User user, String type, Duration ttl) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
+                .claim(CLAIM_TYPE, type)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttl.toMillis()))
+                .signWith(signingKey, SignatureAlgorithm.HS256);
+    }
+
+    private Optional<Claims> parse(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            return Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claimsResolver.apply(claims);
+    private static ByteBuffer sha256(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static class UntilTokenExpiry implements Expiry<ByteBuffer, Claims> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,29 @@
+package com.prjratingsystem.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * BCrypt cost and the pool that runs it, bound from {@code security.password-hashing.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "security.password-hashing")
+public class PasswordHashingProperties {
+
+    /** BCrypt log rounds for new hashes. */
+    private int strength = 10;
+
+    /** Threads allowed to hash at the same time; the rest of the CPU stays with the request threads. */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** Operations allowed to wait for a thread before callers get a 503. */
+    private int queueCapacity = 32;
+
+    /** Longest a caller waits for its operation, queueing included. */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /** Rehash a user's password on login when it was stored with a lower strength. */
+    private boolean rehashOnLogin = true;
+}
@@ -0,0 +1,107 @@
+package com.prjratingsystem.security;
+
+import com.prjratingsystem.event.UserChangedEvent;
+import com.prjratingsystem.repository.UserRepository;
+import com.prjratingsystem.repository.projection.UserTokenVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The lowest token version still accepted per user, for the users whose tokens were ever revoked.
+ * <p>
+ * Users whose version is still 0 are not stored, so the map only grows with password resets, role changes and
+ * deletions. It is loaded from the users table at startup and kept current by {@link UserChangeBroadcaster}. Once a
+ * deleted user is purged their row is gone, so deletions are also kept in a Redis sorted set scored with the time the
+ * last access token issued before the deletion expires, and loaded from there as well.
+ */
+@Component
+public class TokenRevocationList {
+
+    static final String DELETED_USERS_KEY = "tokens:deleted-users";
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final JwtProperties jwtProperties;
+    private final Clock clock;
+    private final Map<Integer, Integer> minVersions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenRevocationList(UserRepository userRepository, RedisTemplate<String, String> redisTemplate,
+                               JwtProperties jwtProperties) {
+        this(userRepository, redisTemplate, jwtProperties, Clock.systemUTC());
+    }
+
+    TokenRevocationList(UserRepository userRepository, RedisTemplate<String, String> redisTemplate,
+                        JwtProperties jwtProperties, Clock clock) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.jwtProperties = jwtProperties;
+        this.clock = clock;
+    }
+
+    /**
+     * Tells whether a token issued for the given version has been revoked.
+     */
+    public boolean isRevoked(Integer userId, int tokenVersion) {
+        return tokenVersion < minVersions.getOrDefault(userId, 0);
+    }
+
+    /**
+     * Rejects every token of the user issued for a version below {@code minVersion}. Versions never go back down.
+     */
+    public void revoke(Integer userId, int minVersion) {
+        if (userId != null && minVersion > 0) {
+            minVersions.merge(userId, minVersion, Math::max);
+        }
+    }
+
+    /**
+     * Keeps the deletion of a user in Redis for as long as an access token issued before it can be valid, so nodes that
+     * start after the user is purged still reject their tokens.
+     */
+    public void recordDeleted(Integer userId) {
+        long now = clock.millis();
+        try {
+            redisTemplate.opsForZSet().add(DELETED_USERS_KEY, userId.toString(),
+                    now + jwtProperties.getAccessTokenTtl().toMillis());
+            redisTemplate.opsForZSet().removeRangeByScore(DELETED_USERS_KEY, Double.NEGATIVE_INFINITY, now);
+        } catch (DataAccessException ex) {
+            log.warn("Could not record the deletion of user {}: {}", userId, ex.getMessage());
+        }
+    }
+
+    public int size() {
+        return minVersions.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (UserTokenVersion entry : userRepository.findRevokedTokenVersions()) {
+            revoke(entry.getId(), entry.getTokenVersion());
+        }
+
+        try {
+            Set<String> deleted = redisTemplate.opsForZSet()
+                    .rangeByScore(DELETED_USERS_KEY, clock.millis(), Double.POSITIVE_INFINITY);
+            if (deleted != null) {
+                deleted.forEach(userId -> revoke(Integer.valueOf(userId), UserChangedEvent.DELETED));
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not load deleted users, tokens of purged users stay valid until they expire: {}",
+                    ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.prjratingsystem.security;
+
+import com.prjratingsystem.event.UserChangedEvent;
+import com.prjratingsystem.service.impl.UserDetailsServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies a {@link UserChangedEvent} to the authentication state of every node: the user is evicted from the
+ * {@link UserDetailsServiceImpl} cache and older tokens go on the {@link TokenRevocationList}.
+ * <p>
+ * The event is applied here once its transaction commits and relayed over Redis pub/sub as
+ * {@code userId:tokenVersion:email}. If Redis is down the other nodes catch up when their cache entries and the revoked
+ * access tokens expire.
+ */
+@Component
+public class UserChangeBroadcaster {
+
+    public static final String USER_CHANGED_CHANNEL = "users:changed";
+
+    private static final Logger log = LoggerFactory.getLogger(UserChangeBroadcaster.class);
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationList revocationList;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public UserChangeBroadcaster(UserDetailsServiceImpl userDetailsService, TokenRevocationList revocationList,
+                                 RedisTemplate<String, String> redisTemplate) {
+        this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        apply(event);
+        if (event.tokenVersion() == UserChangedEvent.DELETED && event.userId() != null) {
+            revocationList.recordDeleted(event.userId());
+        }
+        try {
+            redisTemplate.convertAndSend(USER_CHANGED_CHANNEL, encode(event));
+        } catch (DataAccessException ex) {
+            log.warn("Could not notify other nodes that {} changed: {}", event.email(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Applies a change relayed by another node.
+     */
+    public void receive(String message) {
+        String[] parts = message.split(":", 3);
+        if (parts.length != 3) {
+            log.warn("Ignoring malformed user change message: {}", message);
+            return;
+        }
+        Integer userId = parts[0].isEmpty() ? null : Integer.valueOf(parts[0]);
+        apply(new UserChangedEvent(userId, parts[2], Integer.parseInt(parts[1])));
+    }
+
+    static String encode(UserChangedEvent event) {
+        return "%s:%d:%s".formatted(event.userId() == null ? "" : event.userId(), event.tokenVersion(), event.email());
+    }
+
+    private void apply(UserChangedEvent event) {
+        userDetailsService.evict(event.email());
+        revocationList.revoke(event.userId(), event.tokenVersion());
+    }
+}
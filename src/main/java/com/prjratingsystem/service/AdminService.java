@@ -1,6 +1,10 @@
 package com.prjratingsystem.service;
 
 import com.prjratingsystem.dto.CommentDTO;
+import com.prjratingsystem.dto.CommentReviewDTO;
+import com.prjratingsystem.dto.CommentReviewResultDTO;
+import com.prjratingsystem.dto.CursorPage;
+import com.prjratingsystem.dto.PurgeStatusDTO;
 import com.prjratingsystem.dto.UserDTO;
 
 import java.util.List;
@@ -22,7 +26,8 @@ public interface AdminService {
     void approveSeller(Integer sellerId);
 
     /**
-     * Declines a seller based on the provided seller ID.
+     * Declines a seller based on the provided seller ID. The seller and their game objects are marked as deleted; their
+     * comments, ratings and the rows themselves are removed later by the purge worker.
      *
      * @param sellerId The unique identifier of the seller to decline
      */
@@ -38,9 +43,34 @@ public interface AdminService {
     void reviewComment(Integer commentId, boolean approved, Integer ratingValue);
 
     /**
-     * Retrieves a list of comments pending approval.
+     * Reviews many comments at once. The reviews are applied in chunks, each in its own transaction, with set-based
+     * updates and batched rating inserts. Invalid or unknown items are reported without affecting the others.
      *
-     * @return List of CommentDTO objects representing the pending comments
+     * @param reviews The comment ID, approval status and rating value of each review
+     * @return One result per review, in request order
      */
-    List<CommentDTO> getPendingComments();
+    List<CommentReviewResultDTO> reviewComments(List<CommentReviewDTO> reviews);
+
+    /**
+     * Retrieves a page of the moderation queue: comments pending approval, oldest first.
+     *
+     * @param cursor The continuation token of the previous page, or null for the first page
+     * @param limit  The maximum number of comments to return
+     * @return A page of CommentDTO objects representing the pending comments and the token for the next page
+     */
+    CursorPage<CommentDTO> getPendingComments(String cursor, int limit);
+
+    /**
+     * Counts the comments pending approval.
+     *
+     * @return The size of the moderation queue
+     */
+    long countPendingComments();
+
+    /**
+     * Reports the progress of the purge worker and how many deleted users and game objects are still waiting for it.
+     *
+     * @return The purge status
+     */
+    PurgeStatusDTO getPurgeStatus();
 }
\ No newline at end of file
@@ -10,10 +10,19 @@ public interface AuthService {
     /**
      * Authenticates a user based on the provided login request.
      *
-     * @param request a map containing login credentials (e.g., username and password)
-     * @return a ResponseEntity containing the authentication result
+     * @param request  a map containing login credentials (e.g., username and password)
+     * @param clientIp the address the attempt came from, used to throttle repeated failures
+     * @return a ResponseEntity containing the authentication result, or 429 while failed attempts are backing off
      */
-    ResponseEntity<?> login(Map<String, String> request);
+    ResponseEntity<?> login(Map<String, String> request, String clientIp);
+
+    /**
+     * Exchanges a refresh token for a new access token and refresh token.
+     *
+     * @param request a map containing the refresh token
+     * @return a ResponseEntity containing the new tokens, or 401 when the refresh token is invalid or revoked
+     */
+    ResponseEntity<?> refresh(Map<String, String> request);
 
     /**
      * Registers a new user in the system.
@@ -2,9 +2,11 @@ package com.prjratingsystem.service;
 
 import com.prjratingsystem.dto.CommentDTO;
 import com.prjratingsystem.dto.CommentWithSellerRequestDTO;
+import com.prjratingsystem.dto.CursorPage;
 import com.prjratingsystem.exception.UserAlreadyExistsException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CommentService {
 
@@ -28,12 +30,31 @@ public interface CommentService {
 
 
     /**
-     * Retrieves all comments for a specific seller.
+     * Retrieves a page of the comments for a specific seller, in ID order.
      *
      * @param sellerId The ID of the seller
-     * @return List of comments for the seller
+     * @param cursor   The continuation token of the previous page, or null for the first page
+     * @param limit    The maximum number of comments to return
+     * @return A page of comments for the seller and the token for the next page
      */
-    List<CommentDTO> getCommentsBySellerId(Integer sellerId);
+    CursorPage<CommentDTO> getCommentsBySellerId(Integer sellerId, String cursor, int limit);
+
+    /**
+     * Checks that a seller exists, so that an export can be refused before its response starts streaming.
+     *
+     * @param sellerId The ID of the seller
+     * @throws com.prjratingsystem.exception.UserNotFoundException if there is no such seller
+     */
+    void checkSellerExists(Integer sellerId);
+
+    /**
+     * Streams all comments for a specific seller, in ID order, to a consumer without holding them in memory. Nothing is
+     * streamed for an unknown seller; use {@link #checkSellerExists} first to tell that case apart.
+     *
+     * @param sellerId The ID of the seller
+     * @param consumer Receives each comment as it is read
+     */
+    void exportCommentsBySellerId(Integer sellerId, Consumer<CommentDTO> consumer);
 
     /**
      * Retrieves a specific comment by its ID.
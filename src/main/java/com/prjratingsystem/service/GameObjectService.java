@@ -1,8 +1,11 @@
 package com.prjratingsystem.service;
 
+import com.prjratingsystem.dto.CursorPage;
 import com.prjratingsystem.dto.GameObjectDTO;
+import com.prjratingsystem.dto.TitleSuggestionDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface GameObjectService {
 
@@ -23,11 +26,21 @@ public interface GameObjectService {
     GameObjectDTO getGameObjectById(Integer id);
 
     /**
-     * Retrieves all GameObjects.
+     * Retrieves a page of GameObjects in ID order.
      *
-     * @return A list of GameObjectDTOs.
+     * @param cursor The continuation token of the previous page, or null for the first page.
+     * @param limit  The maximum number of GameObjects to return.
+     * @return A page of GameObjectDTOs and the token for the next page.
      */
-    List<GameObjectDTO> getAllGameObjects();
+    CursorPage<GameObjectDTO> getAllGameObjects(String cursor, int limit);
+
+    /**
+     * Streams every GameObject, in ID order, to a consumer. Rows are read through a database cursor and handed over
+     * one at a time, so the catalog is never held in memory.
+     *
+     * @param consumer Receives each GameObjectDTO as it is read.
+     */
+    void exportGameObjects(Consumer<GameObjectDTO> consumer);
 
     /**
      * Updates an existing GameObject.
@@ -46,10 +59,30 @@ public interface GameObjectService {
     void deleteGameObject(Integer id);
 
     /**
-     * Retrieves all GameObjects associated with a specific user.
+     * Retrieves a page of the GameObjects associated with a specific user, in ID order.
      *
      * @param userId The ID of the user.
-     * @return A list of GameObjectDTOs associated with the user.
+     * @param cursor The continuation token of the previous page, or null for the first page.
+     * @param limit  The maximum number of GameObjects to return.
+     * @return A page of GameObjectDTOs associated with the user and the token for the next page.
+     */
+    CursorPage<GameObjectDTO> getGameObjectsByUserId(Integer userId, String cursor, int limit);
+
+    /**
+     * Searches GameObject titles and texts.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of results.
+     * @return The matching GameObjectDTOs, best match first.
+     */
+    List<GameObjectDTO> searchGameObjects(String query, int limit);
+
+    /**
+     * Suggests distinct GameObject titles starting with a prefix.
+     *
+     * @param prefix The typed prefix, matched case-insensitively.
+     * @param limit  The maximum number of suggestions.
+     * @return Suggestions ordered by the number of sellers listing each title.
      */
-    List<GameObjectDTO> getGameObjectsByUserId(Integer userId);
+    List<TitleSuggestionDTO> suggestTitles(String prefix, int limit);
 }
\ No newline at end of file
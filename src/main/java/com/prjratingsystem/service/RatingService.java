@@ -2,9 +2,53 @@ package com.prjratingsystem.service;
 
 import com.prjratingsystem.dto.RatingDTO;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 public interface RatingService {
 
     RatingDTO createRating(RatingDTO ratingDTO);
 
+    /**
+     * Inserts ratings for many comments with batched inserts and updates each affected seller's aggregate once.
+     * Comments that already have a rating are skipped.
+     *
+     * @param ratingsBySellerId The new ratings, grouped by the seller the rated comment belongs to
+     * @return The IDs of the comments that received a rating
+     */
+    Set<Integer> createRatings(Map<Integer, List<RatingDTO>> ratingsBySellerId);
+
     Double calculateSellerRating(Integer sellerId);
-}
\ No newline at end of file
+
+    /**
+     * Resolves the average rating of many sellers with a single query.
+     *
+     * @param sellerIds The IDs of the sellers
+     * @return A map from every requested seller ID to its average rating, 0.0 for sellers without ratings
+     */
+    Map<Integer, Double> calculateSellerRatings(Collection<Integer> sellerIds);
+
+    /**
+     * Deletes the rating attached to a comment, if any, and removes it from the seller's aggregate.
+     *
+     * @param commentId The ID of the comment whose rating should be removed
+     */
+    void deleteRatingByCommentId(Integer commentId);
+
+    /**
+     * Drops a seller's rating aggregate, which takes the seller off the leaderboard and out of the rating filter. The
+     * ratings themselves are removed when the deleted seller is purged.
+     *
+     * @param sellerId The ID of the seller
+     */
+    void clearSellerRatingStats(Integer sellerId);
+
+    /**
+     * Recomputes all seller rating aggregates from the ratings table.
+     *
+     * @return The number of sellers with at least one rating
+     */
+    int rebuildSellerRatingStats();
+}
@@ -1,5 +1,6 @@
 package com.prjratingsystem.service;
 
+import com.prjratingsystem.dto.CursorPage;
 import com.prjratingsystem.dto.UserDTO;
 import com.prjratingsystem.dto.UserRegistrationDTO;
 import com.prjratingsystem.exception.EmailAlreadyExistsException;
@@ -22,11 +23,13 @@ public interface UserService {
     UserDTO findUserById(Integer id);
 
     /**
-     * Retrieves all users registered in the system.
+     * Retrieves a page of the users registered in the system, in ID order.
      *
-     * @return List of UserDTO objects containing all users' information
+     * @param cursor The continuation token of the previous page, or null for the first page
+     * @param limit  The maximum number of users to return
+     * @return A page of UserDTO objects and the token for the next page
      */
-    List<UserDTO> findAllUsers();
+    CursorPage<UserDTO> findAllUsers(String cursor, int limit);
 
     /**
      * Updates an existing user's information.
@@ -40,7 +43,8 @@ public interface UserService {
     UserDTO updateUser(Integer id, UserRegistrationDTO userRegistrationDTO);
 
     /**
-     * Deletes a user from the system.
+     * Deletes a user from the system. The user and their game objects are marked as deleted and disappear from every
+     * query at once; their comments, ratings and the rows themselves are removed later by the purge worker.
      *
      * @param id The unique identifier of the user to delete
      * @throws UserNotFoundException if no user exists with the given id
@@ -48,12 +52,14 @@ public interface UserService {
     void deleteUser(Integer id);
 
     /**
-     * Finds all users with a specific role.
+     * Finds a page of the users with a specific role, in ID order.
      *
-     * @param role The role to filter users by (e.g., "ADMIN", "SELLER")
-     * @return List of UserDTO objects containing information of users with the specified role
+     * @param role   The role to filter users by (e.g., "ADMIN", "SELLER")
+     * @param cursor The continuation token of the previous page, or null for the first page
+     * @param limit  The maximum number of users to return
+     * @return A page of UserDTO objects with the specified role and the token for the next page
      */
-    List<UserDTO> findUsersByRole(String role);
+    CursorPage<UserDTO> findUsersByRole(String role, String cursor, int limit);
 
     /**
      * Checks if a user with the given email already exists in the system.
@@ -81,7 +87,7 @@ public interface UserService {
 
 
     /**
-     * Retrieves the top sellers based on a pageable request.
+     * Retrieves a page of the global seller ranking, highest average rating first.
      *
      * @param pageable The pagination information
      * @return List of UserDTO objects representing the top sellers
@@ -1,47 +1,72 @@
 package com.prjratingsystem.service.impl;
 
 import com.prjratingsystem.dto.CommentDTO;
+import com.prjratingsystem.dto.CommentReviewDTO;
+import com.prjratingsystem.dto.CommentReviewResultDTO;
+import com.prjratingsystem.dto.CursorPage;
+import com.prjratingsystem.dto.PurgeStatusDTO;
 import com.prjratingsystem.dto.RatingDTO;
 import com.prjratingsystem.dto.UserDTO;
+import com.prjratingsystem.event.UserChangedEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
 import com.prjratingsystem.exception.CommentNotFoundException;
 import com.prjratingsystem.exception.UserNotFoundException;
 import com.prjratingsystem.model.Comment;
 import com.prjratingsystem.model.enums.Role;
 import com.prjratingsystem.model.User;
+import com.prjratingsystem.purge.UserPurgeWorker;
 import com.prjratingsystem.repository.CommentRepository;
+import com.prjratingsystem.repository.GameObjectRepository;
 import com.prjratingsystem.repository.UserRepository;
+import com.prjratingsystem.repository.projection.CommentSellerEntry;
 import com.prjratingsystem.service.AdminService;
 import com.prjratingsystem.service.RatingService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class AdminServiceImpl implements AdminService {
 
+    static final int REVIEW_CHUNK_SIZE = 500;
+
     private final RatingService ratingService;
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
+    private final GameObjectRepository gameObjectRepository;
+    private final UserPurgeWorker userPurgeWorker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    public AdminServiceImpl(UserRepository userRepository, RatingService ratingService, CommentRepository commentRepository) {
+    public AdminServiceImpl(UserRepository userRepository, RatingService ratingService, CommentRepository commentRepository, GameObjectRepository gameObjectRepository, UserPurgeWorker userPurgeWorker, ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.ratingService = ratingService;
         this.commentRepository = commentRepository;
+        this.gameObjectRepository = gameObjectRepository;
+        this.userPurgeWorker = userPurgeWorker;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getPendingSellers() {
-        List<User> pendingSellers = userRepository.findByApprovedFalseAndRole(Role.SELLER);
-
-        return pendingSellers.stream()
-                .map(user -> {
-                    UserDTO dto = mapToUserDTO(user);
-                    dto.setAverageRating(ratingService.calculateSellerRating(user.getId()));
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        List<UserDTO> pendingSellers = userRepository.findPendingDTOsByRole(Role.SELLER);
+        Map<Integer, Double> averageRatings = ratingService.calculateSellerRatings(
+                pendingSellers.stream().map(UserDTO::getId).toList());
+
+        pendingSellers.forEach(seller -> seller.setAverageRating(averageRatings.get(seller.getId())));
+        return pendingSellers;
     }
 
     @Override
@@ -52,6 +77,7 @@ public class AdminServiceImpl implements AdminService {
 
         seller.setApproved(true);
         userRepository.save(seller);
+        eventPublisher.publishEvent(new UserChangedEvent(sellerId, seller.getEmail(), seller.getTokenVersion()));
     }
 
     @Override
@@ -59,25 +85,39 @@ public class AdminServiceImpl implements AdminService {
     public void declineSeller(Integer sellerId) {
         User seller = userRepository.findById(sellerId)
                 .orElseThrow(() -> new UserNotFoundException("Seller not found with ID: %d".formatted(sellerId)));
-        userRepository.delete(seller);
+        String email = seller.getEmail();
+        seller.markDeleted(LocalDateTime.now());
+        gameObjectRepository.markDeletedByUserId(sellerId, seller.getDeletedAt());
+        ratingService.clearSellerRatingStats(sellerId);
+
+        eventPublisher.publishEvent(new UserDeletedEvent(sellerId));
+        eventPublisher.publishEvent(UserChangedEvent.deleted(sellerId, email));
+    }
+
+    @Override
+    public PurgeStatusDTO getPurgeStatus() {
+        return userPurgeWorker.status();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDTO> getPendingComments(String cursor, int limit) {
+        List<CommentDTO> pendingComments = commentRepository.findPendingDTOsAfter(
+                CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(limit)));
+
+        return CursorPage.of(pendingComments, limit, CommentDTO::getId);
     }
 
     @Override
-    public List<CommentDTO> getPendingComments() {
-        List<Comment> pendingComments = commentRepository.findByApprovedFalse();
-
-        return pendingComments.stream()
-                .map(comment -> {
-                    CommentDTO dto = mapToCommentDTO(comment);
-                    dto.setSellerId(comment.getUser().getId());
-                    return dto;
-                })
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public long countPendingComments() {
+        return commentRepository.countPending();
     }
 
     @Override
     public void reviewComment(Integer commentId, boolean approved, Integer ratingValue) {
         Comment comment = commentRepository.findById(commentId)
+                .filter(c -> userRepository.existsById(c.getUser().getId()))
                 .orElseThrow(() -> new CommentNotFoundException("Comment not found with ID: %d".formatted(commentId)));
 
         comment.setApproved(approved);
@@ -94,23 +134,83 @@ public class AdminServiceImpl implements AdminService {
         }
     }
 
-    private UserDTO mapToUserDTO(User user) {
-        UserDTO dto = new UserDTO();
-        dto.setId(user.getId());
-        dto.setFirstName(user.getFirstName());
-        dto.setLastName(user.getLastName());
-        dto.setEmail(user.getEmail());
-        dto.setRole(user.getRole());
-        dto.setApproved(user.getApproved());
-        return dto;
+    @Override
+    public List<CommentReviewResultDTO> reviewComments(List<CommentReviewDTO> reviews) {
+        List<CommentReviewResultDTO> results = new ArrayList<>(reviews.size());
+        Map<Integer, CommentReviewResultDTO> pendingResults = new HashMap<>();
+        List<CommentReviewDTO> validReviews = new ArrayList<>();
+
+        for (CommentReviewDTO review : reviews) {
+            CommentReviewResultDTO result = new CommentReviewResultDTO(review.getCommentId(), null, null);
+            results.add(result);
+
+            if (review.getCommentId() == null) {
+                reject(result, "Comment ID must be provided.");
+            } else if (pendingResults.containsKey(review.getCommentId())) {
+                reject(result, "Comment is reviewed more than once in this request.");
+            } else if (review.isApproved() && review.getRatingValue() == null) {
+                reject(result, "Rating value must be provided when approving a comment.");
+            } else {
+                pendingResults.put(review.getCommentId(), result);
+                validReviews.add(review);
+            }
+        }
+
+        for (int from = 0; from < validReviews.size(); from += REVIEW_CHUNK_SIZE) {
+            List<CommentReviewDTO> chunk = validReviews.subList(from, Math.min(from + REVIEW_CHUNK_SIZE, validReviews.size()));
+            transactionTemplate.executeWithoutResult(status -> applyReviews(chunk, pendingResults));
+        }
+        return results;
+    }
+
+    private void applyReviews(List<CommentReviewDTO> reviews, Map<Integer, CommentReviewResultDTO> results) {
+        Map<Integer, Integer> sellerIdsByCommentId = new HashMap<>();
+        for (CommentSellerEntry entry : commentRepository.findSellerEntries(
+                reviews.stream().map(CommentReviewDTO::getCommentId).toList())) {
+            sellerIdsByCommentId.put(entry.getId(), entry.getSellerId());
+        }
+
+        List<Integer> approvedIds = new ArrayList<>();
+        List<Integer> rejectedIds = new ArrayList<>();
+        Map<Integer, List<RatingDTO>> ratingsBySellerId = new HashMap<>();
+        for (CommentReviewDTO review : reviews) {
+            Integer commentId = review.getCommentId();
+            CommentReviewResultDTO result = results.get(commentId);
+            Integer sellerId = sellerIdsByCommentId.get(commentId);
+            if (sellerId == null) {
+                result.setStatus(CommentReviewResultDTO.Status.NOT_FOUND);
+                result.setMessage("Comment not found with ID: %d".formatted(commentId));
+            } else if (review.isApproved()) {
+                result.setStatus(CommentReviewResultDTO.Status.APPROVED);
+                approvedIds.add(commentId);
+
+                RatingDTO ratingDTO = new RatingDTO();
+                ratingDTO.setCommentId(commentId);
+                ratingDTO.setRatingValue(review.getRatingValue());
+                ratingsBySellerId.computeIfAbsent(sellerId, id -> new ArrayList<>()).add(ratingDTO);
+            } else {
+                result.setStatus(CommentReviewResultDTO.Status.REJECTED);
+                rejectedIds.add(commentId);
+            }
+        }
+
+        if (!approvedIds.isEmpty()) {
+            commentRepository.updateApproved(approvedIds, true);
+        }
+        if (!rejectedIds.isEmpty()) {
+            commentRepository.updateApproved(rejectedIds, false);
+        }
+
+        Set<Integer> ratedIds = ratingService.createRatings(ratingsBySellerId);
+        for (Integer commentId : approvedIds) {
+            if (!ratedIds.contains(commentId)) {
+                results.get(commentId).setMessage("Comment was already rated; the existing rating was kept.");
+            }
+        }
     }
 
-    private CommentDTO mapToCommentDTO(Comment comment) {
-        CommentDTO dto = new CommentDTO();
-        dto.setId(comment.getId());
-        dto.setMessage(comment.getMessage());
-        dto.setCreatedAt(comment.getCreatedAt());
-        dto.setApproved(comment.getApproved());
-        return dto;
+    private void reject(CommentReviewResultDTO result, String message) {
+        result.setStatus(CommentReviewResultDTO.Status.INVALID);
+        result.setMessage(message);
     }
-}
\ No newline at end of file
+}
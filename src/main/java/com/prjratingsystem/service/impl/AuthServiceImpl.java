@@ -2,15 +2,20 @@ package com.prjratingsystem.service.impl;
 
 import com.prjratingsystem.model.User;
 import com.prjratingsystem.model.enums.Role;
+import com.prjratingsystem.ratelimit.LoginThrottle;
 import com.prjratingsystem.repository.UserRepository;
 import com.prjratingsystem.security.JwtUtil;
+import com.prjratingsystem.security.PasswordHashingProperties;
 import com.prjratingsystem.service.AuthService;
 import com.prjratingsystem.service.EmailService;
 import com.prjratingsystem.service.PasswordResetService;
 import com.prjratingsystem.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -29,10 +34,14 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final RedisTemplate<String, String> redisTemplate;
+    private final PasswordHashingProperties passwordHashingProperties;
+    private final LoginThrottle loginThrottle;
 
     @Autowired
     public AuthServiceImpl(UserRepository userRepository, UserService userService, EmailService emailService,
-                           PasswordResetService passwordResetService, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, RedisTemplate<String, String> redisTemplate) {
+                           PasswordResetService passwordResetService, PasswordEncoder passwordEncoder, JwtUtil jwtUtil,
+                           RedisTemplate<String, String> redisTemplate, PasswordHashingProperties passwordHashingProperties,
+                           LoginThrottle loginThrottle) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.emailService = emailService;
@@ -40,15 +49,25 @@ public class AuthServiceImpl implements AuthService {
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.redisTemplate = redisTemplate;
+        this.passwordHashingProperties = passwordHashingProperties;
+        this.loginThrottle = loginThrottle;
     }
 
     @Override
-    public ResponseEntity<?> login(Map<String, String> request) {
+    public ResponseEntity<?> login(Map<String, String> request, String clientIp) {
         String email = request.get("email");
         String password = request.get("password");
 
+        Duration wait = loginThrottle.acquire(email, clientIp);
+        if (!wait.isZero()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (wait.toMillis() + 999) / 1000)))
+                    .body(Map.of("error", "Too many failed login attempts, try again later"));
+        }
+
         User user = userRepository.findByEmail(email).orElse(null);
 
+        // the attempt stays counted as a failure unless it gets past both checks
         if (user == null || !passwordEncoder.matches(password, user.getPassword())) {
             return ResponseEntity.badRequest().body(Map.of("error", "Invalid credentials"));
         }
@@ -56,10 +75,34 @@ public class AuthServiceImpl implements AuthService {
         if (!user.getApproved()) {
             return ResponseEntity.badRequest().body(Map.of("error", "Your account is not approved"));
         }
+        loginThrottle.recordSuccess(email, clientIp);
 
-        String token = jwtUtil.generateToken(email);
+        if (passwordHashingProperties.isRehashOnLogin() && passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(password));
+            userRepository.save(user);
+        }
 
-        return ResponseEntity.ok(Map.of("token", token));
+        return ResponseEntity.ok(issueTokens(user));
+    }
+
+    @Override
+    public ResponseEntity<?> refresh(Map<String, String> request) {
+        Claims claims = jwtUtil.parseVerifiedClaims(request.get("refreshToken"))
+                .filter(JwtUtil::isRefreshToken)
+                .orElse(null);
+        if (claims == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid refresh token"));
+        }
+
+        Integer userId = claims.get(JwtUtil.CLAIM_USER_ID, Integer.class);
+        Integer tokenVersion = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Integer.class);
+        User user = userId == null ? null : userRepository.findById(userId).orElse(null);
+
+        if (user == null || !user.getApproved() || !user.getTokenVersion().equals(tokenVersion)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Refresh token has been revoked"));
+        }
+
+        return ResponseEntity.ok(issueTokens(user));
     }
 
     @Transactional
@@ -121,4 +164,8 @@ public class AuthServiceImpl implements AuthService {
             return ResponseEntity.badRequest().body(Map.of("error", "Invalid or expired reset code"));
         }
     }
-}
\ No newline at end of file
+
+    private Map<String, String> issueTokens(User user) {
+        return Map.of("token", jwtUtil.generateAccessToken(user), "refreshToken", jwtUtil.generateRefreshToken(user));
+    }
+}
@@ -2,39 +2,56 @@ package com.prjratingsystem.service.impl;
 
 import com.prjratingsystem.dto.CommentDTO;
 import com.prjratingsystem.dto.CommentWithSellerRequestDTO;
+import com.prjratingsystem.dto.CursorPage;
+import com.prjratingsystem.event.CommentCreatedEvent;
+import com.prjratingsystem.event.CommentDeletedEvent;
 import com.prjratingsystem.exception.CommentNotFoundException;
 import com.prjratingsystem.exception.UserAlreadyExistsException;
 import com.prjratingsystem.exception.UserNotFoundException;
+import com.prjratingsystem.index.CommentFingerprintIndex;
 import com.prjratingsystem.model.Comment;
 import com.prjratingsystem.model.enums.Role;
 import com.prjratingsystem.model.User;
 import com.prjratingsystem.repository.CommentRepository;
-import com.prjratingsystem.repository.RatingRepository;
 import com.prjratingsystem.repository.UserRepository;
 import com.prjratingsystem.service.CommentService;
-import jakarta.transaction.Transactional;
+import com.prjratingsystem.service.RatingService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class CommentServiceImpl implements CommentService {
 
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
-    private final RatingRepository ratingRepository;
+    private final RatingService ratingService;
+    private final CommentFingerprintIndex commentFingerprintIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CommentServiceImpl(CommentRepository commentRepository, UserRepository userRepository, RatingRepository ratingRepository) {
+    public CommentServiceImpl(CommentRepository commentRepository, UserRepository userRepository, RatingService ratingService, CommentFingerprintIndex commentFingerprintIndex, ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.userRepository = userRepository;
-        this.ratingRepository = ratingRepository;
+        this.ratingService = ratingService;
+        this.commentFingerprintIndex = commentFingerprintIndex;
+        this.eventPublisher = eventPublisher;
     }
 
 
     @Override
     @Transactional
     public CommentDTO createComment(Integer sellerId, CommentDTO commentDTO) {
+        Optional<CommentDTO> mergedInto = screen(sellerId, commentDTO.getMessage());
+        if (mergedInto.isPresent()) {
+            return mergedInto.get();
+        }
+
         User seller = userRepository.findById(sellerId).orElseThrow(() -> new UserNotFoundException("Seller not found with ID: %d".formatted(sellerId)));
 
         Comment comment = new Comment();
@@ -43,13 +60,20 @@ public class CommentServiceImpl implements CommentService {
         comment.setApproved(false);
 
         Comment savedComment = commentRepository.save(comment);
-        return mapToCommentDTO(savedComment);
+        CommentDTO savedCommentDTO = mapToCommentDTO(savedComment);
+        eventPublisher.publishEvent(new CommentCreatedEvent(savedCommentDTO));
+        return savedCommentDTO;
     }
 
     @Override
     @Transactional
     public CommentDTO createCommentWithSellerRequest(CommentWithSellerRequestDTO requestDTO)
             throws UserAlreadyExistsException {
+        Optional<CommentDTO> mergedInto = screen(null, requestDTO.getMessage());
+        if (mergedInto.isPresent()) {
+            return mergedInto.get();
+        }
+
         if (userRepository.existsByEmail(requestDTO.getSellerEmail())) {
             throw new UserAlreadyExistsException("User with this email already exists.");
         }
@@ -69,25 +93,45 @@ public class CommentServiceImpl implements CommentService {
         comment.setApproved(false);
 
         Comment savedComment = commentRepository.save(comment);
-        return mapToCommentDTO(savedComment);
+        CommentDTO savedCommentDTO = mapToCommentDTO(savedComment);
+        eventPublisher.publishEvent(new CommentCreatedEvent(savedCommentDTO));
+        return savedCommentDTO;
     }
 
 
     @Override
-    public List<CommentDTO> getCommentsBySellerId(Integer sellerId) {
-        userRepository.findById(sellerId).orElseThrow(() -> new UserNotFoundException("Seller not found with ID: %d".formatted(sellerId)));
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDTO> getCommentsBySellerId(Integer sellerId, String cursor, int limit) {
+        if (!userRepository.existsById(sellerId)) {
+            throw new UserNotFoundException("Seller not found with ID: %d".formatted(sellerId));
+        }
+
+        List<CommentDTO> comments = commentRepository.findDTOsByUserIdAfter(
+                sellerId, CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(limit)));
+        return CursorPage.of(comments, limit, CommentDTO::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void checkSellerExists(Integer sellerId) {
+        if (!userRepository.existsById(sellerId)) {
+            throw new UserNotFoundException("Seller not found with ID: %d".formatted(sellerId));
+        }
+    }
 
-        return commentRepository.findByUserId(sellerId).stream()
-                .map(this::mapToCommentDTO)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCommentsBySellerId(Integer sellerId, Consumer<CommentDTO> consumer) {
+        try (Stream<CommentDTO> comments = commentRepository.streamAsDTOsByUserId(sellerId)) {
+            comments.forEach(consumer);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CommentDTO getCommentById(Integer commentId) {
-        Comment comment = commentRepository.findById(commentId)
+        return commentRepository.findDTOById(commentId)
                 .orElseThrow(() -> new CommentNotFoundException("Comment not found with ID: %d".formatted(commentId)));
-
-        return mapToCommentDTO(comment);
     }
 
     @Override
@@ -108,8 +152,9 @@ public class CommentServiceImpl implements CommentService {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new CommentNotFoundException("Comment not found with ID: %d".formatted(commentId)));
 
-        ratingRepository.deleteAllByCommentId(commentId);
+        ratingService.deleteRatingByCommentId(commentId);
         commentRepository.delete(comment);
+        eventPublisher.publishEvent(new CommentDeletedEvent(commentId));
     }
 
     @Override
@@ -124,6 +169,13 @@ public class CommentServiceImpl implements CommentService {
     }
 
 
+    /**
+     * Returns the earlier comment the message is merged into, or empty when it is to be stored as a new comment.
+     */
+    private Optional<CommentDTO> screen(Integer sellerId, String message) {
+        return commentFingerprintIndex.screen(sellerId, message).flatMap(commentRepository::findDTOById);
+    }
+
     private CommentDTO mapToCommentDTO(Comment comment) {
         CommentDTO commentDTO = new CommentDTO();
         commentDTO.setId(comment.getId());
@@ -1,5 +1,8 @@
 package com.prjratingsystem.service.impl;
 
+import com.prjratingsystem.mail.EmailOutboxProperties;
+import com.prjratingsystem.model.EmailOutboxMessage;
+import com.prjratingsystem.repository.EmailOutboxRepository;
 import com.prjratingsystem.service.EmailService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,53 +10,63 @@ import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
+/**
+ * Composes the application's emails and queues them in the outbox, inside the caller's transaction when there is one.
+ * They are sent by {@link com.prjratingsystem.mail.EmailOutboxDispatcher}, so no request waits for the SMTP server.
+ * With the outbox disabled they are sent right away.
+ */
 @Service
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailOutboxProperties outboxProperties;
 
     @Value("${spring.mail.username}")
     private String fromEmail;
 
     @Autowired
-    public EmailServiceImpl(JavaMailSender mailSender) {
+    public EmailServiceImpl(JavaMailSender mailSender, EmailOutboxRepository outboxRepository,
+                            EmailOutboxProperties outboxProperties) {
         this.mailSender = mailSender;
+        this.outboxRepository = outboxRepository;
+        this.outboxProperties = outboxProperties;
     }
 
     @Override
     public void sendSellerApprovedEmail(String to) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(to);
-        message.setSubject("Seller Account Approved");
-        message.setText("Your seller account has been approved.");
-
-        mailSender.send(message);
+        send(to, "Seller Account Approved", "Your seller account has been approved.");
     }
 
 
     @Override
     public void sendSellerRegistrationEmail(String to, String confirmationCode) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(to);
-        message.setSubject("Confirm Your Seller Registration");
-
         String confirmationLink = "http://localhost:8080/api/auth/confirm?code=%s".formatted(confirmationCode);
 
-        message.setText("Please click the following link to confirm your registration:\n\n%s".formatted(confirmationLink));
-
-        mailSender.send(message);
+        send(to, "Confirm Your Seller Registration",
+                "Please click the following link to confirm your registration:\n\n%s".formatted(confirmationLink));
     }
 
     @Override
     public void sendPasswordResetEmail(String to, String resetCode) {
+        send(to, "Password Reset Request",
+                "Your password reset code is: %s\n\nThis code will expire in 30 minutes.".formatted(resetCode));
+    }
+
+    private void send(String to, String subject, String text) {
+        if (outboxProperties.isEnabled()) {
+            outboxRepository.save(new EmailOutboxMessage(fromEmail, to, subject, text, LocalDateTime.now()));
+            return;
+        }
+
         SimpleMailMessage message = new SimpleMailMessage();
         message.setFrom(fromEmail);
         message.setTo(to);
-        message.setSubject("Password Reset Request");
-        message.setText("Your password reset code is: %s\n\nThis code will expire in 30 minutes.".formatted(resetCode));
+        message.setSubject(subject);
+        message.setText(text);
 
         mailSender.send(message);
     }
-}
\ No newline at end of file
+}
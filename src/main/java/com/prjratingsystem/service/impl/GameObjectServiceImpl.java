@@ -1,29 +1,46 @@
 package com.prjratingsystem.service.impl;
 
+import com.prjratingsystem.cache.CacheNames;
+import com.prjratingsystem.dto.CursorPage;
 import com.prjratingsystem.dto.GameObjectDTO;
+import com.prjratingsystem.dto.TitleSuggestionDTO;
+import com.prjratingsystem.event.GameObjectDeletedEvent;
+import com.prjratingsystem.event.GameObjectSavedEvent;
 import com.prjratingsystem.exception.GameObjectNotFoundException;
 import com.prjratingsystem.exception.UserNotFoundException;
+import com.prjratingsystem.index.GameObjectSearchIndex;
+import com.prjratingsystem.index.GameTitleSuggestIndex;
 import com.prjratingsystem.model.GameObject;
 import com.prjratingsystem.model.User;
 import com.prjratingsystem.repository.GameObjectRepository;
 import com.prjratingsystem.repository.UserRepository;
 import com.prjratingsystem.service.GameObjectService;
-import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class GameObjectServiceImpl implements GameObjectService {
 
     private final GameObjectRepository gameObjectRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GameObjectSearchIndex gameObjectSearchIndex;
+    private final GameTitleSuggestIndex gameTitleSuggestIndex;
 
-    public GameObjectServiceImpl(GameObjectRepository gameObjectRepository, UserRepository userRepository) {
+    public GameObjectServiceImpl(GameObjectRepository gameObjectRepository, UserRepository userRepository, ApplicationEventPublisher eventPublisher, GameObjectSearchIndex gameObjectSearchIndex, GameTitleSuggestIndex gameTitleSuggestIndex) {
         this.gameObjectRepository = gameObjectRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.gameObjectSearchIndex = gameObjectSearchIndex;
+        this.gameTitleSuggestIndex = gameTitleSuggestIndex;
     }
 
     @Override
@@ -37,19 +54,33 @@ public class GameObjectServiceImpl implements GameObjectService {
         gameObject.setUser(user);
 
         GameObject savedGameObject = gameObjectRepository.save(gameObject);
-        return mapToGameObjectDTO(savedGameObject);
+        GameObjectDTO savedGameObjectDTO = mapToGameObjectDTO(savedGameObject);
+        eventPublisher.publishEvent(new GameObjectSavedEvent(savedGameObjectDTO));
+        return savedGameObjectDTO;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.GAME_OBJECTS, sync = true)
     public GameObjectDTO getGameObjectById(Integer id) {
-        GameObject gameObject = gameObjectRepository.findById(id)
+        return gameObjectRepository.findDTOById(id)
                 .orElseThrow(() -> new GameObjectNotFoundException("GameObject not found with ID: %d".formatted(id)));
-        return mapToGameObjectDTO(gameObject);
     }
 
     @Override
-    public List<GameObjectDTO> getAllGameObjects() {
-        return gameObjectRepository.findAll().stream().map(this::mapToGameObjectDTO).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<GameObjectDTO> getAllGameObjects(String cursor, int limit) {
+        List<GameObjectDTO> gameObjects = gameObjectRepository.findDTOsAfter(
+                CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(limit)));
+        return CursorPage.of(gameObjects, limit, GameObjectDTO::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportGameObjects(Consumer<GameObjectDTO> consumer) {
+        try (Stream<GameObjectDTO> gameObjects = gameObjectRepository.streamAllAsDTOs()) {
+            gameObjects.forEach(consumer);
+        }
     }
 
     @Override
@@ -63,7 +94,9 @@ public class GameObjectServiceImpl implements GameObjectService {
         gameObject.setUpdatedAt(LocalDateTime.now());
 
         GameObject savedGameObject = gameObjectRepository.save(gameObject);
-        return mapToGameObjectDTO(savedGameObject);
+        GameObjectDTO savedGameObjectDTO = mapToGameObjectDTO(savedGameObject);
+        eventPublisher.publishEvent(new GameObjectSavedEvent(savedGameObjectDTO));
+        return savedGameObjectDTO;
     }
 
     @Override
@@ -71,14 +104,29 @@ public class GameObjectServiceImpl implements GameObjectService {
     public void deleteGameObject(Integer id) {
         GameObject gameObject = gameObjectRepository.findById(id)
                 .orElseThrow(() -> new GameObjectNotFoundException("GameObject not found with ID: %d".formatted(id)));
-        gameObjectRepository.delete(gameObject);
+        gameObject.setDeletedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(new GameObjectDeletedEvent(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<GameObjectDTO> getGameObjectsByUserId(Integer userId, String cursor, int limit) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found with ID: %d".formatted(userId));
+        }
+        List<GameObjectDTO> gameObjects = gameObjectRepository.findDTOsByUserIdAfter(
+                userId, CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(limit)));
+        return CursorPage.of(gameObjects, limit, GameObjectDTO::getId);
+    }
+
+    @Override
+    public List<GameObjectDTO> searchGameObjects(String query, int limit) {
+        return gameObjectSearchIndex.search(query, limit);
     }
 
     @Override
-    public List<GameObjectDTO> getGameObjectsByUserId(Integer userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: %d".formatted(userId)));
-        return gameObjectRepository.findByUser(user).stream().map(this::mapToGameObjectDTO).collect(Collectors.toList());
+    public List<TitleSuggestionDTO> suggestTitles(String prefix, int limit) {
+        return gameTitleSuggestIndex.suggest(prefix, limit);
     }
 
     private GameObjectDTO mapToGameObjectDTO(GameObject gameObject) {
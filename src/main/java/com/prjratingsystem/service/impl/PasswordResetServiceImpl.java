@@ -1,11 +1,13 @@
 package com.prjratingsystem.service.impl;
 
+import com.prjratingsystem.event.UserChangedEvent;
 import com.prjratingsystem.exception.UserNotFoundException;
 import com.prjratingsystem.model.User;
 import com.prjratingsystem.repository.UserRepository;
 import com.prjratingsystem.service.EmailService;
 import com.prjratingsystem.service.PasswordResetService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -22,17 +24,20 @@ public class PasswordResetServiceImpl implements PasswordResetService {
     private final EmailService emailService;
     private final RedisTemplate<String, String> redisTemplate;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public PasswordResetServiceImpl(
             UserRepository userRepository,
             EmailService emailService,
             RedisTemplate<String, String> redisTemplate,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder,
+            ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.emailService = emailService;
         this.redisTemplate = redisTemplate;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -67,7 +72,9 @@ public class PasswordResetServiceImpl implements PasswordResetService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: %s".formatted(email)));
 
         user.setPassword(passwordEncoder.encode(newPassword));
+        user.revokeTokens();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), email, user.getTokenVersion()));
 
         redisTemplate.delete(key);
 
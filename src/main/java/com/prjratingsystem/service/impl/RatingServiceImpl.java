@@ -1,26 +1,43 @@
 package com.prjratingsystem.service.impl;
 
 import com.prjratingsystem.dto.RatingDTO;
+import com.prjratingsystem.event.SellerRatingChangedEvent;
+import com.prjratingsystem.event.SellerRatingStatsRebuiltEvent;
 import com.prjratingsystem.exception.CommentNotFoundException;
 import com.prjratingsystem.model.Comment;
 import com.prjratingsystem.model.Rating;
+import com.prjratingsystem.model.SellerRatingStats;
 import com.prjratingsystem.repository.CommentRepository;
 import com.prjratingsystem.repository.RatingRepository;
+import com.prjratingsystem.repository.SellerRatingStatsRepository;
+import com.prjratingsystem.repository.projection.SellerAverageRating;
+import com.prjratingsystem.repository.projection.SellerRatingAggregate;
 import com.prjratingsystem.service.RatingService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 public class RatingServiceImpl implements RatingService {
 
     private final RatingRepository ratingRepository;
     private final CommentRepository commentRepository;
+    private final SellerRatingStatsRepository sellerRatingStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public RatingServiceImpl(RatingRepository ratingRepository, CommentRepository commentRepository) {
+    public RatingServiceImpl(RatingRepository ratingRepository, CommentRepository commentRepository, SellerRatingStatsRepository sellerRatingStatsRepository, ApplicationEventPublisher eventPublisher) {
         this.ratingRepository = ratingRepository;
         this.commentRepository = commentRepository;
+        this.sellerRatingStatsRepository = sellerRatingStatsRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -34,21 +51,142 @@ public class RatingServiceImpl implements RatingService {
         rating.setRatingValue(ratingDTO.getRatingValue());
 
         Rating savedRating = ratingRepository.save(rating);
+
+        Integer sellerId = comment.getUser().getId();
+        SellerRatingStats stats = lockSellerRatingStats(sellerId);
+        stats.addRating(savedRating.getRatingValue());
+        sellerRatingStatsRepository.save(stats);
+        publishRatingChanged(stats);
+
         return mapToRatingDTO(savedRating);
     }
 
+    @Override
+    @Transactional
+    public Set<Integer> createRatings(Map<Integer, List<RatingDTO>> ratingsBySellerId) {
+        List<Integer> commentIds = ratingsBySellerId.values().stream()
+                .flatMap(List::stream)
+                .map(RatingDTO::getCommentId)
+                .toList();
+        if (commentIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<Integer> alreadyRated = new HashSet<>(ratingRepository.findRatedCommentIds(commentIds));
+
+        // sellers are locked in ID order so that concurrent batches cannot deadlock on the stats rows
+        Map<Integer, List<RatingDTO>> newRatingsBySellerId = new TreeMap<>();
+        ratingsBySellerId.forEach((sellerId, ratings) -> {
+            List<RatingDTO> newRatings = ratings.stream()
+                    .filter(rating -> !alreadyRated.contains(rating.getCommentId()))
+                    .toList();
+            if (!newRatings.isEmpty()) {
+                newRatingsBySellerId.put(sellerId, newRatings);
+            }
+        });
+
+        // ids come from a pooled sequence, so Hibernate sends these as JDBC batches on flush
+        ratingRepository.saveAll(newRatingsBySellerId.values().stream()
+                .flatMap(List::stream)
+                .map(this::mapToRating)
+                .toList());
+
+        Set<Integer> ratedCommentIds = new HashSet<>();
+        newRatingsBySellerId.forEach((sellerId, ratings) -> {
+            SellerRatingStats stats = lockSellerRatingStats(sellerId);
+            for (RatingDTO rating : ratings) {
+                stats.addRating(rating.getRatingValue());
+                ratedCommentIds.add(rating.getCommentId());
+            }
+            sellerRatingStatsRepository.save(stats);
+            publishRatingChanged(stats);
+        });
+        return ratedCommentIds;
+    }
+
     @Override
     public Double calculateSellerRating(Integer sellerId) {
-        List<Rating> ratings = ratingRepository.findByComment_User_Id(sellerId);
+        return sellerRatingStatsRepository.findById(sellerId)
+                .map(SellerRatingStats::getAverage)
+                .orElse(0.0);
+    }
 
-        if (ratings.isEmpty()) {
-            return 0.0;
+    @Override
+    public Map<Integer, Double> calculateSellerRatings(Collection<Integer> sellerIds) {
+        Map<Integer, Double> averages = new HashMap<>();
+        if (sellerIds.isEmpty()) {
+            return averages;
         }
 
-        return ratings.stream()
-                .mapToInt(Rating::getRatingValue)
-                .average()
-                .orElse(0.0);
+        sellerIds.forEach(sellerId -> averages.put(sellerId, 0.0));
+        for (SellerAverageRating rating : sellerRatingStatsRepository.findAverageRatings(sellerIds)) {
+            averages.put(rating.getSellerId(), rating.getAverageRating());
+        }
+        return averages;
+    }
+
+    @Override
+    @Transactional
+    public void deleteRatingByCommentId(Integer commentId) {
+        Rating rating = ratingRepository.findByCommentId(commentId);
+        if (rating == null) {
+            return;
+        }
+
+        Integer sellerId = rating.getComment().getUser().getId();
+        ratingRepository.delete(rating);
+
+        // min/max cannot be decremented, so re-aggregate the seller from the remaining ratings; the row stays when the
+        // last rating goes, so its version keeps counting
+        sellerRatingStatsRepository.findBySellerIdForUpdate(sellerId).ifPresent(stats -> {
+            ratingRepository.aggregateBySellerId(sellerId).ifPresentOrElse(
+                    aggregate -> applyAggregate(stats, aggregate),
+                    () -> stats.replace(0, 0, null, null));
+            publishRatingChanged(stats);
+        });
+    }
+
+    @Override
+    @Transactional
+    public void clearSellerRatingStats(Integer sellerId) {
+        sellerRatingStatsRepository.deleteById(sellerId);
+        eventPublisher.publishEvent(SellerRatingChangedEvent.removed(sellerId));
+    }
+
+    @Override
+    @Transactional
+    public int rebuildSellerRatingStats() {
+        // every transaction that got to an aggregate has committed its ratings once the lock is held, so the rebuild
+        // reads them; the ones that have not got there yet wait and then apply their ratings on top of it
+        sellerRatingStatsRepository.lockAll();
+        int rebuilt = sellerRatingStatsRepository.rebuildAll();
+        eventPublisher.publishEvent(new SellerRatingStatsRebuiltEvent(rebuilt));
+        return rebuilt;
+    }
+
+    /**
+     * Locks the seller's aggregate row, creating it first if this is the seller's first rating, so that concurrent
+     * first ratings serialize on the row lock like all later ones.
+     */
+    private SellerRatingStats lockSellerRatingStats(Integer sellerId) {
+        sellerRatingStatsRepository.insertIfAbsent(sellerId);
+        return sellerRatingStatsRepository.findBySellerIdForUpdate(sellerId).orElseThrow();
+    }
+
+    private void publishRatingChanged(SellerRatingStats stats) {
+        eventPublisher.publishEvent(new SellerRatingChangedEvent(stats.getSellerId(), stats.getAverage(),
+                stats.getRatingCount(), stats.getVersion()));
+    }
+
+    private void applyAggregate(SellerRatingStats stats, SellerRatingAggregate aggregate) {
+        stats.replace(aggregate.getRatingSum(), aggregate.getRatingCount().intValue(), aggregate.getMinRating(),
+                aggregate.getMaxRating());
+    }
+
+    private Rating mapToRating(RatingDTO ratingDTO) {
+        Rating rating = new Rating();
+        rating.setComment(commentRepository.getReferenceById(ratingDTO.getCommentId()));
+        rating.setRatingValue(ratingDTO.getRatingValue());
+        return rating;
     }
 
     private RatingDTO mapToRatingDTO(Rating rating) {
@@ -58,4 +196,4 @@ public class RatingServiceImpl implements RatingService {
         dto.setRatingValue(rating.getRatingValue());
         return dto;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package com.prjratingsystem.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.prjratingsystem.model.User;
 import com.prjratingsystem.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -8,12 +10,27 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import java.time.Duration;
 import java.util.Collections;
 
+/**
+ * Loads users for the JWT filter, which needs them on every authenticated request.
+ * <p>
+ * Approved users are kept in a small near cache for {@link #CACHE_TTL}. Changed users are evicted on every node by
+ * {@link com.prjratingsystem.security.UserChangeBroadcaster}; a node that misses the message catches up when the entry
+ * expires.
+ */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    static final Duration CACHE_TTL = Duration.ofSeconds(60);
+    static final long CACHE_SIZE = 10_000;
+
     private final UserRepository userRepository;
+    private final Cache<String, UserDetails> userDetailsCache = Caffeine.newBuilder()
+            .expireAfterWrite(CACHE_TTL)
+            .maximumSize(CACHE_SIZE)
+            .build();
 
     public UserDetailsServiceImpl(UserRepository userRepository) {
         this.userRepository = userRepository;
@@ -21,6 +38,11 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserDetails cached = userDetailsCache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: %s".formatted(email)));
 
@@ -28,10 +50,19 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             throw new UsernameNotFoundException("Your account has not been approved yet.");
         }
 
-        return new org.springframework.security.core.userdetails.User(
+        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPassword(),
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_%s".formatted(user.getRole().name())))
         );
+        userDetailsCache.put(email, userDetails);
+        return userDetails;
+    }
+
+    /**
+     * Drops a user from this node's cache.
+     */
+    public void evict(String email) {
+        userDetailsCache.invalidate(email);
     }
 }
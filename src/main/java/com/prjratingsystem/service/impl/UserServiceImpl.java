@@ -1,50 +1,62 @@
 package com.prjratingsystem.service.impl;
 
+import com.prjratingsystem.cache.CacheNames;
+import com.prjratingsystem.dto.CursorPage;
 import com.prjratingsystem.dto.UserDTO;
 import com.prjratingsystem.dto.UserRegistrationDTO;
+import com.prjratingsystem.event.UserChangedEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
 import com.prjratingsystem.exception.EmailAlreadyExistsException;
 import com.prjratingsystem.exception.UserNotFoundException;
+import com.prjratingsystem.index.LeaderboardEntry;
+import com.prjratingsystem.index.SellerLeaderboard;
+import com.prjratingsystem.index.SellerSearchIndex;
 import com.prjratingsystem.model.enums.Role;
 import com.prjratingsystem.model.User;
-import com.prjratingsystem.repository.CommentRepository;
 import com.prjratingsystem.repository.GameObjectRepository;
-import com.prjratingsystem.repository.RatingRepository;
 import com.prjratingsystem.repository.UserRepository;
 import com.prjratingsystem.service.EmailService;
 import com.prjratingsystem.service.RatingService;
 import com.prjratingsystem.service.UserService;
-import org.springframework.data.domain.Page;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
-    private final CommentRepository commentRepository;
     private final GameObjectRepository gameObjectRepository;
-    private final RatingRepository ratingRepository;
     private final RatingService ratingService;
     private final PasswordEncoder passwordEncoder;
     private final RedisTemplate<String, String> redisTemplate;
     private final EmailService emailService;
+    private final SellerLeaderboard sellerLeaderboard;
+    private final SellerSearchIndex sellerSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserServiceImpl(UserRepository userRepository, CommentRepository commentRepository, RatingRepository ratingRepository, RatingService ratingService, PasswordEncoder passwordEncoder, RedisTemplate<String, String> redisTemplate, GameObjectRepository gameObjectRepository, EmailService emailService) {
+    public UserServiceImpl(UserRepository userRepository, GameObjectRepository gameObjectRepository, RatingService ratingService, PasswordEncoder passwordEncoder, RedisTemplate<String, String> redisTemplate, EmailService emailService, SellerLeaderboard sellerLeaderboard, SellerSearchIndex sellerSearchIndex, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
-        this.commentRepository = commentRepository;
-        this.ratingRepository = ratingRepository;
+        this.gameObjectRepository = gameObjectRepository;
         this.ratingService = ratingService;
         this.passwordEncoder = passwordEncoder;
         this.redisTemplate = redisTemplate;
-        this.gameObjectRepository = gameObjectRepository;
         this.emailService = emailService;
+        this.sellerLeaderboard = sellerLeaderboard;
+        this.sellerSearchIndex = sellerSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -53,6 +65,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void confirmUser(String confirmationCode) {
         String email = redisTemplate.opsForValue().get(confirmationCode);
 
@@ -60,30 +73,36 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: %s".formatted(email)));
         user.setApproved(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail(), user.getTokenVersion()));
         redisTemplate.delete(confirmationCode);
         emailService.sendSellerApprovedEmail(user.getEmail());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheNames.USERS, sync = true)
     public UserDTO findUserById(Integer id) {
-        User user = userRepository.findById(id).orElseThrow(() -> new UserNotFoundException("User not found with ID: %d".formatted(id)));
-        UserDTO userDTO = mapToUserDTO(user);
-        if (user.getRole() == Role.SELLER) {
-            userDTO.setAverageRating(ratingService.calculateSellerRating(user.getId()));
+        UserDTO userDTO = userRepository.findDTOById(id).orElseThrow(() -> new UserNotFoundException("User not found with ID: %d".formatted(id)));
+        if (userDTO.getRole() == Role.SELLER) {
+            userDTO.setAverageRating(ratingService.calculateSellerRating(userDTO.getId()));
         }
 
         return userDTO;
     }
 
     @Override
-    public List<UserDTO> findAllUsers() {
-        return userRepository.findAll().stream().map(this::mapToUserDTO).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> findAllUsers(String cursor, int limit) {
+        List<UserDTO> users = userRepository.findDTOsAfter(
+                CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(limit)));
+        return CursorPage.of(users, limit, UserDTO::getId);
     }
 
     @Override
     @Transactional
     public UserDTO updateUser(Integer id, UserRegistrationDTO userRegistrationDTO) {
         User user = userRepository.findById(id).orElseThrow(() -> new UserNotFoundException("User not found with ID: %d".formatted(id)));
+        String previousEmail = user.getEmail();
 
         if (userRegistrationDTO.getFirstName() != null) {
             user.setFirstName(userRegistrationDTO.getFirstName());
@@ -105,6 +124,11 @@ public class UserServiceImpl implements UserService {
         if (userRegistrationDTO.getRole() != null) {
             user.setRole(userRegistrationDTO.getRole());
         }
+        if (userRegistrationDTO.getEmail() != null || userRegistrationDTO.getPassword() != null
+                || userRegistrationDTO.getRole() != null) {
+            user.revokeTokens();
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), previousEmail, user.getTokenVersion()));
 
         return mapToUserDTO(user);
     }
@@ -114,17 +138,22 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Integer id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: %d".formatted(id)));
-        ratingRepository.deleteAllByCommentUserId(id);
-        commentRepository.deleteAllByUserId(id);
-        gameObjectRepository.deleteAllByUserId(id);
+        String email = user.getEmail();
+        user.markDeleted(LocalDateTime.now());
+        gameObjectRepository.markDeletedByUserId(id, user.getDeletedAt());
+        ratingService.clearSellerRatingStats(id);
 
-        userRepository.delete(user);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
+        eventPublisher.publishEvent(UserChangedEvent.deleted(id, email));
     }
 
     @Override
-    public List<UserDTO> findUsersByRole(String role) {
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> findUsersByRole(String role, String cursor, int limit) {
         Role roleEnum = Role.valueOf(role.toUpperCase());
-        return userRepository.findByRole(roleEnum).stream().map(this::mapToUserDTO).collect(Collectors.toList());
+        List<UserDTO> users = userRepository.findDTOsByRoleAfter(
+                roleEnum, CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(limit)));
+        return CursorPage.of(users, limit, UserDTO::getId);
     }
 
     @Override
@@ -133,32 +162,57 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getTopSellers(Pageable pageable) {
-        Page<User> sellerPage = userRepository.findByRole(Role.SELLER, pageable);
-        List<User> sellers = sellerPage.getContent();
+        long offset = pageable.getOffset();
+        List<LeaderboardEntry> ranking = sellerLeaderboard.getRange(offset, pageable.getPageSize());
         List<UserDTO> sellerDTOs = new ArrayList<>();
-
-        for (User seller : sellers) {
-            UserDTO sellerDTO = mapToUserDTO(seller);
-            sellerDTO.setAverageRating(ratingService.calculateSellerRating(seller.getId()));
-            sellerDTOs.add(sellerDTO);
+        if (!ranking.isEmpty()) {
+            Map<Integer, UserDTO> sellersById = userRepository.findDTOsByRoleAndIdIn(Role.SELLER,
+                            ranking.stream().map(LeaderboardEntry::sellerId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(UserDTO::getId, Function.identity()));
+
+            for (LeaderboardEntry entry : ranking) {
+                UserDTO sellerDTO = sellersById.get(entry.sellerId());
+                if (sellerDTO != null) {
+                    sellerDTO.setAverageRating(entry.averageRating());
+                    sellerDTOs.add(sellerDTO);
+                }
+            }
+            if (ranking.size() == pageable.getPageSize()) {
+                return sellerDTOs;
+            }
         }
 
-        sellerDTOs.sort(Comparator.comparingDouble(UserDTO::getAverageRating).reversed());
-
+        // the ranking ran out within this page, so sellers without ratings follow at 0.0 in id order
+        long rankedCount = ranking.isEmpty() ? sellerLeaderboard.size() : offset + ranking.size();
+        List<UserDTO> unrated = userRepository.findUnratedDTOsByRole(Role.SELLER,
+                Math.toIntExact(Math.max(offset - rankedCount, 0)), pageable.getPageSize() - ranking.size());
+        unrated.forEach(seller -> seller.setAverageRating(0.0));
+        sellerDTOs.addAll(unrated);
         return sellerDTOs;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> filterSellers(String gameTitle, Double minRating, Double maxRating) {
-        List<User> sellers = userRepository.findSellersByGameAndRating(gameTitle, minRating, maxRating);
-        return sellers.stream()
-                .map(user -> {
-                    UserDTO dto = mapToUserDTO(user);
-                    dto.setAverageRating(ratingService.calculateSellerRating(user.getId()));
-                    return dto;
-                })
-                .collect(Collectors.toList());
+        Set<Integer> sellerIds = sellerSearchIndex.findSellerIds(gameTitle, minRating, maxRating);
+        List<UserDTO> sellers;
+        if (sellerIds == null) {
+            sellers = userRepository.findDTOsByRole(Role.SELLER).stream()
+                    .filter(user -> sellerSearchIndex.matchesRating(user.getId(), minRating, maxRating))
+                    .collect(Collectors.toList());
+        } else if (sellerIds.isEmpty()) {
+            return new ArrayList<>();
+        } else {
+            sellers = userRepository.findDTOsByRoleAndIdIn(Role.SELLER, sellerIds);
+        }
+        Map<Integer, Double> averageRatings = ratingService.calculateSellerRatings(
+                sellers.stream().map(UserDTO::getId).toList());
+
+        sellers.forEach(seller -> seller.setAverageRating(averageRatings.get(seller.getId())));
+        return sellers;
     }
 
     /*
@@ -0,0 +1,111 @@
+-- Schema the entities map to. Databases that predate the migrations are baselined at version 0
+-- (spring.flyway.baseline-on-migrate) and run this script too, so every statement also works on the tables Hibernate's
+-- ddl-auto=update left behind: it creates what is missing, adds the columns added since, and moves the ids from identity
+-- columns to the pooled sequences.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS game_objects_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS ratings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS email_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id            INTEGER      NOT NULL,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    role          VARCHAR(255) NOT NULL CHECK (role IN ('ADMIN', 'SELLER')),
+    approved      BOOLEAN      NOT NULL,
+    token_version INTEGER      NOT NULL DEFAULT 0,
+    deleted_at    TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS comments (
+    id         INTEGER NOT NULL,
+    message    TEXT    NOT NULL,
+    user_id    INTEGER NOT NULL,
+    created_at TIMESTAMP(6),
+    approved   BOOLEAN NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_comments_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS game_objects (
+    id         INTEGER      NOT NULL,
+    title      VARCHAR(100) NOT NULL,
+    text       TEXT         NOT NULL,
+    user_id    INTEGER      NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    deleted_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_game_objects_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS ratings (
+    id           INTEGER NOT NULL,
+    comment_id   INTEGER NOT NULL,
+    rating_value INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ratings_comment UNIQUE (comment_id),
+    CONSTRAINT fk_ratings_comment FOREIGN KEY (comment_id) REFERENCES comments (id)
+);
+
+CREATE TABLE IF NOT EXISTS seller_rating_stats (
+    seller_id    INTEGER NOT NULL,
+    rating_sum   BIGINT  NOT NULL,
+    rating_count INTEGER NOT NULL,
+    min_rating   INTEGER,
+    max_rating   INTEGER,
+    PRIMARY KEY (seller_id)
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              BIGINT        NOT NULL,
+    sender          VARCHAR(255)  NOT NULL,
+    recipient       VARCHAR(255)  NOT NULL,
+    subject         VARCHAR(255)  NOT NULL,
+    body            TEXT          NOT NULL,
+    status          VARCHAR(255)  NOT NULL CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+    attempts        INTEGER       NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    sent_at         TIMESTAMP(6),
+    last_error      VARCHAR(1000),
+    PRIMARY KEY (id)
+);
+
+-- Columns added to existing tables since they were first created.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+ALTER TABLE game_objects ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+
+-- The ids used to come from identity columns; Hibernate now allocates them from the sequences above.
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE game_objects ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE ratings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE INDEX IF NOT EXISTS idx_comments_pending ON comments (id) WHERE approved = false;
+CREATE INDEX IF NOT EXISTS idx_comments_user_id ON comments (user_id);
+CREATE INDEX IF NOT EXISTS idx_game_objects_user_id ON game_objects (user_id);
+CREATE INDEX IF NOT EXISTS idx_users_deleted ON users (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_game_objects_deleted ON game_objects (id) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox (next_attempt_at) WHERE status = 'PENDING';
+
+-- Move each sequence past the ids already in its table. The pooled optimizer takes a sequence value as the top of a
+-- block of 50 ids, so the next value must be at least MAX(id) + 50. Empty tables, and sequences that are already
+-- further along, are left alone.
+SELECT setval('users_seq', MAX(id) + 50, false) FROM users
+HAVING MAX(id) + 50 > (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM users_seq);
+SELECT setval('comments_seq', MAX(id) + 50, false) FROM comments
+HAVING MAX(id) + 50 > (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM comments_seq);
+SELECT setval('game_objects_seq', MAX(id) + 50, false) FROM game_objects
+HAVING MAX(id) + 50 > (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM game_objects_seq);
+SELECT setval('ratings_seq', MAX(id) + 50, false) FROM ratings
+HAVING MAX(id) + 50 > (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM ratings_seq);
+SELECT setval('email_outbox_seq', MAX(id) + 50, false) FROM email_outbox
+HAVING MAX(id) + 50 > (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM email_outbox_seq);
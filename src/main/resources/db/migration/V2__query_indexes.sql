@@ -0,0 +1,28 @@
+-- Indexes matched to the repository queries; each comment names the queries an index serves. Users and game objects
+-- carry @SQLRestriction("deleted_at IS NULL"), so the queries on them can use indexes restricted to live rows.
+-- Every statement builds CONCURRENTLY so existing tables stay writable; Flyway runs this script outside a
+-- transaction, and spring.flyway.postgresql.transactional-lock=false keeps its own lock from blocking the builds.
+
+-- One seller's comments in id order: CommentRepository.findDTOsByUserIdAfter, streamAsDTOsByUserId and
+-- deleteChunkByUserId, the seller side of RatingRepository.aggregateBySellerId and deleteChunkBySellerId, and the
+-- foreign key check when a user row is purged. Covers the single-column index it replaces.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_user_id_id ON comments (user_id, id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_comments_user_id;
+
+-- Comments inside the spam-screening window: CommentRepository.findDTOsCreatedAfter.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_created_at ON comments (created_at);
+
+-- One seller's game objects in id order: GameObjectRepository.findDTOsByUserIdAfter, markDeletedByUserId and
+-- deleteChunkByUserId, and the foreign key check when a user row is purged.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_game_objects_user_id_id ON game_objects (user_id, id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_game_objects_user_id;
+
+-- Live users of one role in id order: UserRepository.findDTOsByRoleAfter, findDTOsByRole, findDTOsByRoleAndIdIn and
+-- findByRole.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role_id ON users (role, id) WHERE deleted_at IS NULL;
+
+-- Sellers waiting for approval: UserRepository.findPendingDTOsByRole and findByApprovedFalseAndRole.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_pending ON users (role, id) WHERE approved = false AND deleted_at IS NULL;
+
+-- Sent outbox messages past retention: EmailOutboxRepository.deleteSentBefore.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_email_outbox_sent ON email_outbox (sent_at) WHERE status = 'SENT';
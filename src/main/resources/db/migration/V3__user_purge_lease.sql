@@ -0,0 +1,3 @@
+-- The purge worker claims a deleted user by stamping purge_started_at in a short transaction and deletes the user's
+-- rows outside it. A claim older than purge.lease-time is taken over by the next run, in case the node holding it died.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS purge_started_at TIMESTAMP(6);
@@ -0,0 +1,3 @@
+-- Rating changes reach the leaderboard through after-commit events, which can arrive out of order. Every change to a
+-- seller's aggregate bumps version, and the leaderboard ignores an event older than what it already holds.
+ALTER TABLE seller_rating_stats ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
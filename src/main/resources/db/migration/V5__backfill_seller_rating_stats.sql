@@ -0,0 +1,16 @@
+-- seller_rating_stats is only written as ratings come in, so sellers rated before it existed would read 0.0 in the user
+-- lists, the leaderboard and the rating filter until POST /api/admin/ratings/rebuild runs. Aggregate every live seller
+-- from the ratings table once; the leaderboard and the search index load the result when the application starts. It runs
+-- after the migrations that shape the tables it reads and writes.
+INSERT INTO seller_rating_stats (seller_id, rating_sum, rating_count, min_rating, max_rating)
+SELECT c.user_id, SUM(r.rating_value), COUNT(*), MIN(r.rating_value), MAX(r.rating_value)
+FROM ratings r
+JOIN comments c ON c.id = r.comment_id
+JOIN users u ON u.id = c.user_id
+WHERE u.deleted_at IS NULL
+GROUP BY c.user_id
+ON CONFLICT (seller_id) DO UPDATE SET rating_sum   = EXCLUDED.rating_sum,
+                                      rating_count = EXCLUDED.rating_count,
+                                      min_rating   = EXCLUDED.min_rating,
+                                      max_rating   = EXCLUDED.max_rating,
+                                      version      = seller_rating_stats.version + 1;
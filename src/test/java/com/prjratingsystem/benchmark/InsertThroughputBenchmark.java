@@ -0,0 +1,125 @@
+package com.prjratingsystem.benchmark;
+
+import com.prjratingsystem.model.Comment;
+import com.prjratingsystem.model.User;
+import com.prjratingsystem.model.enums.Role;
+import com.prjratingsystem.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares comment insert throughput of the old IDENTITY id generation, which makes Hibernate insert row by row to learn
+ * each generated key, with the pooled sequence, which lets it batch. Both runs persist the same {@link Comment} entity
+ * through Hibernate with the application's JPA settings into a scratch table shaped like {@code comments}; an orm.xml
+ * override is the only difference between them. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class InsertThroughputBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int WARM_UP_ROWS = 1_000;
+    private static final String IDENTITY_MAPPING = "benchmark/identity-comments-orm.xml";
+    private static final String SEQUENCE_MAPPING = "benchmark/sequence-comments-orm.xml";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactoryBuilder entityManagerFactoryBuilder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        seller = new User();
+        seller.setFirstName("Bench");
+        seller.setLastName("Seller");
+        seller.setEmail("bench-%s@example.com".formatted(UUID.randomUUID()));
+        seller.setPassword("-");
+        seller.setRole(Role.SELLER);
+        seller = userRepository.save(seller);
+
+        jdbcTemplate.execute("CREATE TABLE bench_comments (LIKE comments INCLUDING ALL)");
+        jdbcTemplate.execute("ALTER TABLE bench_comments ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY");
+        jdbcTemplate.execute("ALTER TABLE bench_comments ADD FOREIGN KEY (user_id) REFERENCES users (id)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_comments");
+        userRepository.deleteById(seller.getId());
+    }
+
+    @Test
+    void compareIdentityAndPooledSequenceInserts() {
+        insertComments(IDENTITY_MAPPING, WARM_UP_ROWS);
+        insertComments(SEQUENCE_MAPPING, WARM_UP_ROWS);
+
+        long identityNanos = insertComments(IDENTITY_MAPPING, ROWS);
+        long sequenceNanos = insertComments(SEQUENCE_MAPPING, ROWS);
+
+        System.out.printf("IDENTITY, row by row:        %,10.0f rows/s%n", ROWS / (identityNanos / 1e9));
+        System.out.printf("Pooled sequence, batched:    %,10.0f rows/s%n", ROWS / (sequenceNanos / 1e9));
+    }
+
+    /**
+     * Empties the table, persists comments in one transaction through an entity manager factory built for the given
+     * mapping, and returns the time from the first persist to the commit. The two generators hand out overlapping ids,
+     * so each run starts from an empty table.
+     */
+    private long insertComments(String mappingResource, int rows) {
+        jdbcTemplate.execute("TRUNCATE bench_comments");
+        LocalContainerEntityManagerFactoryBean factoryBean = entityManagerFactoryBuilder
+                .dataSource(dataSource)
+                .managedTypes(PersistenceManagedTypes.of(Comment.class.getName(), User.class.getName()))
+                .mappingResources(mappingResource)
+                .properties(Map.of("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName()))
+                .persistenceUnit(mappingResource)
+                .build();
+        factoryBean.afterPropertiesSet();
+        try {
+            EntityManager entityManager = factoryBean.getObject().createEntityManager();
+            User sellerReference = entityManager.getReference(User.class, seller.getId());
+
+            long start = System.nanoTime();
+            entityManager.getTransaction().begin();
+            for (int i = 0; i < rows; i++) {
+                Comment comment = new Comment();
+                comment.setMessage("Comment " + i);
+                comment.setUser(sellerReference);
+                entityManager.persist(comment);
+            }
+            entityManager.getTransaction().commit();
+            long elapsed = System.nanoTime() - start;
+
+            entityManager.close();
+            assertEquals(rows, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bench_comments", Integer.class));
+            return elapsed;
+        } finally {
+            factoryBean.destroy();
+        }
+    }
+}
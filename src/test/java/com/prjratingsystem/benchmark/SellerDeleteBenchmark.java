@@ -0,0 +1,166 @@
+package com.prjratingsystem.benchmark;
+
+import com.prjratingsystem.ingest.CommentIdAllocator;
+import com.prjratingsystem.model.GameObject;
+import com.prjratingsystem.model.Rating;
+import com.prjratingsystem.model.User;
+import com.prjratingsystem.model.enums.Role;
+import com.prjratingsystem.purge.PurgeProperties;
+import com.prjratingsystem.purge.UserPurgeWorker;
+import com.prjratingsystem.repository.CommentRepository;
+import com.prjratingsystem.repository.GameObjectRepository;
+import com.prjratingsystem.repository.RatingRepository;
+import com.prjratingsystem.repository.UserRepository;
+import com.prjratingsystem.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Times deleting a seller with 100k comments (every tenth one rated) and 1k game objects: the soft delete done by
+ * {@link UserService#deleteUser} on the request thread, and the chunked purge that follows in the background. The purge
+ * is compared with deleting entity by entity the way the derived {@code deleteAllBy...} methods did, on a tenth of the
+ * data. Run with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class SellerDeleteBenchmark {
+
+    private static final int COMMENTS = 100_000;
+    private static final int RATED_EVERY = 10;
+    private static final int GAME_OBJECTS = 1_000;
+    private static final int ENTITY_BY_ENTITY_COMMENTS = COMMENTS / 10;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserPurgeWorker userPurgeWorker;
+
+    @Autowired
+    private PurgeProperties purgeProperties;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private GameObjectRepository gameObjectRepository;
+
+    @Autowired
+    private CommentIdAllocator commentIdAllocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Integer> sellerIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        sellerIds.stream().filter(userRepository::existsById).forEach(userService::deleteUser);
+        userPurgeWorker.purge();
+    }
+
+    @Test
+    void compareChunkedAndEntityByEntityDelete() {
+        purgeProperties.setChunkPause(Duration.ZERO);
+        User seller = seed(COMMENTS);
+        long softDeleteNanos = time(() -> userService.deleteUser(seller.getId()));
+        assertFalse(userRepository.existsById(seller.getId()));
+
+        long chunkedNanos = time(userPurgeWorker::purge);
+        assertEquals(0, count("SELECT COUNT(*) FROM users WHERE id = ?", seller.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM comments WHERE user_id = ?", seller.getId()));
+
+        User smallSeller = seed(ENTITY_BY_ENTITY_COMMENTS);
+        List<Integer> commentIds = jdbcTemplate.queryForList("SELECT id FROM comments WHERE user_id = ?",
+                Integer.class, smallSeller.getId());
+        long entityNanos = time(() -> transactionTemplate.executeWithoutResult(status -> {
+            ratingRepository.deleteAll(ratingRepository.findByComment_User_Id(smallSeller.getId()));
+            commentRepository.deleteAll(commentRepository.findAllById(commentIds));
+        }));
+
+        assertEquals(0, count("SELECT COUNT(*) FROM comments WHERE user_id = ?", smallSeller.getId()));
+        System.out.printf("Soft delete, %,d comments:      %,8d ms%n", COMMENTS, softDeleteNanos / 1_000_000);
+        System.out.printf("Chunked purge, %,d comments:    %,8d ms%n", COMMENTS, chunkedNanos / 1_000_000);
+        System.out.printf("Entity by entity, %,d comments:  %,8d ms%n", ENTITY_BY_ENTITY_COMMENTS, entityNanos / 1_000_000);
+    }
+
+    private User seed(int comments) {
+        User seller = new User();
+        seller.setFirstName("Bench");
+        seller.setLastName("Seller");
+        seller.setEmail("bench-%s@example.com".formatted(UUID.randomUUID()));
+        seller.setPassword("-");
+        seller.setRole(Role.SELLER);
+        User saved = userRepository.save(seller);
+        sellerIds.add(saved.getId());
+
+        List<Integer> commentIds = new ArrayList<>(comments);
+        for (int i = 0; i < comments; i++) {
+            commentIds.add(commentIdAllocator.nextId());
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, message, user_id, created_at, approved) VALUES (?, ?, ?, ?, true)",
+                commentIds, 1_000, (statement, id) -> {
+                    statement.setInt(1, id);
+                    statement.setString(2, "Comment " + id);
+                    statement.setInt(3, saved.getId());
+                    statement.setTimestamp(4, now);
+                });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Rating> ratings = new ArrayList<>();
+            for (int i = 0; i < commentIds.size(); i += RATED_EVERY) {
+                Rating rating = new Rating();
+                rating.setComment(commentRepository.getReferenceById(commentIds.get(i)));
+                rating.setRatingValue(1 + i % 5);
+                ratings.add(rating);
+            }
+            ratingRepository.saveAll(ratings);
+
+            List<GameObject> gameObjects = new ArrayList<>(GAME_OBJECTS);
+            for (int i = 0; i < GAME_OBJECTS; i++) {
+                GameObject gameObject = new GameObject();
+                gameObject.setTitle("Game " + i);
+                gameObject.setText("Bench listing");
+                gameObject.setUser(saved);
+                gameObjects.add(gameObject);
+            }
+            gameObjectRepository.saveAll(gameObjects);
+        });
+        return saved;
+    }
+
+    private int count(String sql, Integer userId) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, userId);
+    }
+
+    private static long time(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,164 @@
+package com.prjratingsystem.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prjratingsystem.dto.GameObjectDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TwoLevelCacheTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TwoLevelCacheProperties properties = new TwoLevelCacheProperties();
+    private TwoLevelCache cache;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList(null, null));
+        when(redisTemplate.execute(eq(TwoLevelCache.FILL_SCRIPT), anyList(), any(Object[].class))).thenReturn(1L);
+        cache = new TwoLevelCache(CacheNames.GAME_OBJECTS, GameObjectDTO.class, properties, redisTemplate, objectMapper, meterRegistry);
+        cacheManager = new TwoLevelCacheManager(List.of(cache));
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndServeLocally() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+
+        GameObjectDTO first = cache.get(7, () -> gameObject(loads.incrementAndGet()));
+        GameObjectDTO second = cache.get(7, () -> gameObject(loads.incrementAndGet()));
+
+        assertEquals(first, second);
+        assertEquals(1, loads.get());
+        verify(redisTemplate).execute(TwoLevelCache.FILL_SCRIPT, List.of("cache:gameObjects:7", "cache-cleared:gameObjects"),
+                "", "", objectMapper.writeValueAsString(first), Long.toString(properties.getRemoteTtl().toMillis()));
+        assertEquals(1, count("miss"));
+        assertEquals(1, count("local_hit"));
+    }
+
+    @Test
+    void get_ShouldFillLocalLevelFromRedis() throws Exception {
+        when(valueOperations.multiGet(List.of("cache:gameObjects:7", "cache-cleared:gameObjects")))
+                .thenReturn(Arrays.asList(objectMapper.writeValueAsString(gameObject(7)), null));
+
+        GameObjectDTO fromRedis = cache.get(7, () -> fail("should not load"));
+        GameObjectDTO fromLocal = cache.get(7, () -> fail("should not load"));
+
+        assertEquals(gameObject(7), fromRedis);
+        assertEquals(fromRedis, fromLocal);
+        assertEquals(1, count("remote_hit"));
+        assertEquals(1, count("local_hit"));
+        verify(valueOperations, times(1)).multiGet(anyList());
+    }
+
+    @Test
+    void get_ShouldHandOutACopyOnEveryRead() {
+        GameObjectDTO first = cache.get(7, () -> gameObject(7));
+
+        assertNotSame(first, cache.get(7, () -> fail("should not load")));
+        assertNotSame(cache.get(7, () -> fail("should not load")), cache.get(7, () -> fail("should not load")));
+    }
+
+    @Test
+    void get_ShouldTreatTombstoneAsMissAndOnlyFillIfItIsStillThere() {
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList("tombstone:1", "cleared:1"));
+
+        assertEquals(gameObject(7), cache.get(7, () -> gameObject(7)));
+
+        verify(redisTemplate).execute(eq(TwoLevelCache.FILL_SCRIPT), anyList(), eq("tombstone:1"), eq("cleared:1"),
+                anyString(), anyString());
+    }
+
+    @Test
+    void get_ShouldNotKeepValueLoadedBeforeAConcurrentEvict() {
+        GameObjectDTO loaded = cache.get(7, () -> {
+            GameObjectDTO stale = gameObject(7);
+            cache.evict(7);
+            return stale;
+        });
+
+        assertEquals(gameObject(7), loaded);
+        assertNull(cache.get(7));
+    }
+
+    @Test
+    void clear_DuringLoad_ShouldKeepStaleValueOutOfLocalLevel() {
+        cache.get(7, () -> {
+            GameObjectDTO stale = gameObject(7);
+            cacheManager.receiveInvalidation("gameObjects:*");
+            return stale;
+        });
+
+        assertNull(cache.get(7));
+    }
+
+    @Test
+    void get_ShouldFallBackToLoader_WhenRedisIsDown() {
+        when(valueOperations.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertEquals(gameObject(7), cache.get(7, () -> gameObject(7)));
+        assertNotNull(cache.get(7));
+        verify(redisTemplate, never()).execute(eq(TwoLevelCache.FILL_SCRIPT), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void evict_ShouldReplaceRemoteEntryWithTombstoneAndNotifyOtherNodes() {
+        cache.put(7, gameObject(7));
+
+        cache.evict(7);
+
+        assertNull(cache.get(7));
+        verify(valueOperations).set(eq("cache:gameObjects:7"), startsWith(TwoLevelCache.TOMBSTONE_PREFIX),
+                eq(properties.getTombstoneTtl()));
+        verify(redisTemplate).convertAndSend(TwoLevelCacheManager.INVALIDATION_CHANNEL, "gameObjects:7");
+    }
+
+    @Test
+    void receiveInvalidation_ShouldOnlyDropLocalEntries() {
+        cache.put(7, gameObject(7));
+        cache.put(8, gameObject(8));
+
+        cacheManager.receiveInvalidation("gameObjects:7");
+        assertNull(cache.get(7));
+        assertNotNull(cache.get(8));
+
+        cacheManager.receiveInvalidation("gameObjects:*");
+        assertNull(cache.get(8));
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("cache.two_level.gets").tag("result", result).counter().count();
+    }
+
+    private static GameObjectDTO gameObject(int id) {
+        return new GameObjectDTO(id, "Title %d".formatted(id), "Text", 3, LocalDateTime.of(2025, 3, 1, 12, 0), null);
+    }
+}
@@ -0,0 +1,53 @@
+package com.prjratingsystem.config;
+
+import com.prjratingsystem.ingest.CommentBatchWriter;
+import com.prjratingsystem.ingest.CommentIngestionProperties;
+import com.prjratingsystem.ingest.CommentIngestionQueue;
+import com.prjratingsystem.ingest.InMemoryCommentIngestionQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CommentIngestionConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(PropertiesConfiguration.class, CommentIngestionConfig.class, CommentBatchWriter.class)
+            .withBean(RedisTemplate.class, () -> mock(RedisTemplate.class))
+            .withBean(JdbcTemplate.class, () -> mock(JdbcTemplate.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void defaultMode_ShouldCreateNeitherQueueNorWriter() {
+        contextRunner.run(context -> {
+            assertTrue(context.getBeansOfType(CommentIngestionQueue.class).isEmpty());
+            assertTrue(context.getBeansOfType(CommentBatchWriter.class).isEmpty());
+        });
+    }
+
+    @Test
+    void directMode_ShouldCreateNeitherQueueNorWriter() {
+        contextRunner.withPropertyValues("comments.ingestion.mode=Direct").run(context -> {
+            assertTrue(context.getBeansOfType(CommentIngestionQueue.class).isEmpty());
+            assertTrue(context.getBeansOfType(CommentBatchWriter.class).isEmpty());
+        });
+    }
+
+    @Test
+    void memoryMode_ShouldCreateInMemoryQueueAndWriter() {
+        contextRunner.withPropertyValues("comments.ingestion.mode=memory").run(context -> {
+            assertInstanceOf(InMemoryCommentIngestionQueue.class, context.getBean(CommentIngestionQueue.class));
+            assertNotNull(context.getBean(CommentBatchWriter.class));
+        });
+    }
+
+    @EnableConfigurationProperties(CommentIngestionProperties.class)
+    static class PropertiesConfiguration {
+    }
+}
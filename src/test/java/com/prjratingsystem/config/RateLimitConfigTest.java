@@ -0,0 +1,67 @@
+package com.prjratingsystem.config;
+
+import com.prjratingsystem.ratelimit.FailureCounter;
+import com.prjratingsystem.ratelimit.LocalFailureCounter;
+import com.prjratingsystem.ratelimit.LocalRateLimiter;
+import com.prjratingsystem.ratelimit.LoginThrottleProperties;
+import com.prjratingsystem.ratelimit.RateLimitProperties;
+import com.prjratingsystem.ratelimit.RateLimiter;
+import com.prjratingsystem.ratelimit.RedisFailureCounter;
+import com.prjratingsystem.ratelimit.RedisRateLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.validation.BindValidationException;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.validation.FieldError;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RateLimitConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(PropertiesConfiguration.class, RateLimitConfig.class)
+            .withBean(RedisTemplate.class, () -> mock(RedisTemplate.class));
+
+    @Test
+    void defaultMode_ShouldCreateOnlyLocalImplementations() {
+        contextRunner.run(context -> {
+            assertInstanceOf(LocalRateLimiter.class, context.getBean(RateLimiter.class));
+            assertInstanceOf(LocalFailureCounter.class, context.getBean(FailureCounter.class));
+        });
+    }
+
+    @Test
+    void redisMode_ShouldCreateNoLocalImplementations() {
+        contextRunner.withPropertyValues("rate-limit.mode=Redis", "login-throttle.mode=redis").run(context -> {
+            assertInstanceOf(RedisRateLimiter.class, context.getBean(RateLimiter.class));
+            assertInstanceOf(RedisFailureCounter.class, context.getBean(FailureCounter.class));
+            assertTrue(context.getBeansOfType(LocalRateLimiter.class).isEmpty());
+            assertTrue(context.getBeansOfType(LocalFailureCounter.class).isEmpty());
+        });
+    }
+
+    @Test
+    void limitWithZeroCapacity_ShouldFailStartup() {
+        contextRunner.withPropertyValues("rate-limit.routes[0].name=comment", "rate-limit.routes[0].path=/api/comments",
+                "rate-limit.routes[0].per-ip.capacity=0", "rate-limit.routes[0].per-ip.period=1m").run(context -> {
+            BindValidationException failure = assertInstanceOf(BindValidationException.class,
+                    NestedExceptionUtils.getRootCause(context.getStartupFailure()));
+            assertEquals("routes[0].perIp.capacity",
+                    ((FieldError) failure.getValidationErrors().getAllErrors().get(0)).getField());
+        });
+    }
+
+    @Test
+    void limitWithoutPeriod_ShouldFailStartup() {
+        contextRunner.withPropertyValues("rate-limit.routes[0].name=comment", "rate-limit.routes[0].path=/api/comments",
+                "rate-limit.routes[0].per-seller.capacity=5").run(context -> assertInstanceOf(BindValidationException.class,
+                NestedExceptionUtils.getRootCause(context.getStartupFailure())));
+    }
+
+    @EnableConfigurationProperties({RateLimitProperties.class, LoginThrottleProperties.class})
+    static class PropertiesConfiguration {
+    }
+}
@@ -0,0 +1,176 @@
+package com.prjratingsystem.index;
+
+import com.prjratingsystem.dto.CommentDTO;
+import com.prjratingsystem.event.CommentCreatedEvent;
+import com.prjratingsystem.event.CommentDeletedEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
+import com.prjratingsystem.exception.DuplicateCommentException;
+import com.prjratingsystem.repository.CommentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class CommentFingerprintIndexTest {
+
+    private static final String SPAM = "Best prices on rare skins, visit our shop today for a huge discount";
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    private final MutableClock clock = new MutableClock();
+    private CommentSpamProperties properties;
+    private CommentFingerprintIndex commentFingerprintIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new CommentSpamProperties();
+        properties.setWaveThreshold(3);
+        commentFingerprintIndex = new CommentFingerprintIndex(properties, commentRepository, clock);
+    }
+
+    @Test
+    void screen_ShouldRejectNearDuplicateOnSameSeller() {
+        created(1, 10, SPAM);
+
+        assertThrows(DuplicateCommentException.class,
+                () -> commentFingerprintIndex.screen(10, "BEST prices on rare skins!! Visit our shop today, for a huge discount."));
+        assertTrue(commentFingerprintIndex.screen(11, SPAM).isEmpty());
+        assertTrue(commentFingerprintIndex.screen(10, "Fast trade, the knife arrived exactly as described in the listing").isEmpty());
+    }
+
+    @Test
+    void screen_ShouldReturnEarlierComment_WhenDuplicatesAreMerged() {
+        properties.setDuplicateAction(CommentSpamProperties.DuplicateAction.MERGE);
+        created(1, 10, SPAM);
+
+        assertEquals(Optional.of(1), commentFingerprintIndex.screen(10, SPAM + "!"));
+    }
+
+    @Test
+    void screen_ShouldRejectWave_WhenRepeatedAcrossManySellers() {
+        created(1, 10, SPAM);
+        created(2, 11, SPAM);
+        assertTrue(commentFingerprintIndex.screen(12, SPAM).isEmpty());
+
+        created(3, 12, SPAM);
+
+        assertThrows(DuplicateCommentException.class, () -> commentFingerprintIndex.screen(13, SPAM));
+        assertThrows(DuplicateCommentException.class, () -> commentFingerprintIndex.screen(null, SPAM));
+    }
+
+    @Test
+    void screen_ShouldIgnoreShortMessages() {
+        created(1, 10, "Great seller, thanks");
+
+        assertTrue(commentFingerprintIndex.screen(10, "Great seller, thanks").isEmpty());
+        assertEquals(0, commentFingerprintIndex.size());
+    }
+
+    @Test
+    void screen_ShouldForgetFingerprintsAfterWindow() {
+        created(1, 10, SPAM);
+        clock.advance(properties.getWindow().plus(Duration.ofSeconds(1)));
+
+        assertTrue(commentFingerprintIndex.screen(10, SPAM).isEmpty());
+        assertEquals(0, commentFingerprintIndex.size());
+    }
+
+    @Test
+    void remember_ShouldDropOldestFingerprintsBeyondCapacity() {
+        properties.setCapacity(2);
+        created(1, 10, SPAM);
+        created(2, 11, "Fast trade, the knife arrived exactly as described in the listing");
+        created(3, 12, "Slow to answer messages but the gloves were in great condition");
+
+        assertEquals(2, commentFingerprintIndex.size());
+        assertTrue(commentFingerprintIndex.screen(10, SPAM).isEmpty());
+    }
+
+    @Test
+    void deletions_ShouldRemoveFingerprints() {
+        created(1, 10, SPAM);
+        created(2, 11, "Fast trade, the knife arrived exactly as described in the listing");
+
+        commentFingerprintIndex.onCommentDeleted(new CommentDeletedEvent(1));
+        commentFingerprintIndex.onUserDeleted(new UserDeletedEvent(11));
+
+        assertEquals(0, commentFingerprintIndex.size());
+        assertTrue(commentFingerprintIndex.screen(10, SPAM).isEmpty());
+    }
+
+    @Test
+    void remember_ShouldKeepEvictingOldestFirst_AfterDeletingFromTheMiddle() {
+        properties.setCapacity(2);
+        created(1, 10, SPAM);
+        created(2, 11, "Fast trade, the knife arrived exactly as described in the listing");
+        commentFingerprintIndex.onCommentDeleted(new CommentDeletedEvent(2));
+        created(3, 12, "Slow to answer messages but the gloves were in great condition");
+        created(4, 13, "Paid with a card and the account showed up in my inventory within the hour");
+
+        assertEquals(2, commentFingerprintIndex.size());
+        assertTrue(commentFingerprintIndex.screen(10, SPAM).isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldLoadCommentsFromWindow() {
+        when(commentRepository.findDTOsCreatedAfter(any(LocalDateTime.class)))
+                .thenReturn(List.of(new CommentDTO(1, SPAM, 10, LocalDateTime.now(clock), false)));
+
+        commentFingerprintIndex.rebuild();
+
+        assertThrows(DuplicateCommentException.class, () -> commentFingerprintIndex.screen(10, SPAM));
+    }
+
+    @Test
+    void simHash_ShouldKeepSmallEditsCloserThanUnrelatedText() {
+        long original = SimHash.fingerprint(TextTokenizer.tokenize(SPAM + " and free shipping on every order this week"));
+        long edited = SimHash.fingerprint(TextTokenizer.tokenize(SPAM + " and free shipping on every order this month"));
+        long unrelated = SimHash.fingerprint(TextTokenizer.tokenize(
+                "Fast trade, the knife arrived exactly as described in the listing, would trade again"));
+
+        assertTrue(SimHash.distance(original, edited) < SimHash.distance(original, unrelated));
+    }
+
+    private void created(int commentId, int sellerId, String message) {
+        commentFingerprintIndex.onCommentCreated(new CommentCreatedEvent(
+                new CommentDTO(commentId, message, sellerId, LocalDateTime.now(clock), false)));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-03-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
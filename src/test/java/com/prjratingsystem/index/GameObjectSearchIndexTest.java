@@ -0,0 +1,125 @@
+package com.prjratingsystem.index;
+
+import com.prjratingsystem.dto.GameObjectDTO;
+import com.prjratingsystem.event.GameObjectDeletedEvent;
+import com.prjratingsystem.event.GameObjectSavedEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
+import com.prjratingsystem.repository.GameObjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class GameObjectSearchIndexTest {
+
+    @Mock
+    private GameObjectRepository gameObjectRepository;
+
+    private GameObjectSearchIndex gameObjectSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        gameObjectSearchIndex = new GameObjectSearchIndex(gameObjectRepository);
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveTextMatches() {
+        save(gameObject(1, 10, "Butterfly Knife", "Rare pattern, factory new"));
+        save(gameObject(2, 11, "AWP Dragon Lore", "Comes with a free knife sticker"));
+        save(gameObject(3, 12, "Dota 2 Arcana", "Unused code"));
+
+        List<GameObjectDTO> result = gameObjectSearchIndex.search("Knife", 10);
+
+        assertEquals(List.of(1, 2), ids(result));
+    }
+
+    @Test
+    void search_ShouldSumScoresAcrossTermsAndRespectLimit() {
+        save(gameObject(1, 10, "Knife", "plain"));
+        save(gameObject(2, 11, "Knife", "rare fade"));
+        save(gameObject(3, 12, "Gloves", "rare"));
+
+        assertEquals(List.of(2), ids(gameObjectSearchIndex.search("rare knife", 1)));
+        assertEquals(List.of(), gameObjectSearchIndex.search("unknown", 10));
+    }
+
+    @Test
+    void onGameObjectSaved_ShouldReindexUpdatedText() {
+        save(gameObject(1, 10, "Knife", "fade"));
+        save(gameObject(1, 10, "Gloves", "crimson web"));
+
+        assertEquals(List.of(), gameObjectSearchIndex.search("knife fade", 10));
+        assertEquals(List.of(1), ids(gameObjectSearchIndex.search("crimson", 10)));
+    }
+
+    @Test
+    void onGameObjectDeleted_ShouldRemoveDocument() {
+        save(gameObject(1, 10, "Knife", "fade"));
+
+        gameObjectSearchIndex.onGameObjectDeleted(new GameObjectDeletedEvent(1));
+
+        assertEquals(List.of(), gameObjectSearchIndex.search("knife", 10));
+    }
+
+    @Test
+    void onUserDeleted_ShouldRemoveUsersDocuments() {
+        save(gameObject(1, 10, "Knife", "fade"));
+        save(gameObject(2, 11, "Knife", "doppler"));
+
+        gameObjectSearchIndex.onUserDeleted(new UserDeletedEvent(10));
+
+        assertEquals(List.of(2), ids(gameObjectSearchIndex.search("knife", 10)));
+    }
+
+    @Test
+    void rebuild_ShouldIndexCatalogFromRepository() {
+        when(gameObjectRepository.findAllAsDTOs()).thenReturn(List.of(
+                gameObject(1, 10, "Knife", "fade"),
+                gameObject(2, 11, "Gloves", "pandora")));
+
+        gameObjectSearchIndex.rebuild();
+
+        assertEquals(List.of(2), ids(gameObjectSearchIndex.search("pandora", 10)));
+    }
+
+    @Test
+    void rebuild_ShouldKeepChangesThatLandWhileTheSnapshotLoads() {
+        save(gameObject(1, 10, "Knife", "fade"));
+        when(gameObjectRepository.findAllAsDTOs()).thenAnswer(invocation -> {
+            save(gameObject(3, 12, "Gloves", "crimson web"));
+            gameObjectSearchIndex.onGameObjectDeleted(new GameObjectDeletedEvent(2));
+            return List.of(gameObject(1, 10, "Knife", "fade"), gameObject(2, 11, "Knife", "doppler"));
+        });
+
+        gameObjectSearchIndex.rebuild();
+
+        assertEquals(List.of(1), ids(gameObjectSearchIndex.search("knife", 10)));
+        assertEquals(List.of(3), ids(gameObjectSearchIndex.search("crimson", 10)));
+
+        gameObjectSearchIndex.onGameObjectDeleted(new GameObjectDeletedEvent(3));
+        assertEquals(List.of(), gameObjectSearchIndex.search("crimson", 10));
+    }
+
+    private void save(GameObjectDTO gameObject) {
+        gameObjectSearchIndex.onGameObjectSaved(new GameObjectSavedEvent(gameObject));
+    }
+
+    private static GameObjectDTO gameObject(Integer id, Integer userId, String title, String text) {
+        GameObjectDTO gameObject = new GameObjectDTO();
+        gameObject.setId(id);
+        gameObject.setUserId(userId);
+        gameObject.setTitle(title);
+        gameObject.setText(text);
+        return gameObject;
+    }
+
+    private static List<Integer> ids(List<GameObjectDTO> gameObjects) {
+        return gameObjects.stream().map(GameObjectDTO::getId).toList();
+    }
+}
@@ -0,0 +1,193 @@
+package com.prjratingsystem.index;
+
+import com.prjratingsystem.dto.GameObjectDTO;
+import com.prjratingsystem.dto.TitleSuggestionDTO;
+import com.prjratingsystem.event.GameObjectDeletedEvent;
+import com.prjratingsystem.event.GameObjectSavedEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
+import com.prjratingsystem.repository.GameObjectRepository;
+import com.prjratingsystem.repository.projection.GameObjectTitleEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GameTitleSuggestIndexTest {
+
+    @Mock
+    private GameObjectRepository gameObjectRepository;
+
+    private GameTitleSuggestIndex gameTitleSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        gameTitleSuggestIndex = new GameTitleSuggestIndex(gameObjectRepository);
+
+        save(1, 10, "CS:GO Knife");
+        save(2, 11, "CS:GO Knife");
+        save(3, 12, "CS:GO Gloves");
+        save(4, 12, "CS:GO Gloves");
+        save(5, 13, "Counter-Strike Case");
+        save(6, 14, "Dota 2 Arcana");
+    }
+
+    @Test
+    void suggest_ShouldRankBySellerCountThenTitle() {
+        List<TitleSuggestionDTO> result = gameTitleSuggestIndex.suggest("c", 10);
+
+        assertEquals(List.of(
+                new TitleSuggestionDTO("CS:GO Knife", 2),
+                new TitleSuggestionDTO("CS:GO Gloves", 1),
+                new TitleSuggestionDTO("Counter-Strike Case", 1)), result);
+    }
+
+    @Test
+    void suggest_ShouldMatchPrefixIgnoringCaseAndApplyLimit() {
+        assertEquals(List.of(new TitleSuggestionDTO("CS:GO Knife", 2)), gameTitleSuggestIndex.suggest("cs:", 1));
+        assertEquals(List.of(), gameTitleSuggestIndex.suggest("x", 10));
+        assertEquals(List.of(), gameTitleSuggestIndex.suggest("", 10));
+    }
+
+    @Test
+    void onGameObjectSaved_ShouldFollowRenames() {
+        save(6, 14, "CS:GO Gloves");
+
+        assertEquals(List.of(), gameTitleSuggestIndex.suggest("dota", 10));
+        assertEquals(List.of(new TitleSuggestionDTO("CS:GO Gloves", 2)), gameTitleSuggestIndex.suggest("cs:go g", 10));
+    }
+
+    @Test
+    void onGameObjectDeleted_ShouldDropTitleWithLastListing() {
+        gameTitleSuggestIndex.onGameObjectDeleted(new GameObjectDeletedEvent(3));
+        assertEquals(List.of(new TitleSuggestionDTO("CS:GO Gloves", 1)), gameTitleSuggestIndex.suggest("cs:go g", 10));
+
+        gameTitleSuggestIndex.onGameObjectDeleted(new GameObjectDeletedEvent(4));
+        assertEquals(List.of(), gameTitleSuggestIndex.suggest("cs:go g", 10));
+    }
+
+    @Test
+    void onUserDeleted_ShouldLowerSellerCounts() {
+        gameTitleSuggestIndex.onUserDeleted(new UserDeletedEvent(10));
+
+        assertEquals(List.of(new TitleSuggestionDTO("CS:GO Knife", 1)), gameTitleSuggestIndex.suggest("cs:go k", 10));
+    }
+
+    @Test
+    void suggest_ShouldKeepDifferentlyCasedTitlesApart() {
+        save(7, 15, "cs:go knife");
+        save(8, 16, "CS:GO KNIFE");
+
+        assertEquals(List.of(
+                new TitleSuggestionDTO("CS:GO Knife", 2),
+                new TitleSuggestionDTO("CS:GO KNIFE", 1),
+                new TitleSuggestionDTO("cs:go knife", 1)), gameTitleSuggestIndex.suggest("Cs:Go K", 10));
+    }
+
+    @Test
+    void suggest_ShouldMatchPrefixEndingInsideAnEdge() {
+        assertEquals(List.of(new TitleSuggestionDTO("Counter-Strike Case", 1)), gameTitleSuggestIndex.suggest("counter-st", 10));
+        assertEquals(List.of(), gameTitleSuggestIndex.suggest("counter-sx", 10));
+        assertEquals(List.of(), gameTitleSuggestIndex.suggest("dota 2 arcana!", 10));
+    }
+
+    @Test
+    void suggest_ShouldReturnAtMostMaxSuggestions() {
+        for (int i = 0; i < GameTitleSuggestIndex.MAX_SUGGESTIONS + 10; i++) {
+            save(100 + i, 100 + i, "Item %03d".formatted(i));
+        }
+
+        List<TitleSuggestionDTO> result = gameTitleSuggestIndex.suggest("item", 100);
+
+        assertEquals(GameTitleSuggestIndex.MAX_SUGGESTIONS, result.size());
+        assertEquals("Item 000", result.get(0).getTitle());
+        assertEquals(List.of(new TitleSuggestionDTO("Item 059", 1)), gameTitleSuggestIndex.suggest("item 059", 100));
+    }
+
+    @Test
+    void rebuild_ShouldKeepChangesThatLandWhileTheSnapshotLoads() {
+        when(gameObjectRepository.findAllTitleEntries()).thenAnswer(invocation -> {
+            save(7, 15, "Dota 2 Arcana");
+            gameTitleSuggestIndex.onGameObjectDeleted(new GameObjectDeletedEvent(5));
+            return List.of(titleEntry(5, 13, "Counter-Strike Case"), titleEntry(6, 14, "Dota 2 Arcana"));
+        });
+
+        gameTitleSuggestIndex.rebuild();
+
+        assertEquals(List.of(new TitleSuggestionDTO("Dota 2 Arcana", 2)), gameTitleSuggestIndex.suggest("d", 10));
+        assertEquals(List.of(), gameTitleSuggestIndex.suggest("c", 10));
+    }
+
+    @Test
+    void suggest_ShouldMatchAFullScan_ThroughRandomChanges() {
+        Random random = new Random(7);
+        Map<Integer, GameObjectDTO> listed = new HashMap<>();
+        for (int id = 1; id <= 6; id++) {
+            gameTitleSuggestIndex.onGameObjectDeleted(new GameObjectDeletedEvent(id));
+        }
+
+        for (int step = 1; step <= 5_000; step++) {
+            int id = random.nextInt(400);
+            if (random.nextInt(3) == 0) {
+                gameTitleSuggestIndex.onGameObjectDeleted(new GameObjectDeletedEvent(id));
+                listed.remove(id);
+            } else {
+                StringBuilder title = new StringBuilder();
+                for (int length = 1 + random.nextInt(5); title.length() < length; ) {
+                    title.append("abAB".charAt(random.nextInt(4)));
+                }
+                listed.put(id, save(id, random.nextInt(20), title.toString()));
+            }
+
+            if (step % 50 == 0) {
+                for (String prefix : List.of("a", "B", "ab", "bA", "aba", "bbb", "abab", "babab", "x")) {
+                    assertEquals(fullScan(listed, prefix), gameTitleSuggestIndex.suggest(prefix, 50), prefix);
+                }
+            }
+        }
+    }
+
+    private static List<TitleSuggestionDTO> fullScan(Map<Integer, GameObjectDTO> listed, String prefix) {
+        Map<String, Set<Integer>> sellersByTitle = new HashMap<>();
+        listed.values().stream()
+                .filter(gameObject -> gameObject.getTitle().toLowerCase(Locale.ROOT).startsWith(prefix.toLowerCase(Locale.ROOT)))
+                .forEach(gameObject -> sellersByTitle.computeIfAbsent(gameObject.getTitle(), title -> new HashSet<>())
+                        .add(gameObject.getUserId()));
+        return sellersByTitle.entrySet().stream()
+                .map(entry -> new TitleSuggestionDTO(entry.getKey(), entry.getValue().size()))
+                .sorted(Comparator.comparing(TitleSuggestionDTO::getSellerCount, Comparator.reverseOrder())
+                        .thenComparing(TitleSuggestionDTO::getTitle))
+                .limit(50)
+                .toList();
+    }
+
+    private static GameObjectTitleEntry titleEntry(Integer id, Integer userId, String title) {
+        GameObjectTitleEntry entry = mock(GameObjectTitleEntry.class);
+        when(entry.getId()).thenReturn(id);
+        when(entry.getUserId()).thenReturn(userId);
+        when(entry.getTitle()).thenReturn(title);
+        return entry;
+    }
+
+    private GameObjectDTO save(Integer id, Integer userId, String title) {
+        GameObjectDTO gameObject = new GameObjectDTO();
+        gameObject.setId(id);
+        gameObject.setUserId(userId);
+        gameObject.setTitle(title);
+        gameTitleSuggestIndex.onGameObjectSaved(new GameObjectSavedEvent(gameObject));
+        return gameObject;
+    }
+}
@@ -0,0 +1,169 @@
+package com.prjratingsystem.index;
+
+import com.prjratingsystem.event.SellerRatingChangedEvent;
+import com.prjratingsystem.event.UserChangedEvent;
+import com.prjratingsystem.model.SellerRatingStats;
+import com.prjratingsystem.model.enums.Role;
+import com.prjratingsystem.repository.SellerRatingStatsRepository;
+import com.prjratingsystem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SellerLeaderboardTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private SellerRatingStatsRepository sellerRatingStatsRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private SellerLeaderboard sellerLeaderboard;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    void onSellerRatingChanged_ShouldStoreNegatedAverageForPaddedSellerIdWithVersion() {
+        when(userRepository.existsByIdAndRole(42, Role.SELLER)).thenReturn(true);
+
+        sellerLeaderboard.onSellerRatingChanged(new SellerRatingChangedEvent(42, 4.25, 4, 7));
+
+        verify(redisTemplate).execute(SellerLeaderboard.UPDATE_SCRIPT, SellerLeaderboard.KEYS, "0000000042", "-4.25", "7");
+    }
+
+    @Test
+    void onSellerRatingChanged_ShouldRemoveSeller_WhenNoRatingsLeft() {
+        sellerLeaderboard.onSellerRatingChanged(new SellerRatingChangedEvent(42, 0.0, 0, 8));
+
+        verify(redisTemplate).execute(SellerLeaderboard.UPDATE_SCRIPT, SellerLeaderboard.KEYS, "0000000042", "", "8");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void onSellerRatingChanged_ShouldRemoveUser_WhenNotASeller() {
+        when(userRepository.existsByIdAndRole(42, Role.SELLER)).thenReturn(false);
+
+        sellerLeaderboard.onSellerRatingChanged(new SellerRatingChangedEvent(42, 4.25, 4, 7));
+
+        verify(redisTemplate).execute(SellerLeaderboard.UPDATE_SCRIPT, SellerLeaderboard.KEYS, "0000000042", "", "7");
+    }
+
+    @Test
+    void onUserChanged_ShouldReapplyCurrentStats() {
+        SellerRatingStats stats = new SellerRatingStats(42);
+        stats.addRating(4);
+        stats.addRating(5);
+        when(sellerRatingStatsRepository.findById(42)).thenReturn(Optional.of(stats));
+        when(userRepository.existsByIdAndRole(42, Role.SELLER)).thenReturn(true);
+
+        sellerLeaderboard.onUserChanged(new UserChangedEvent(42, "seller@example.com", 1));
+
+        verify(redisTemplate).execute(SellerLeaderboard.UPDATE_SCRIPT, SellerLeaderboard.KEYS, "0000000042", "-4.5", "2");
+    }
+
+    @Test
+    void onUserChanged_ShouldDoNothing_WhenUserDeleted() {
+        sellerLeaderboard.onUserChanged(UserChangedEvent.deleted(42, "seller@example.com"));
+
+        verifyNoInteractions(sellerRatingStatsRepository, redisTemplate);
+    }
+
+    @Test
+    void size_ShouldCountRankedSellers() {
+        when(zSetOperations.zCard(SellerLeaderboard.LEADERBOARD_KEY)).thenReturn(12L);
+
+        assertEquals(12, sellerLeaderboard.size());
+    }
+
+    @Test
+    void getRange_ShouldReturnEntriesInRankOrder() {
+        Set<TypedTuple<String>> tuples = new LinkedHashSet<>();
+        tuples.add(new DefaultTypedTuple<>("0000000003", -5.0));
+        tuples.add(new DefaultTypedTuple<>("0000000001", -4.0));
+        tuples.add(new DefaultTypedTuple<>("0000000002", -4.0));
+
+        when(zSetOperations.rangeWithScores(SellerLeaderboard.LEADERBOARD_KEY, 20L, 29L)).thenReturn(tuples);
+
+        List<LeaderboardEntry> result = sellerLeaderboard.getRange(20, 10);
+
+        assertEquals(List.of(
+                new LeaderboardEntry(3, 5.0),
+                new LeaderboardEntry(1, 4.0),
+                new LeaderboardEntry(2, 4.0)), result);
+    }
+
+    @Test
+    void rebuild_ShouldAddVersionedSnapshotOfRatedSellersThenSwap() {
+        SellerRatingStats stats = new SellerRatingStats(5);
+        stats.addRating(3);
+        when(redisTemplate.execute(eq(SellerLeaderboard.START_REBUILD_SCRIPT), eq(SellerLeaderboard.KEYS), anyString(),
+                anyString())).thenReturn(1L);
+        when(redisTemplate.execute(eq(SellerLeaderboard.FINISH_REBUILD_SCRIPT), eq(SellerLeaderboard.KEYS), anyString()))
+                .thenReturn(1L);
+        when(sellerRatingStatsRepository.findRatedByRole(Role.SELLER)).thenReturn(List.of(stats));
+
+        sellerLeaderboard.rebuild();
+
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        InOrder inOrder = inOrder(redisTemplate, sellerRatingStatsRepository);
+        inOrder.verify(redisTemplate).execute(eq(SellerLeaderboard.START_REBUILD_SCRIPT), eq(SellerLeaderboard.KEYS),
+                token.capture(), eq("600000"));
+        inOrder.verify(sellerRatingStatsRepository).findRatedByRole(Role.SELLER);
+        inOrder.verify(redisTemplate).execute(SellerLeaderboard.SNAPSHOT_SCRIPT, SellerLeaderboard.KEYS,
+                token.getValue(), "0000000005", "-3.0", "1");
+        inOrder.verify(redisTemplate).execute(SellerLeaderboard.FINISH_REBUILD_SCRIPT, SellerLeaderboard.KEYS,
+                token.getValue());
+    }
+
+    @Test
+    void rebuild_ShouldLeaveKeysAlone_WhenAnotherNodeIsRebuilding() {
+        when(redisTemplate.execute(eq(SellerLeaderboard.START_REBUILD_SCRIPT), eq(SellerLeaderboard.KEYS), anyString(),
+                anyString())).thenReturn(0L);
+
+        sellerLeaderboard.rebuild();
+
+        verifyNoInteractions(sellerRatingStatsRepository);
+        verify(redisTemplate, never()).execute(eq(SellerLeaderboard.FINISH_REBUILD_SCRIPT), anyList(), any());
+    }
+
+    @Test
+    void rebuild_ShouldReleaseMarker_WhenSnapshotFails() {
+        when(redisTemplate.execute(eq(SellerLeaderboard.START_REBUILD_SCRIPT), eq(SellerLeaderboard.KEYS), anyString(),
+                anyString())).thenReturn(1L);
+        when(sellerRatingStatsRepository.findRatedByRole(Role.SELLER)).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> sellerLeaderboard.rebuild());
+
+        verify(redisTemplate).execute(eq(SellerLeaderboard.ABORT_REBUILD_SCRIPT), eq(SellerLeaderboard.KEYS), anyString());
+        verify(redisTemplate, never()).execute(eq(SellerLeaderboard.FINISH_REBUILD_SCRIPT), anyList(), any());
+    }
+}
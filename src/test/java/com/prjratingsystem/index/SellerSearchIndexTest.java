@@ -0,0 +1,140 @@
+package com.prjratingsystem.index;
+
+import com.prjratingsystem.dto.GameObjectDTO;
+import com.prjratingsystem.event.GameObjectDeletedEvent;
+import com.prjratingsystem.event.GameObjectSavedEvent;
+import com.prjratingsystem.event.SellerRatingChangedEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
+import com.prjratingsystem.model.SellerRatingStats;
+import com.prjratingsystem.repository.GameObjectRepository;
+import com.prjratingsystem.repository.SellerRatingStatsRepository;
+import com.prjratingsystem.repository.projection.GameObjectTitleEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SellerSearchIndexTest {
+
+    @Mock
+    private GameObjectRepository gameObjectRepository;
+
+    @Mock
+    private SellerRatingStatsRepository sellerRatingStatsRepository;
+
+    private SellerSearchIndex sellerSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        sellerSearchIndex = new SellerSearchIndex(gameObjectRepository, sellerRatingStatsRepository);
+
+        save(1, 10, "CS:GO Knife");
+        save(2, 11, "CS:GO Knife");
+        save(3, 12, "Dota 2 Arcana");
+        sellerSearchIndex.onSellerRatingChanged(new SellerRatingChangedEvent(10, 4.5, 2, 1));
+        sellerSearchIndex.onSellerRatingChanged(new SellerRatingChangedEvent(11, 2.0, 1, 1));
+        sellerSearchIndex.onSellerRatingChanged(new SellerRatingChangedEvent(12, 3.0, 1, 1));
+    }
+
+    @Test
+    void findSellerIds_ShouldMatchByTitle() {
+        assertEquals(Set.of(10, 11), sellerSearchIndex.findSellerIds("CS:GO Knife", null, null));
+        assertEquals(Set.of(), sellerSearchIndex.findSellerIds("Unknown", null, null));
+    }
+
+    @Test
+    void findSellerIds_ShouldIntersectTitleWithRatingRange() {
+        assertEquals(Set.of(10), sellerSearchIndex.findSellerIds("CS:GO Knife", 4.0, 5.0));
+    }
+
+    @Test
+    void findSellerIds_ShouldAnswerRangeFromRatingIndex() {
+        assertEquals(Set.of(11, 12), sellerSearchIndex.findSellerIds(null, 2.0, 3.0));
+    }
+
+    @Test
+    void findSellerIds_ShouldDeferToCaller_WhenUnratedSellersMayMatch() {
+        assertNull(sellerSearchIndex.findSellerIds(null, null, null));
+        assertNull(sellerSearchIndex.findSellerIds(null, 0.0, 2.0));
+    }
+
+    @Test
+    void onGameObjectSaved_ShouldMoveSellerToRenamedTitle() {
+        save(1, 10, "Dota 2 Arcana");
+
+        assertEquals(Set.of(11), sellerSearchIndex.findSellerIds("CS:GO Knife", null, null));
+        assertEquals(Set.of(10, 12), sellerSearchIndex.findSellerIds("Dota 2 Arcana", null, null));
+    }
+
+    @Test
+    void onGameObjectDeleted_ShouldKeepSellerWhileAnotherListingRemains() {
+        save(4, 10, "CS:GO Knife");
+
+        sellerSearchIndex.onGameObjectDeleted(new GameObjectDeletedEvent(1));
+        assertEquals(Set.of(10, 11), sellerSearchIndex.findSellerIds("CS:GO Knife", null, null));
+
+        sellerSearchIndex.onGameObjectDeleted(new GameObjectDeletedEvent(4));
+        assertEquals(Set.of(11), sellerSearchIndex.findSellerIds("CS:GO Knife", null, null));
+    }
+
+    @Test
+    void onSellerRatingChanged_ShouldMoveSellerWithinRange() {
+        sellerSearchIndex.onSellerRatingChanged(new SellerRatingChangedEvent(11, 4.2, 2, 1));
+
+        assertEquals(Set.of(10, 11), sellerSearchIndex.findSellerIds(null, 4.0, 5.0));
+        assertEquals(Set.of(12), sellerSearchIndex.findSellerIds(null, 2.0, 3.0));
+    }
+
+    @Test
+    void onUserDeleted_ShouldDropListingsAndRating() {
+        sellerSearchIndex.onUserDeleted(new UserDeletedEvent(10));
+
+        assertEquals(Set.of(11), sellerSearchIndex.findSellerIds("CS:GO Knife", null, null));
+        assertEquals(Set.of(), sellerSearchIndex.findSellerIds(null, 4.0, 5.0));
+    }
+
+    @Test
+    void rebuild_ShouldKeepChangesThatLandWhileTheSnapshotLoads() {
+        SellerRatingStats staleStats = new SellerRatingStats(11);
+        staleStats.addRating(2);
+        when(gameObjectRepository.findAllTitleEntries()).thenAnswer(invocation -> {
+            save(5, 13, "CS:GO Knife");
+            return List.of(titleEntry(2, 11, "CS:GO Knife"));
+        });
+        when(sellerRatingStatsRepository.findAll()).thenAnswer(invocation -> {
+            sellerSearchIndex.onSellerRatingChanged(new SellerRatingChangedEvent(11, 5.0, 2, 1));
+            return List.of(staleStats);
+        });
+
+        sellerSearchIndex.rebuild();
+
+        assertEquals(Set.of(11, 13), sellerSearchIndex.findSellerIds("CS:GO Knife", null, null));
+        assertEquals(Set.of(11), sellerSearchIndex.findSellerIds(null, 4.0, 5.0));
+
+        sellerSearchIndex.onGameObjectDeleted(new GameObjectDeletedEvent(5));
+        assertEquals(Set.of(11), sellerSearchIndex.findSellerIds("CS:GO Knife", null, null));
+    }
+
+    private static GameObjectTitleEntry titleEntry(Integer id, Integer userId, String title) {
+        GameObjectTitleEntry entry = mock(GameObjectTitleEntry.class);
+        when(entry.getId()).thenReturn(id);
+        when(entry.getUserId()).thenReturn(userId);
+        when(entry.getTitle()).thenReturn(title);
+        return entry;
+    }
+
+    private void save(Integer id, Integer userId, String title) {
+        GameObjectDTO gameObject = new GameObjectDTO();
+        gameObject.setId(id);
+        gameObject.setUserId(userId);
+        gameObject.setTitle(title);
+        sellerSearchIndex.onGameObjectSaved(new GameObjectSavedEvent(gameObject));
+    }
+}
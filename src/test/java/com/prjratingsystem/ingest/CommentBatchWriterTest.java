@@ -0,0 +1,136 @@
+package com.prjratingsystem.ingest;
+
+import com.prjratingsystem.dto.CommentDTO;
+import com.prjratingsystem.event.CommentCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CommentBatchWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CommentIngestionProperties properties;
+    private InMemoryCommentIngestionQueue queue;
+    private CommentBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new CommentIngestionProperties();
+        properties.setMode(CommentIngestionProperties.Mode.MEMORY);
+        properties.setBatchSize(2);
+        queue = new InMemoryCommentIngestionQueue(10);
+        writer = new CommentBatchWriter(queue, properties, jdbcTemplate, eventPublisher, meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteQueueInBatchesAndCountDroppedComments() {
+        PendingComment first = comment(1, 7);
+        PendingComment third = comment(3, 7);
+        queue.offer(first);
+        queue.offer(comment(2, 99));
+        queue.offer(third);
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenReturn(List.of(1), List.of(3));
+
+        writer.flush();
+
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+        assertEquals(0, queue.size());
+        assertEquals(2.0, meterRegistry.get("comments.ingestion.written").counter().count());
+        assertEquals(1.0, meterRegistry.get("comments.ingestion.dropped").counter().count());
+        assertEquals(2, meterRegistry.get("comments.ingestion.flush").timer().count());
+        verify(eventPublisher).publishEvent(new CommentCreatedEvent(
+                new CommentDTO(1, first.message(), 7, first.createdAt(), false)));
+        verify(eventPublisher).publishEvent(new CommentCreatedEvent(
+                new CommentDTO(3, third.message(), 7, third.createdAt(), false)));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldKeepBatchQueued_WhenWriteFails() {
+        queue.offer(comment(1, 7));
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        writer.flush();
+
+        assertEquals(1, queue.size());
+        assertEquals(List.of(1), queue.poll(10).stream().map(PendingComment::id).toList());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldAnnounceCommentDeliveredTwiceInOneBatchOnce() {
+        PendingComment comment = comment(1, 7);
+        queue.offer(comment);
+        queue.offer(comment);
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenReturn(List.of(1));
+
+        writer.flush();
+
+        verify(eventPublisher, times(1)).publishEvent(any(CommentCreatedEvent.class));
+        assertEquals(1.0, meterRegistry.get("comments.ingestion.dropped").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drain_ShouldWaitForRunningFlush() throws Exception {
+        queue.offer(comment(1, 7));
+        queue.offer(comment(2, 7));
+        queue.offer(comment(3, 7));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger concurrentWrites = new AtomicInteger();
+        AtomicInteger maxConcurrentWrites = new AtomicInteger();
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenAnswer(invocation -> {
+            maxConcurrentWrites.accumulateAndGet(concurrentWrites.incrementAndGet(), Math::max);
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            concurrentWrites.decrementAndGet();
+            return List.of();
+        });
+
+        CompletableFuture<Void> scheduledRun = CompletableFuture.runAsync(writer::flush);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> drain = CompletableFuture.runAsync(writer::drain);
+        Thread.sleep(100);
+        assertFalse(drain.isDone());
+        release.countDown();
+
+        CompletableFuture.allOf(scheduledRun, drain).get(5, TimeUnit.SECONDS);
+        assertEquals(1, maxConcurrentWrites.get());
+        assertEquals(0, queue.size());
+    }
+
+    private static PendingComment comment(int id, int sellerId) {
+        return new PendingComment(id, sellerId, "Comment %d".formatted(id), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,131 @@
+package com.prjratingsystem.ingest;
+
+import com.prjratingsystem.dto.CommentDTO;
+import com.prjratingsystem.exception.DuplicateCommentException;
+import com.prjratingsystem.exception.IngestionBufferFullException;
+import com.prjratingsystem.index.CommentFingerprintIndex;
+import com.prjratingsystem.repository.CommentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CommentIngestionBufferTest {
+
+    @Mock
+    private CommentIdAllocator idAllocator;
+
+    @Mock
+    private CommentFingerprintIndex commentFingerprintIndex;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CommentIngestionProperties properties;
+    private InMemoryCommentIngestionQueue queue;
+    private CommentIngestionBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new CommentIngestionProperties();
+        properties.setMode(CommentIngestionProperties.Mode.MEMORY);
+        properties.setFlushInterval(Duration.ofSeconds(2));
+        queue = new InMemoryCommentIngestionQueue(2);
+        buffer = new CommentIngestionBuffer(properties, queue, idAllocator, commentFingerprintIndex, commentRepository, meterRegistry);
+    }
+
+    @Test
+    void submit_ShouldQueueCommentWithAllocatedId() {
+        when(idAllocator.nextId()).thenReturn(51);
+
+        CommentDTO accepted = buffer.submit(7, message("Great seller"));
+
+        assertEquals(51, accepted.getId());
+        assertEquals(7, accepted.getSellerId());
+        assertFalse(accepted.isApproved());
+        List<PendingComment> queued = queue.poll(10);
+        assertEquals(1, queued.size());
+        assertEquals(new PendingComment(51, 7, "Great seller", accepted.getCreatedAt()), queued.get(0));
+        assertEquals(1.0, meterRegistry.get("comments.ingestion.accepted").counter().count());
+    }
+
+    @Test
+    void submit_ShouldAnswerWithStoredEarlierComment_WhenMerged() {
+        CommentDTO earlier = new CommentDTO(12, "Great seller!", 7, LocalDateTime.of(2024, 5, 1, 12, 0), true);
+        when(commentFingerprintIndex.screen(7, "Great seller")).thenReturn(Optional.of(12));
+        when(commentRepository.findDTOById(12)).thenReturn(Optional.of(earlier));
+
+        CommentDTO merged = buffer.submit(7, message("Great seller"));
+
+        assertSame(earlier, merged);
+        assertEquals(0, queue.size());
+        verifyNoInteractions(idAllocator);
+    }
+
+    @Test
+    void submit_ShouldQueueAsNew_WhenMergedCommentIsGone() {
+        when(commentFingerprintIndex.screen(7, "Great seller")).thenReturn(Optional.of(12));
+        when(commentRepository.findDTOById(12)).thenReturn(Optional.empty());
+        when(idAllocator.nextId()).thenReturn(51);
+
+        CommentDTO accepted = buffer.submit(7, message("Great seller"));
+
+        assertEquals(51, accepted.getId());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void submit_ShouldNotQueue_WhenScreenRejects() {
+        when(commentFingerprintIndex.screen(any(), any())).thenThrow(new DuplicateCommentException("duplicate"));
+
+        assertThrows(DuplicateCommentException.class, () -> buffer.submit(7, message("Great seller")));
+
+        assertEquals(0, queue.size());
+        verifyNoInteractions(idAllocator);
+    }
+
+    @Test
+    void submit_ShouldRejectWithRetryAfter_WhenQueueIsFull() {
+        when(idAllocator.nextId()).thenReturn(1, 2, 3);
+        buffer.submit(7, message("one"));
+        buffer.submit(7, message("two"));
+
+        IngestionBufferFullException ex = assertThrows(IngestionBufferFullException.class,
+                () -> buffer.submit(7, message("three")));
+
+        assertEquals(2, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("comments.ingestion.rejected").counter().count());
+        assertEquals(2.0, meterRegistry.get("comments.ingestion.queue.depth").gauge().value());
+    }
+
+    @Test
+    void queue_ShouldHandOutReleasedCommentsFirst() {
+        when(idAllocator.nextId()).thenReturn(1, 2);
+        buffer.submit(7, message("one"));
+        List<PendingComment> leased = queue.poll(10);
+        buffer.submit(7, message("two"));
+
+        assertEquals(2, queue.size());
+        queue.release(leased);
+
+        assertEquals(List.of(1, 2), queue.poll(10).stream().map(PendingComment::id).toList());
+    }
+
+    private static CommentDTO message(String text) {
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setMessage(text);
+        return commentDTO;
+    }
+}
@@ -0,0 +1,110 @@
+package com.prjratingsystem.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.prjratingsystem.model.EmailOutboxMessage;
+import com.prjratingsystem.model.enums.OutboxStatus;
+import com.prjratingsystem.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-03-01T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final EmailOutboxProperties properties = new EmailOutboxProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(outboxRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void dispatch_ShouldSendDueMessagesAndMarkThemSent() throws Exception {
+        List<EmailOutboxMessage> due = List.of(message("a@example.com"), message("b@example.com"));
+        when(outboxRepository.lockDue(NOW, properties.getBatchSize())).thenReturn(due).thenReturn(List.of());
+
+        dispatcher(greenMail.getSmtp().getPort()).dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Password Reset Request", received[0].getSubject());
+        for (EmailOutboxMessage message : due) {
+            assertEquals(OutboxStatus.SENT, message.getStatus());
+            assertEquals(NOW, message.getSentAt());
+            assertEquals(1, message.getAttempts());
+        }
+        assertEquals(2, meterRegistry.get("mail.outbox.sent").counter().count());
+    }
+
+    @Test
+    void dispatch_ShouldBackOffAndEventuallyGiveUp_WhenServerIsDown() {
+        EmailOutboxMessage message = message("a@example.com");
+        when(outboxRepository.lockDue(any(), anyInt())).thenReturn(List.of(message));
+        EmailOutboxDispatcher dispatcher = dispatcher(1);
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(OutboxStatus.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertEquals(NOW.plus(properties.getBaseDelay()), message.getNextAttemptAt());
+        assertNotNull(message.getLastError());
+
+        dispatcher.dispatchBatch();
+        assertEquals(NOW.plus(properties.getBaseDelay().multipliedBy(2)), message.getNextAttemptAt());
+
+        message.setAttempts(properties.getMaxAttempts() - 1);
+        dispatcher.dispatchBatch();
+        assertEquals(OutboxStatus.FAILED, message.getStatus());
+        assertEquals(1, meterRegistry.get("mail.outbox.failed").counter().count());
+    }
+
+    @Test
+    void retryDelay_ShouldDoubleUpToMaxDelay() {
+        assertEquals(properties.getBaseDelay(), properties.retryDelay(1));
+        assertEquals(properties.getBaseDelay().multipliedBy(4), properties.retryDelay(3));
+        assertEquals(properties.getMaxDelay(), properties.retryDelay(40));
+    }
+
+    private EmailOutboxDispatcher dispatcher(int smtpPort) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpPort);
+        return new EmailOutboxDispatcher(outboxRepository, properties, mailSender, transactionManager, meterRegistry, CLOCK);
+    }
+
+    private static EmailOutboxMessage message(String recipient) {
+        return new EmailOutboxMessage("noreply@example.com", recipient, "Password Reset Request",
+                "Your password reset code is: 1234", NOW.minusSeconds(5));
+    }
+}
@@ -0,0 +1,105 @@
+package com.prjratingsystem.purge;
+
+import com.prjratingsystem.repository.CommentRepository;
+import com.prjratingsystem.repository.GameObjectRepository;
+import com.prjratingsystem.repository.RatingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserDataPurgerTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Mock
+    private RatingRepository ratingRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private GameObjectRepository gameObjectRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserDataPurger purger;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        PurgeProperties properties = new PurgeProperties();
+        properties.setChunkSize(CHUNK_SIZE);
+        properties.setChunkPause(Duration.ZERO);
+        purger = new UserDataPurger(ratingRepository, commentRepository, gameObjectRepository, transactionManager,
+                properties, meterRegistry);
+    }
+
+    @Test
+    void purge_ShouldDeleteDependentsFirstInChunksUntilAChunkComesBackShort() {
+        when(ratingRepository.deleteChunkBySellerId(7, CHUNK_SIZE)).thenReturn(2, 1);
+        when(commentRepository.deleteChunkByUserId(7, CHUNK_SIZE)).thenReturn(2, 2, 0);
+        when(gameObjectRepository.deleteChunkByUserId(7, CHUNK_SIZE)).thenReturn(1);
+
+        long deleted = purger.purge(7);
+
+        assertEquals(8, deleted);
+        InOrder inOrder = inOrder(ratingRepository, commentRepository, gameObjectRepository);
+        inOrder.verify(ratingRepository, times(2)).deleteChunkBySellerId(7, CHUNK_SIZE);
+        inOrder.verify(commentRepository, times(3)).deleteChunkByUserId(7, CHUNK_SIZE);
+        inOrder.verify(gameObjectRepository).deleteChunkByUserId(7, CHUNK_SIZE);
+        verify(transactionManager, times(6)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager, times(6)).commit(any());
+        assertEquals(1, meterRegistry.get("users.purge").timer().count());
+    }
+
+    @Test
+    void purge_ShouldRunOneChunkPerTableWhenUserHasNoData() {
+        assertEquals(0, purger.purge(7));
+
+        verify(ratingRepository).deleteChunkBySellerId(7, CHUNK_SIZE);
+        verify(commentRepository).deleteChunkByUserId(7, CHUNK_SIZE);
+        verify(gameObjectRepository).deleteChunkByUserId(7, CHUNK_SIZE);
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void purge_ShouldStopBeforeTheNextChunk_WhenInterrupted() {
+        when(ratingRepository.deleteChunkBySellerId(7, CHUNK_SIZE)).thenAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            return CHUNK_SIZE;
+        });
+
+        try {
+            assertEquals(2, purger.purge(7));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+
+        verify(ratingRepository).deleteChunkBySellerId(7, CHUNK_SIZE);
+        verifyNoInteractions(commentRepository, gameObjectRepository);
+    }
+
+    @Test
+    void purgeDeletedGameObjects_ShouldDeleteFlaggedRowsInChunks() {
+        when(gameObjectRepository.purgeDeletedChunk(CHUNK_SIZE)).thenReturn(2, 1);
+
+        assertEquals(3, purger.purgeDeletedGameObjects());
+        verify(gameObjectRepository, times(2)).purgeDeletedChunk(CHUNK_SIZE);
+        verifyNoInteractions(ratingRepository, commentRepository);
+    }
+}
@@ -0,0 +1,203 @@
+package com.prjratingsystem.purge;
+
+import com.prjratingsystem.dto.PurgeStatusDTO;
+import com.prjratingsystem.repository.GameObjectRepository;
+import com.prjratingsystem.repository.UserRepository;
+import com.prjratingsystem.service.RatingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserPurgeWorkerTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T02:00:00Z");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private GameObjectRepository gameObjectRepository;
+
+    @Mock
+    private UserDataPurger userDataPurger;
+
+    @Mock
+    private RatingService ratingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PurgeProperties properties;
+    private UserPurgeWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        properties = new PurgeProperties();
+        worker = new UserPurgeWorker(userRepository, gameObjectRepository, userDataPurger, ratingService, properties,
+                transactionManager, meterRegistry, new TickingClock());
+    }
+
+    @Test
+    void purge_ShouldPurgeDeletedUsersOutsideTheClaimThenGameObjects() {
+        when(userRepository.lockNextDeleted(any())).thenReturn(Optional.of(5)).thenReturn(Optional.of(6)).thenReturn(Optional.empty());
+        when(userDataPurger.purge(5)).thenReturn(10L);
+        when(userRepository.purgeDeleted(anyInt())).thenReturn(1);
+        when(userDataPurger.purgeDeletedGameObjects()).thenReturn(3L);
+        when(userRepository.countDeleted()).thenReturn(0L);
+        when(gameObjectRepository.countDeleted()).thenReturn(0L);
+
+        worker.purge();
+
+        verify(ratingService).clearSellerRatingStats(5);
+        verify(ratingService).clearSellerRatingStats(6);
+        verify(userRepository).purgeDeleted(5);
+        verify(userRepository).purgeDeleted(6);
+        verify(userRepository).claimForPurge(eq(5), any());
+        verify(userRepository).claimForPurge(eq(6), any());
+        verify(transactionManager, times(5)).getTransaction(any());
+
+        PurgeStatusDTO status = worker.status();
+        assertFalse(status.isRunning());
+        assertNull(status.getCurrentUserId());
+        assertEquals(2, status.getPurgedUsers());
+        assertEquals(3, status.getPurgedGameObjects());
+        assertEquals(15, status.getPurgedRows());
+        assertEquals(LocalDateTime.ofInstant(NOW, ZoneOffset.UTC), status.getLastRunStartedAt());
+        assertNotNull(status.getLastRunFinishedAt());
+        assertEquals(2.0, meterRegistry.get("purge.users").counter().count());
+        assertEquals(15.0, meterRegistry.get("purge.rows").counter().count());
+    }
+
+    @Test
+    void purge_ShouldClaimUsersWhoseLeaseRanOut() {
+        when(userRepository.lockNextDeleted(any())).thenReturn(Optional.of(5), Optional.empty());
+        LocalDateTime startedAt = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+        worker.purge();
+
+        InOrder inOrder = inOrder(userRepository, userDataPurger);
+        inOrder.verify(userRepository).lockNextDeleted(startedAt.plusSeconds(2).minus(properties.getLeaseTime()));
+        inOrder.verify(userRepository).claimForPurge(5, startedAt.plusSeconds(2));
+        inOrder.verify(userDataPurger).purge(5);
+        inOrder.verify(userRepository).purgeDeleted(5);
+    }
+
+    @Test
+    void purge_ShouldKeepTheUserRowAndStop_WhenInterrupted() {
+        when(userRepository.lockNextDeleted(any())).thenReturn(Optional.of(5), Optional.of(6));
+        when(userDataPurger.purge(5)).thenAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            return 4L;
+        });
+
+        try {
+            worker.purge();
+        } finally {
+            Thread.interrupted();
+        }
+
+        verify(userDataPurger).purge(5);
+        verify(userRepository, never()).purgeDeleted(anyInt());
+        verify(ratingService, never()).clearSellerRatingStats(anyInt());
+        verify(userRepository, times(1)).lockNextDeleted(any());
+        assertEquals(4, worker.status().getPurgedRows());
+        assertFalse(worker.status().isRunning());
+    }
+
+    @Test
+    void configureTasks_ShouldScheduleOnConfiguredCron() {
+        properties.setCron("0 0 3 * * *");
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+
+        worker.configureTasks(registrar);
+
+        assertEquals("0 0 3 * * *", registrar.getCronTaskList().get(0).getExpression());
+    }
+
+    @Test
+    void purge_ShouldStopTakingUsersOnceMaxRunTimeIsUsedUp() {
+        properties.setMaxRunTime(Duration.ZERO);
+
+        worker.purge();
+
+        verify(userRepository, never()).lockNextDeleted(any());
+        verify(userDataPurger).purgeDeletedGameObjects();
+    }
+
+    @Test
+    void purge_ShouldDoNothingWhenDisabled() {
+        properties.setEnabled(false);
+
+        worker.purge();
+
+        verifyNoInteractions(userRepository, userDataPurger, ratingService);
+        assertNull(worker.status().getLastRunStartedAt());
+    }
+
+    @Test
+    void purge_ShouldSurviveDatabaseFailures() {
+        when(userRepository.lockNextDeleted(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertDoesNotThrow(() -> worker.purge());
+
+        verify(userDataPurger, never()).purge(anyInt());
+        PurgeStatusDTO status = worker.status();
+        assertFalse(status.isRunning());
+        assertNotNull(status.getLastRunFinishedAt());
+    }
+
+    @Test
+    void status_ShouldReportBacklog() {
+        when(userRepository.countDeleted()).thenReturn(4L);
+        when(gameObjectRepository.countDeleted()).thenReturn(9L);
+
+        PurgeStatusDTO status = worker.status();
+
+        assertEquals(4, status.getPendingUsers());
+        assertEquals(9, status.getPendingGameObjects());
+        assertEquals(0, status.getPurgedUsers());
+    }
+
+    /**
+     * Starts at {@link #NOW} and moves one second forward on every read.
+     */
+    private static class TickingClock extends Clock {
+        private Instant instant = NOW;
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            Instant current = instant;
+            instant = instant.plusSeconds(1);
+            return current;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.prjratingsystem.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private LocalRateLimiter rateLimiter;
+    private RateLimitProperties.Limit limit;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new LocalRateLimiter(now::get);
+        limit = new RateLimitProperties.Limit();
+        limit.setCapacity(3);
+        limit.setPeriod(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowBurstUpToCapacity() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Duration.ZERO, rateLimiter.tryAcquire("ip:1", limit));
+        }
+
+        assertEquals(Duration.ofSeconds(1), rateLimiter.tryAcquire("ip:1", limit));
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("ip:2", limit));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOneTokenPerInterval() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("ip:1", limit);
+        }
+
+        now.addAndGet(Duration.ofMillis(400).toNanos());
+        assertEquals(Duration.ofMillis(600), rateLimiter.tryAcquire("ip:1", limit));
+
+        now.addAndGet(Duration.ofMillis(600).toNanos());
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("ip:1", limit));
+        assertFalse(rateLimiter.tryAcquire("ip:1", limit).isZero());
+    }
+
+    @Test
+    void evictIdle_ShouldDropOnlyFullBuckets() {
+        rateLimiter.tryAcquire("ip:1", limit);
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+        rateLimiter.tryAcquire("ip:2", limit);
+
+        now.addAndGet(Duration.ofMillis(700).toNanos());
+        rateLimiter.evictIdle();
+
+        assertEquals(1, rateLimiter.size());
+    }
+}
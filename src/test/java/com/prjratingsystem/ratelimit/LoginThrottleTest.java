@@ -0,0 +1,121 @@
+package com.prjratingsystem.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final LoginThrottleProperties properties = new LoginThrottleProperties();
+    private final LocalFailureCounter failureCounter = new LocalFailureCounter(properties.longestWindow(), clock::get);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginThrottle throttle = new LoginThrottle(properties, failureCounter, meterRegistry);
+
+    @Test
+    void shouldBackOffExponentiallyAfterFreeAttempts() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Duration.ZERO, throttle.acquire("seller@example.com", "10.0.0.1"));
+        }
+
+        assertEquals(Duration.ofSeconds(1), throttle.acquire("Seller@Example.com ", "10.0.0.2"));
+
+        clock.addAndGet(1_000);
+        assertEquals(Duration.ZERO, throttle.acquire("seller@example.com", "10.0.0.1"));
+        assertEquals(Duration.ofSeconds(2), throttle.acquire("seller@example.com", "10.0.0.2"));
+
+        clock.addAndGet(1_500);
+        assertEquals(Duration.ofMillis(500), throttle.acquire("seller@example.com", "10.0.0.2"));
+        assertEquals(Duration.ZERO, throttle.acquire("other@example.com", "10.0.0.1"));
+        assertEquals(3, meterRegistry.get("login.throttled").tag("scope", "email").counter().count());
+    }
+
+    @Test
+    void shouldLetOnlyFreeAttemptsThroughAConcurrentBurst() throws Exception {
+        Callable<Duration> attempt = () -> throttle.acquire("seller@example.com", "10.0.0.1");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Duration>> results = executor.invokeAll(IntStream.range(0, 50).mapToObj(i -> attempt).toList());
+
+            long allowed = 0;
+            for (Future<Duration> result : results) {
+                allowed += result.get().isZero() ? 1 : 0;
+            }
+            assertEquals(properties.getPerEmail().getFreeAttempts(), allowed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldCapDelayAndForgetFailuresAfterWindow() {
+        for (int i = 0; i < 40; i++) {
+            throttle.acquire("seller@example.com", "10.0.0.1");
+            clock.addAndGet(Duration.ofMinutes(15).toMillis());
+        }
+        clock.addAndGet(-Duration.ofMinutes(15).toMillis());
+        assertEquals(Duration.ofMinutes(15), throttle.acquire("seller@example.com", "10.0.0.2"));
+
+        clock.addAndGet(Duration.ofMinutes(15).toMillis() + 1);
+        assertEquals(Duration.ZERO, throttle.acquire("seller@example.com", "10.0.0.2"));
+        assertEquals(Duration.ZERO, throttle.acquire("seller@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void shouldBlockIpAcrossEmails() {
+        for (int i = 0; i < 20; i++) {
+            throttle.acquire("user%d@example.com".formatted(i), "10.0.0.1");
+        }
+
+        assertEquals(Duration.ofSeconds(1), throttle.acquire("fresh@example.com", "10.0.0.1"));
+        assertEquals(Duration.ZERO, throttle.acquire("fresh@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void blockedIp_ShouldNotCountAgainstEmail() {
+        for (int i = 0; i < 20; i++) {
+            throttle.acquire("user%d@example.com".formatted(i), "10.0.0.1");
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertFalse(throttle.acquire("seller@example.com", "10.0.0.1").isZero());
+        }
+        assertEquals(Duration.ZERO, throttle.acquire("seller@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void successShouldClearEmailAndTakeBackOnlyItsOwnIpAttempt() {
+        for (int i = 0; i < 20; i++) {
+            throttle.acquire("seller@example.com", "10.0.0.%d".formatted(i));
+            throttle.acquire("user%d@example.com".formatted(i), "10.0.0.1");
+        }
+        clock.addAndGet(Duration.ofMinutes(15).toMillis());
+
+        assertEquals(Duration.ZERO, throttle.acquire("seller@example.com", "10.0.0.1"));
+        throttle.recordSuccess("seller@example.com", "10.0.0.1");
+
+        assertEquals(Duration.ZERO, throttle.acquire("seller@example.com", "10.0.0.2"));
+        assertEquals(Duration.ofSeconds(1), throttle.acquire("other@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    void evictIdle_ShouldDropExpiredCounters() {
+        throttle.acquire("seller@example.com", "10.0.0.1");
+        assertEquals(2, failureCounter.size());
+
+        clock.addAndGet(properties.longestWindow().toMillis() + 1);
+        failureCounter.evictIdle();
+
+        assertEquals(0, failureCounter.size());
+    }
+}
@@ -0,0 +1,93 @@
+package com.prjratingsystem.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private FilterChain chain;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setName("comment");
+        route.setPath("/api/comments/sellers/{sellerId}");
+        route.setPerIp(limit(10));
+        route.setPerSeller(limit(60));
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(route));
+        filter = new RateLimitFilter(properties, rateLimiter, meterRegistry);
+
+        when(rateLimiter.tryAcquire(any(), any())).thenReturn(Duration.ZERO);
+    }
+
+    @Test
+    void shouldTakeTokensFromIpAndSellerBuckets() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("POST", "/api/comments/sellers/7"), response, chain);
+
+        verify(rateLimiter).tryAcquire(eq("rl:comment:ip:10.0.0.1"), any());
+        verify(rateLimiter).tryAcquire(eq("rl:comment:seller:7"), any());
+        verify(chain).doFilter(any(), any());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void shouldRejectWithRetryAfter_WhenSellerBucketIsEmpty() throws Exception {
+        when(rateLimiter.tryAcquire(eq("rl:comment:seller:7"), any())).thenReturn(Duration.ofMillis(1500));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("POST", "/api/comments/sellers/7"), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        verifyNoInteractions(chain);
+        assertEquals(1.0, meterRegistry.get("rate_limit.rejected").tag("scope", "seller").counter().count());
+    }
+
+    @Test
+    void shouldIgnoreOtherMethodsAndPaths() throws Exception {
+        filter.doFilter(request("GET", "/api/comments/sellers/7"), new MockHttpServletResponse(), chain);
+        filter.doFilter(request("POST", "/api/comments/sellers/7/comments"), new MockHttpServletResponse(), chain);
+
+        verifyNoInteractions(rateLimiter);
+        verify(chain, times(2)).doFilter(any(), any());
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private static RateLimitProperties.Limit limit(int capacity) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setPeriod(Duration.ofMinutes(1));
+        return limit;
+    }
+}
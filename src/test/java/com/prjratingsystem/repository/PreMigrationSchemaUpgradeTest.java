@@ -0,0 +1,137 @@
+package com.prjratingsystem.repository;
+
+import com.prjratingsystem.model.Comment;
+import com.prjratingsystem.model.GameObject;
+import com.prjratingsystem.model.Rating;
+import com.prjratingsystem.model.SellerRatingStats;
+import com.prjratingsystem.model.User;
+import com.prjratingsystem.model.enums.Role;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations against a database in the state ddl-auto=update left it in before the migrations existed
+ * ({@code db/pre-migration-schema.sql}). The context only starts if Hibernate validates the entities against the
+ * upgraded tables. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class PreMigrationSchemaUpgradeTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withInitScript("db/pre-migration-schema.sql");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private GameObjectRepository gameObjectRepository;
+
+    @Autowired
+    private SellerRatingStatsRepository sellerRatingStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void migrate_ShouldBaselineAtZeroAndApplyEveryMigration() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+
+        assertEquals(List.of("0", "1", "2", "3", "4", "5"), versions);
+    }
+
+    @Test
+    void migrate_ShouldKeepExistingRowsAndBackfillRatingStats() {
+        assertEquals(3, userRepository.count());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT MAX(token_version) FROM users", Integer.class));
+        assertEquals(4, commentRepository.count());
+
+        SellerRatingStats rated = sellerRatingStatsRepository.findById(2).orElseThrow();
+        assertEquals(8L, rated.getRatingSum());
+        assertEquals(2, rated.getRatingCount());
+        assertEquals(4.0, sellerRatingStatsRepository.findById(3).orElseThrow().getAverage());
+    }
+
+    @Test
+    void migrate_ShouldReplaceIdentityColumnsWithSequences() {
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns " +
+                "WHERE table_schema = 'public' AND is_identity = 'YES'", Integer.class));
+    }
+
+    @Test
+    void save_ShouldAllocateIdsAboveTheExistingRows() {
+        User seller = new User();
+        seller.setFirstName("New");
+        seller.setLastName("Seller");
+        seller.setEmail("new@example.com");
+        seller.setPassword("-");
+        seller.setRole(Role.SELLER);
+        seller = userRepository.save(seller);
+
+        Comment comment = new Comment();
+        comment.setMessage("First comment since the upgrade");
+        comment.setUser(seller);
+        comment = commentRepository.save(comment);
+
+        Rating rating = new Rating();
+        rating.setComment(comment);
+        rating.setRatingValue(5);
+        rating = ratingRepository.save(rating);
+
+        GameObject gameObject = new GameObject();
+        gameObject.setTitle("New listing");
+        gameObject.setText("Listing");
+        gameObject.setUser(seller);
+        gameObject = gameObjectRepository.save(gameObject);
+        entityManager.flush();
+
+        assertTrue(seller.getId() > 3, "user id " + seller.getId());
+        assertTrue(comment.getId() > 4, "comment id " + comment.getId());
+        assertTrue(rating.getId() > 3, "rating id " + rating.getId());
+        assertTrue(gameObject.getId() > 1, "game object id " + gameObject.getId());
+    }
+
+    /**
+     * Runs inside the test transaction, which is rolled back afterwards.
+     */
+    @Test
+    void baselineScript_ShouldBeRepeatable() {
+        Long nextUserId = jdbcTemplate.queryForObject("SELECT last_value FROM users_seq", Long.class);
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(dataSource);
+
+        assertEquals(nextUserId, jdbcTemplate.queryForObject("SELECT last_value FROM users_seq", Long.class));
+        assertEquals(3, userRepository.count());
+    }
+}
@@ -0,0 +1,180 @@
+package com.prjratingsystem.repository;
+
+import com.prjratingsystem.model.enums.Role;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the Flyway migrations against a real Postgres and checks that Hibernate validates the entities against the
+ * result. Each query test calls a repository method, captures the statement and bind values Hibernate sends, and asks
+ * the planner how it would run that statement over {@code db/query-plan-data.sql}, expecting the index added for it.
+ * The planner runs with its default settings, so an index only shows up where it beats a sequential scan. Skipped when
+ * Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(SchemaMigrationTest.StatementCaptureConfiguration.class)
+@Sql(scripts = "/db/query-plan-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class SchemaMigrationTest {
+
+    private static final int SELLER_ID = 4_321;
+    private static final List<QueryInfo> CAPTURED = new CopyOnWriteArrayList<>();
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private GameObjectRepository gameObjectRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Test
+    void findCommentsByUserIdAfter_ShouldUseUserIdIdIndex() {
+        assertPlanUses(() -> commentRepository.findDTOsByUserIdAfter(SELLER_ID, 0, Limit.of(50)), "idx_comments_user_id_id");
+    }
+
+    @Test
+    void findPendingComments_ShouldUsePendingIndex() {
+        assertPlanUses(() -> commentRepository.findPendingDTOsAfter(0, Limit.of(50)), "idx_comments_pending");
+    }
+
+    @Test
+    void findCommentsCreatedAfter_ShouldUseCreatedAtIndex() {
+        assertPlanUses(() -> commentRepository.findDTOsCreatedAfter(LocalDateTime.now().minusHours(1)),
+                "idx_comments_created_at");
+    }
+
+    @Test
+    void findGameObjectsByUserIdAfter_ShouldUseUserIdIdIndex() {
+        assertPlanUses(() -> gameObjectRepository.findDTOsByUserIdAfter(SELLER_ID, 0, Limit.of(50)),
+                "idx_game_objects_user_id_id");
+    }
+
+    @Test
+    void findUsersByRoleAfter_ShouldUseRoleIdIndex() {
+        assertPlanUses(() -> userRepository.findDTOsByRoleAfter(Role.ADMIN, 0, Limit.of(50)), "idx_users_role_id");
+    }
+
+    @Test
+    void findPendingSellers_ShouldUsePendingIndex() {
+        assertPlanUses(() -> userRepository.findPendingDTOsByRole(Role.SELLER), "idx_users_pending");
+    }
+
+    @Test
+    void findUserByEmail_ShouldUseUniqueEmailIndex() {
+        assertPlanUses(() -> userRepository.findByEmail("user%d@example.com".formatted(SELLER_ID)), "uk_users_email");
+    }
+
+    @Test
+    void aggregateBySellerId_ShouldUseCommentAndRatingIndexes() {
+        String plan = planOf(() -> ratingRepository.aggregateBySellerId(SELLER_ID));
+
+        assertTrue(plan.contains("idx_comments_user_id_id"), plan);
+        assertTrue(plan.contains("uk_ratings_comment"), plan);
+    }
+
+    @Test
+    void deleteSentBefore_ShouldUseSentIndex() {
+        assertPlanUses(() -> emailOutboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(7)),
+                "idx_email_outbox_sent");
+    }
+
+    @Test
+    void lockDue_ShouldUseDueIndex() {
+        assertPlanUses(() -> emailOutboxRepository.lockDue(LocalDateTime.now(), 50), "idx_email_outbox_due");
+    }
+
+    @Test
+    void lockNextDeleted_ShouldUseDeletedIndex() {
+        assertPlanUses(() -> userRepository.lockNextDeleted(LocalDateTime.now().minusMinutes(30)), "idx_users_deleted");
+    }
+
+    private void assertPlanUses(Runnable repositoryCall, String index) {
+        String plan = planOf(repositoryCall);
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+    /**
+     * Runs the call, then explains the one statement it sent with the same bind values. Statements run inside the test
+     * transaction, which is rolled back afterwards.
+     */
+    private String planOf(Runnable repositoryCall) {
+        CAPTURED.clear();
+        repositoryCall.run();
+        assertEquals(1, CAPTURED.size(), () -> "Expected one statement, got " + CAPTURED.stream().map(QueryInfo::getQuery).toList());
+        QueryInfo statement = CAPTURED.get(0);
+        List<String> lines = jdbcTemplate.query("EXPLAIN " + statement.getQuery(), preparedStatement -> {
+            for (ParameterSetOperation parameter : statement.getParametersList().get(0)) {
+                try {
+                    parameter.getMethod().invoke(preparedStatement, parameter.getArgs());
+                } catch (IllegalAccessException | InvocationTargetException ex) {
+                    throw new SQLException("Could not bind " + parameter.getMethod().getName(), ex);
+                }
+            }
+        }, (resultSet, rowNum) -> resultSet.getString(1));
+        return String.join("\n", lines);
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfiguration {
+
+        /**
+         * Records every statement sent through the data source, with its bind values.
+         */
+        @Bean
+        static BeanPostProcessor statementCapture() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .afterQuery((executionInfo, queries) -> CAPTURED.addAll(queries))
+                            .build();
+                }
+            };
+        }
+    }
+}
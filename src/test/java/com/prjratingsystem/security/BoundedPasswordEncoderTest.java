@@ -0,0 +1,117 @@
+package com.prjratingsystem.security;
+
+import com.prjratingsystem.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldHashOnPoolAndRecordLatency() {
+        PasswordHashingProperties properties = properties(2, 4);
+        properties.setStrength(4);
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(properties, meterRegistry)) {
+            String hash = encoder.encode("secret");
+
+            assertTrue(encoder.matches("secret", hash));
+            assertFalse(encoder.matches("wrong", hash));
+            assertEquals(1, meterRegistry.get("password.hash").tag("operation", "encode").timer().count());
+            assertEquals(2, meterRegistry.get("password.hash").tag("operation", "matches").timer().count());
+        }
+    }
+
+    @Test
+    void upgradeEncoding_ShouldDetectLowerStrength() {
+        PasswordHashingProperties properties = properties(1, 1);
+        properties.setStrength(6);
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(properties, meterRegistry)) {
+            assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+            assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        }
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, properties(1, 1), meterRegistry)) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+            while (meterRegistry.get("password.hash.queue.depth").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("c"));
+            assertEquals(1, meterRegistry.get("password.hash.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void shouldGiveUpAfterTimeout() {
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        PasswordHashingProperties properties = properties(1, 1);
+        properties.setTimeout(Duration.ofMillis(50));
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, properties, meterRegistry)) {
+            assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("a"));
+        }
+    }
+
+    private static PasswordHashingProperties properties(int threads, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        return properties;
+    }
+}
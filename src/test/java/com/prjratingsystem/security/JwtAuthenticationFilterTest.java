@@ -0,0 +1,200 @@
+package com.prjratingsystem.security;
+
+import com.prjratingsystem.event.UserChangedEvent;
+import com.prjratingsystem.model.User;
+import com.prjratingsystem.repository.UserRepository;
+import com.prjratingsystem.repository.projection.UserTokenVersion;
+import com.prjratingsystem.service.impl.UserDetailsServiceImpl;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private FilterChain chain;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-18T12:00:00Z"), ZoneOffset.UTC);
+
+    private final JwtProperties properties = new JwtProperties();
+    private JwtUtil jwtUtil;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        jwtUtil = new JwtUtil(properties);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        revocationList = new TokenRevocationList(userRepository, redisTemplate, properties, clock);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_ShouldAuthenticateFromClaimsWithoutLoadingUser() throws Exception {
+        properties.setMode(JwtProperties.Mode.STATELESS);
+
+        Authentication authentication = filter(jwtUtil.generateAccessToken(JwtUtilTest.seller()));
+
+        assertNotNull(authentication);
+        assertEquals("seller@example.com", authentication.getName());
+        assertEquals(AuthorityUtils.createAuthorityList("ROLE_SELLER"), authentication.getAuthorities());
+        verifyNoInteractions(userDetailsService, userRepository);
+    }
+
+    @Test
+    void lookupMode_ShouldLoadUser() throws Exception {
+        when(userDetailsService.loadUserByUsername("seller@example.com")).thenReturn(
+                new org.springframework.security.core.userdetails.User("seller@example.com", "-",
+                        AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+
+        Authentication authentication = filter(jwtUtil.generateAccessToken(JwtUtilTest.seller()));
+
+        assertEquals(AuthorityUtils.createAuthorityList("ROLE_ADMIN"), authentication.getAuthorities());
+    }
+
+    @Test
+    void shouldIgnoreRevokedAccessToken() throws Exception {
+        properties.setMode(JwtProperties.Mode.STATELESS);
+        User seller = JwtUtilTest.seller();
+        String token = jwtUtil.generateAccessToken(seller);
+
+        seller.revokeTokens();
+        new UserChangeBroadcaster(userDetailsService, revocationList, redisTemplate)
+                .onUserChanged(new UserChangedEvent(seller.getId(), seller.getEmail(), seller.getTokenVersion()));
+
+        assertNull(filter(token));
+        assertNotNull(filter(jwtUtil.generateAccessToken(seller)));
+        verify(userDetailsService).evict("seller@example.com");
+        verify(redisTemplate).convertAndSend(UserChangeBroadcaster.USER_CHANGED_CHANNEL, "7:3:seller@example.com");
+    }
+
+    @Test
+    void shouldIgnoreTokensOfDeletedUser() throws Exception {
+        new UserChangeBroadcaster(userDetailsService, revocationList, redisTemplate)
+                .receive("7:%d:seller@example.com".formatted(UserChangedEvent.DELETED));
+
+        assertNull(filter(jwtUtil.generateAccessToken(JwtUtilTest.seller())));
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void deletingUser_ShouldRememberDeletionForAccessTokenLifetime() {
+        new UserChangeBroadcaster(userDetailsService, revocationList, redisTemplate)
+                .onUserChanged(new UserChangedEvent(7, "seller@example.com", UserChangedEvent.DELETED));
+
+        verify(zSetOperations).add(TokenRevocationList.DELETED_USERS_KEY, "7",
+                clock.millis() + properties.getAccessTokenTtl().toMillis());
+        verify(zSetOperations).removeRangeByScore(TokenRevocationList.DELETED_USERS_KEY, Double.NEGATIVE_INFINITY,
+                clock.millis());
+    }
+
+    @Test
+    void load_ShouldRevokeTokensOfUsersDeletedBeforeStartup() throws Exception {
+        properties.setMode(JwtProperties.Mode.STATELESS);
+        when(userRepository.findRevokedTokenVersions()).thenReturn(List.of());
+        when(zSetOperations.rangeByScore(TokenRevocationList.DELETED_USERS_KEY, clock.millis(), Double.POSITIVE_INFINITY))
+                .thenReturn(Set.of("7"));
+
+        revocationList.load();
+
+        assertNull(filter(jwtUtil.generateAccessToken(JwtUtilTest.seller())));
+    }
+
+    @Test
+    void load_ShouldKeepDatabaseRevocations_WhenRedisIsDown() throws Exception {
+        properties.setMode(JwtProperties.Mode.STATELESS);
+        User seller = JwtUtilTest.seller();
+        String token = jwtUtil.generateAccessToken(seller);
+        seller.revokeTokens();
+        when(userRepository.findRevokedTokenVersions()).thenReturn(List.of(new UserTokenVersion() {
+            @Override
+            public Integer getId() {
+                return seller.getId();
+            }
+
+            @Override
+            public Integer getTokenVersion() {
+                return seller.getTokenVersion();
+            }
+        }));
+        when(zSetOperations.rangeByScore(anyString(), anyDouble(), anyDouble()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        revocationList.load();
+
+        assertNull(filter(token));
+        assertNotNull(filter(jwtUtil.generateAccessToken(seller)));
+    }
+
+    @Test
+    void lookupMode_ShouldLeaveRequestUnauthenticated_WhenUserIsGoneOrLookupFails() throws Exception {
+        when(userDetailsService.loadUserByUsername("seller@example.com"))
+                .thenThrow(new UsernameNotFoundException("User not found with email: seller@example.com"))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertNull(filter(jwtUtil.generateAccessToken(JwtUtilTest.seller())));
+        assertNull(filter(jwtUtil.generateAccessToken(JwtUtilTest.seller())));
+    }
+
+    @Test
+    void shouldIgnoreRefreshTokenAndUnapprovedClaims() throws Exception {
+        properties.setMode(JwtProperties.Mode.STATELESS);
+        User pending = JwtUtilTest.seller();
+        pending.setApproved(false);
+
+        assertNull(filter(jwtUtil.generateRefreshToken(JwtUtilTest.seller())));
+        assertNull(filter(jwtUtil.generateAccessToken(pending)));
+    }
+
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.addHeader("Authorization", "Bearer %s".formatted(token));
+
+        new JwtAuthenticationFilter(jwtUtil, userDetailsService, revocationList, properties)
+                .doFilter(request, new MockHttpServletResponse(), chain);
+
+        verify(chain, atLeastOnce()).doFilter(any(), any());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,90 @@
+package com.prjratingsystem.security;
+
+import com.prjratingsystem.model.User;
+import com.prjratingsystem.model.enums.Role;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil(new JwtProperties());
+
+    static User seller() {
+        User user = new User();
+        user.setId(7);
+        user.setEmail("seller@example.com");
+        user.setRole(Role.SELLER);
+        user.setApproved(true);
+        user.setTokenVersion(2);
+        return user;
+    }
+
+    @Test
+    void parseVerifiedClaims_ShouldReturnSubjectOfValidToken() {
+        String token = jwtUtil.generateAccessToken(seller());
+
+        Optional<Claims> claims = jwtUtil.parseVerifiedClaims(token);
+
+        assertEquals("seller@example.com", claims.map(Claims::getSubject).orElseThrow());
+        assertTrue(jwtUtil.validateToken(token));
+        assertEquals("seller@example.com", jwtUtil.extractUsername(token));
+    }
+
+    @Test
+    void generateAccessToken_ShouldEmbedRoleApprovalAndVersion() {
+        Claims claims = jwtUtil.parseVerifiedClaims(jwtUtil.generateAccessToken(seller())).orElseThrow();
+
+        assertEquals(7, claims.get(JwtUtil.CLAIM_USER_ID, Integer.class));
+        assertEquals("SELLER", claims.get(JwtUtil.CLAIM_ROLE, String.class));
+        assertEquals(true, claims.get(JwtUtil.CLAIM_APPROVED, Boolean.class));
+        assertEquals(2, claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Integer.class));
+        assertFalse(JwtUtil.isRefreshToken(claims));
+        long lifetime = claims.getExpiration().getTime() - claims.getIssuedAt().getTime();
+        assertEquals(Duration.ofMinutes(15).toMillis(), lifetime);
+    }
+
+    @Test
+    void generateRefreshToken_ShouldCarryNoAuthorities() {
+        Claims claims = jwtUtil.parseVerifiedClaims(jwtUtil.generateRefreshToken(seller())).orElseThrow();
+
+        assertTrue(JwtUtil.isRefreshToken(claims));
+        assertNull(claims.get(JwtUtil.CLAIM_ROLE));
+        assertEquals(2, claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Integer.class));
+    }
+
+    @Test
+    void parseVerifiedClaims_ShouldServeRepeatedTokenFromCache() {
+        String token = jwtUtil.generateAccessToken(seller());
+
+        Claims first = jwtUtil.parseVerifiedClaims(token).orElseThrow();
+        Claims second = jwtUtil.parseVerifiedClaims(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void parseVerifiedClaims_ShouldRejectTamperedToken() {
+        String token = jwtUtil.generateAccessToken(seller());
+        jwtUtil.parseVerifiedClaims(token);
+        String[] parts = token.split("\\.");
+        String tampered = "%s.%s.%s".formatted(parts[0], parts[1], parts[2].substring(0, parts[2].length() - 2) + "AA");
+
+        assertTrue(jwtUtil.parseVerifiedClaims(tampered).isEmpty());
+        assertTrue(jwtUtil.parseVerifiedClaims("not-a-token").isEmpty());
+        assertTrue(jwtUtil.parseVerifiedClaims(null).isEmpty());
+        assertNull(jwtUtil.extractUsername("not-a-token"));
+    }
+
+    @Test
+    void parseVerifiedClaims_ShouldParseEveryTime_WhenCacheIsDisabled() {
+        JwtUtil uncached = new JwtUtil(new JwtProperties(), 0);
+        String token = uncached.generateAccessToken(seller());
+
+        assertNotSame(uncached.parseVerifiedClaims(token).orElseThrow(), uncached.parseVerifiedClaims(token).orElseThrow());
+    }
+}
@@ -1,26 +1,45 @@
 package com.prjratingsystem.service.impl;
 
 import com.prjratingsystem.dto.CommentDTO;
+import com.prjratingsystem.dto.CommentReviewDTO;
+import com.prjratingsystem.dto.CommentReviewResultDTO;
+import com.prjratingsystem.dto.RatingDTO;
+import com.prjratingsystem.dto.CursorPage;
+import com.prjratingsystem.dto.PurgeStatusDTO;
 import com.prjratingsystem.dto.UserDTO;
+import com.prjratingsystem.event.UserChangedEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
 import com.prjratingsystem.exception.CommentNotFoundException;
 import com.prjratingsystem.exception.UserNotFoundException;
 import com.prjratingsystem.model.Comment;
 import com.prjratingsystem.model.User;
+import com.prjratingsystem.purge.UserPurgeWorker;
 import com.prjratingsystem.model.enums.Role;
 import com.prjratingsystem.repository.CommentRepository;
+import com.prjratingsystem.repository.GameObjectRepository;
 import com.prjratingsystem.repository.UserRepository;
+import com.prjratingsystem.repository.projection.CommentSellerEntry;
 import com.prjratingsystem.service.RatingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +54,18 @@ class AdminServiceImplTest {
     @Mock
     private RatingService ratingService;
 
+    @Mock
+    private GameObjectRepository gameObjectRepository;
+
+    @Mock
+    private UserPurgeWorker userPurgeWorker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private AdminServiceImpl adminService;
 
@@ -45,14 +76,11 @@ class AdminServiceImplTest {
 
     @Test
     void getPendingSellers_ShouldReturnListOfPendingSellerDTOs() {
-        List<User> pendingSellers = new ArrayList<>();
-        User seller = new User();
-        seller.setId(1);
-        seller.setRole(Role.SELLER);
-        pendingSellers.add(seller);
+        List<UserDTO> pendingSellers = new ArrayList<>();
+        pendingSellers.add(new UserDTO(1, "First", "Last", "seller@example.com", Role.SELLER, false));
 
-        when(userRepository.findByApprovedFalseAndRole(Role.SELLER)).thenReturn(pendingSellers);
-        when(ratingService.calculateSellerRating(anyInt())).thenReturn(4.5);
+        when(userRepository.findPendingDTOsByRole(Role.SELLER)).thenReturn(pendingSellers);
+        when(ratingService.calculateSellerRatings(List.of(1))).thenReturn(Map.of(1, 4.5));
 
         List<UserDTO> result = adminService.getPendingSellers();
 
@@ -61,10 +89,33 @@ class AdminServiceImplTest {
         assertEquals(4.5, result.get(0).getAverageRating());
     }
 
+    @Test
+    void getPendingSellers_ShouldResolveRatingsWithOneBulkCall_RegardlessOfListSize() {
+        List<UserDTO> pendingSellers = new ArrayList<>();
+        Map<Integer, Double> averages = new HashMap<>();
+        for (int id = 1; id <= 200; id++) {
+            pendingSellers.add(new UserDTO(id, "First", "Last", "seller%d@example.com".formatted(id), Role.SELLER, false));
+            averages.put(id, id % 3 == 0 ? 0.0 : 1 + id % 5 * 0.75);
+        }
+
+        when(userRepository.findPendingDTOsByRole(Role.SELLER)).thenReturn(pendingSellers);
+        when(ratingService.calculateSellerRatings(anyCollection())).thenReturn(averages);
+
+        List<UserDTO> result = adminService.getPendingSellers();
+
+        assertEquals(200, result.size());
+        result.forEach(seller -> assertEquals(averages.get(seller.getId()), seller.getAverageRating(),
+                () -> "average of seller " + seller.getId()));
+        verify(userRepository, times(1)).findPendingDTOsByRole(Role.SELLER);
+        verify(ratingService, times(1)).calculateSellerRatings(anyCollection());
+        verify(ratingService, never()).calculateSellerRating(anyInt());
+    }
+
     @Test
     void approveSeller_ShouldApproveSeller() {
         User seller = new User();
         seller.setId(1);
+        seller.setEmail("seller@example.com");
         seller.setApproved(false);
 
         when(userRepository.findById(anyInt())).thenReturn(Optional.of(seller));
@@ -73,6 +124,7 @@ class AdminServiceImplTest {
 
         assertTrue(seller.getApproved());
         verify(userRepository).save(seller);
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1, "seller@example.com", 0));
     }
 
     @Test
@@ -83,15 +135,22 @@ class AdminServiceImplTest {
     }
 
     @Test
-    void declineSeller_ShouldDeleteSeller() {
+    void declineSeller_ShouldMarkSellerAndGameObjectsDeleted() {
         User seller = new User();
         seller.setId(1);
+        seller.setEmail("seller@example.com");
 
         when(userRepository.findById(anyInt())).thenReturn(Optional.of(seller));
 
         adminService.declineSeller(1);
 
-        verify(userRepository).delete(seller);
+        assertNotNull(seller.getDeletedAt());
+        assertEquals("deleted-1@deleted.invalid", seller.getEmail());
+        verify(gameObjectRepository).markDeletedByUserId(1, seller.getDeletedAt());
+        verify(ratingService).clearSellerRatingStats(1);
+        verify(userRepository, never()).delete(any(User.class));
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(1));
+        verify(eventPublisher).publishEvent(UserChangedEvent.deleted(1, "seller@example.com"));
     }
 
     @Test
@@ -103,31 +162,33 @@ class AdminServiceImplTest {
 
     @Test
     void getPendingComments_ShouldReturnListOfPendingCommentDTOs() {
-        User user = new User();
-        user.setId(1);
-
-        List<Comment> pendingComments = new ArrayList<>();
-        Comment comment = new Comment();
-        comment.setId(1);
-        comment.setUser(user);
-        pendingComments.add(comment);
+        List<CommentDTO> pendingComments = new ArrayList<>();
+        pendingComments.add(new CommentDTO(1, "Pending comment", 1, null, false));
 
-        when(commentRepository.findByApprovedFalse()).thenReturn(pendingComments);
+        when(commentRepository.findPendingDTOsAfter(0, Limit.of(51))).thenReturn(pendingComments);
 
-        List<CommentDTO> result = adminService.getPendingComments();
+        CursorPage<CommentDTO> result = adminService.getPendingComments(null, 50);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(1, result.get(0).getId());
+        assertEquals(1, result.getItems().size());
+        assertEquals(1, result.getItems().get(0).getId());
+        assertEquals(1, result.getItems().get(0).getSellerId());
+    }
+
+    @Test
+    void countPendingComments_ShouldReturnQueueSize() {
+        when(commentRepository.countPending()).thenReturn(50_000L);
+
+        assertEquals(50_000L, adminService.countPendingComments());
+        verify(commentRepository, never()).findPendingDTOsAfter(anyInt(), any(Limit.class));
     }
 
     @Test
     void reviewComment_ShouldApproveCommentAndCreateRating() {
-        Comment comment = new Comment();
-        comment.setId(1);
-        comment.setApproved(false);
+        Comment comment = pendingComment(1, 10);
 
         when(commentRepository.findById(anyInt())).thenReturn(Optional.of(comment));
+        when(userRepository.existsById(10)).thenReturn(true);
 
         adminService.reviewComment(1, true, 5);
 
@@ -143,14 +204,102 @@ class AdminServiceImplTest {
         assertThrows(CommentNotFoundException.class, () -> adminService.reviewComment(1, true, 5));
     }
 
+    @Test
+    void reviewComment_ShouldThrowCommentNotFoundException_WhenSellerIsDeleted() {
+        when(commentRepository.findById(anyInt())).thenReturn(Optional.of(pendingComment(1, 10)));
+        when(userRepository.existsById(10)).thenReturn(false);
+
+        assertThrows(CommentNotFoundException.class, () -> adminService.reviewComment(1, true, 5));
+        verify(ratingService, never()).createRating(any());
+    }
+
+    @Test
+    void getPurgeStatus_ShouldReportWorkerStatus() {
+        PurgeStatusDTO status = new PurgeStatusDTO(false, null, null, null, 3, 1, 40, 2, 0);
+        when(userPurgeWorker.status()).thenReturn(status);
+
+        assertEquals(status, adminService.getPurgeStatus());
+    }
+
     @Test
     void reviewComment_ShouldThrowIllegalArgumentException_WhenRatingValueIsNull() {
-        Comment comment = new Comment();
-        comment.setId(1);
-        comment.setApproved(false);
+        Comment comment = pendingComment(1, 10);
 
         when(commentRepository.findById(anyInt())).thenReturn(Optional.of(comment));
+        when(userRepository.existsById(10)).thenReturn(true);
 
         assertThrows(IllegalArgumentException.class, () -> adminService.reviewComment(1, true, null));
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reviewComments_ShouldReportOutcomePerItemInRequestOrder() {
+        CommentSellerEntry first = commentSeller(1, 10);
+        CommentSellerEntry second = commentSeller(2, 10);
+        CommentSellerEntry third = commentSeller(3, 20);
+        when(commentRepository.findSellerEntries(List.of(1, 2, 3, 4))).thenReturn(List.of(first, second, third));
+        when(ratingService.createRatings(anyMap())).thenReturn(Set.of(1));
+
+        List<CommentReviewResultDTO> results = adminService.reviewComments(List.of(
+                new CommentReviewDTO(1, true, 5),
+                new CommentReviewDTO(2, true, 4),
+                new CommentReviewDTO(3, false, null),
+                new CommentReviewDTO(4, false, null),
+                new CommentReviewDTO(5, true, null),
+                new CommentReviewDTO(1, false, null)));
+
+        assertEquals(List.of(
+                        CommentReviewResultDTO.Status.APPROVED,
+                        CommentReviewResultDTO.Status.APPROVED,
+                        CommentReviewResultDTO.Status.REJECTED,
+                        CommentReviewResultDTO.Status.NOT_FOUND,
+                        CommentReviewResultDTO.Status.INVALID,
+                        CommentReviewResultDTO.Status.INVALID),
+                results.stream().map(CommentReviewResultDTO::getStatus).toList());
+        assertNull(results.get(0).getMessage());
+        assertNotNull(results.get(1).getMessage());
+
+        verify(commentRepository).updateApproved(List.of(1, 2), true);
+        verify(commentRepository).updateApproved(List.of(3), false);
+        verify(commentRepository, never()).findById(anyInt());
+        verify(commentRepository, never()).save(any(Comment.class));
+
+        ArgumentCaptor<Map<Integer, List<RatingDTO>>> ratings = ArgumentCaptor.forClass(Map.class);
+        verify(ratingService).createRatings(ratings.capture());
+        assertEquals(Set.of(10), ratings.getValue().keySet());
+        assertEquals(2, ratings.getValue().get(10).size());
+        verify(ratingService, never()).createRating(any());
+    }
+
+    @Test
+    void reviewComments_ShouldApplyLargeRequestsInChunks() {
+        List<CommentReviewDTO> reviews = IntStream.rangeClosed(1, AdminServiceImpl.REVIEW_CHUNK_SIZE * 2 + 1)
+                .mapToObj(id -> new CommentReviewDTO(id, false, null))
+                .toList();
+        when(commentRepository.findSellerEntries(anyList())).thenReturn(List.of());
+        when(ratingService.createRatings(anyMap())).thenReturn(Set.of());
+
+        List<CommentReviewResultDTO> results = adminService.reviewComments(reviews);
+
+        assertEquals(reviews.size(), results.size());
+        verify(commentRepository, times(3)).findSellerEntries(anyList());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    private CommentSellerEntry commentSeller(Integer commentId, Integer sellerId) {
+        CommentSellerEntry entry = mock(CommentSellerEntry.class);
+        when(entry.getId()).thenReturn(commentId);
+        when(entry.getSellerId()).thenReturn(sellerId);
+        return entry;
+    }
+
+    private static Comment pendingComment(Integer commentId, Integer sellerId) {
+        User seller = new User();
+        seller.setId(sellerId);
+        Comment comment = new Comment();
+        comment.setId(commentId);
+        comment.setApproved(false);
+        comment.setUser(seller);
+        return comment;
+    }
+}
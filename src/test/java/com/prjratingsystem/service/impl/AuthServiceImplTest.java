@@ -0,0 +1,163 @@
+package com.prjratingsystem.service.impl;
+
+import com.prjratingsystem.model.User;
+import com.prjratingsystem.model.enums.Role;
+import com.prjratingsystem.ratelimit.LoginThrottle;
+import com.prjratingsystem.repository.UserRepository;
+import com.prjratingsystem.security.JwtProperties;
+import com.prjratingsystem.security.JwtUtil;
+import com.prjratingsystem.security.PasswordHashingProperties;
+import com.prjratingsystem.service.EmailService;
+import com.prjratingsystem.service.PasswordResetService;
+import com.prjratingsystem.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PasswordResetService passwordResetService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    private final JwtUtil jwtUtil = new JwtUtil(new JwtProperties());
+    private final PasswordHashingProperties passwordHashingProperties = new PasswordHashingProperties();
+    private AuthServiceImpl authService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        authService = new AuthServiceImpl(userRepository, userService, emailService, passwordResetService,
+                passwordEncoder, jwtUtil, redisTemplate, passwordHashingProperties, loginThrottle);
+
+        user = new User();
+        user.setId(1);
+        user.setEmail("seller@example.com");
+        user.setPassword("storedHash");
+        user.setRole(Role.SELLER);
+        user.setApproved(true);
+
+        lenient().when(loginThrottle.acquire(anyString(), anyString())).thenReturn(Duration.ZERO);
+    }
+
+    @Test
+    void login_ShouldRehashPassword_WhenStrengthWasRaised() {
+        when(userRepository.findByEmail("seller@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "storedHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("storedHash")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("strongerHash");
+
+        ResponseEntity<?> response = authService.login(Map.of("email", "seller@example.com", "password", "secret"), "10.0.0.1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(loginThrottle).recordSuccess("seller@example.com", "10.0.0.1");
+        assertEquals("strongerHash", user.getPassword());
+        assertEquals(0, user.getTokenVersion());
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void login_ShouldNotRehash_WhenDisabled() {
+        passwordHashingProperties.setRehashOnLogin(false);
+        when(userRepository.findByEmail("seller@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "storedHash")).thenReturn(true);
+
+        authService.login(Map.of("email", "seller@example.com", "password", "secret"), "10.0.0.1");
+
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void login_ShouldRejectWrongPasswordWithoutRehash() {
+        when(userRepository.findByEmail("seller@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("wrong", "storedHash")).thenReturn(false);
+
+        ResponseEntity<?> response = authService.login(Map.of("email", "seller@example.com", "password", "wrong"), "10.0.0.1");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(passwordEncoder, never()).upgradeEncoding(anyString());
+        verify(loginThrottle).acquire("seller@example.com", "10.0.0.1");
+        verify(loginThrottle, never()).recordSuccess(anyString(), anyString());
+    }
+
+    @Test
+    void login_ShouldKeepAttemptCounted_WhenAccountIsNotApproved() {
+        user.setApproved(false);
+        when(userRepository.findByEmail("seller@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("secret", "storedHash")).thenReturn(true);
+
+        ResponseEntity<?> response = authService.login(Map.of("email", "seller@example.com", "password", "secret"), "10.0.0.1");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(loginThrottle, never()).recordSuccess(anyString(), anyString());
+    }
+
+    @Test
+    void login_ShouldRejectThrottledAttemptBeforeLookup() {
+        when(loginThrottle.acquire("seller@example.com", "10.0.0.1")).thenReturn(Duration.ofMillis(1_500));
+
+        ResponseEntity<?> response = authService.login(
+                Map.of("email", "seller@example.com", "password", "secret"), "10.0.0.1");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verifyNoInteractions(userRepository, passwordEncoder);
+    }
+
+    @Test
+    void refresh_ShouldIssueNewTokens_WhenVersionIsCurrent() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
+        ResponseEntity<?> response = authService.refresh(Map.of("refreshToken", jwtUtil.generateRefreshToken(user)));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(((Map<?, ?>) response.getBody()).containsKey("token"));
+    }
+
+    @Test
+    void refresh_ShouldRejectRevokedOrAccessTokens() {
+        String refreshToken = jwtUtil.generateRefreshToken(user);
+        user.revokeTokens();
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, authService.refresh(Map.of("refreshToken", refreshToken)).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED,
+                authService.refresh(Map.of("refreshToken", jwtUtil.generateAccessToken(user))).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, authService.refresh(Map.of()).getStatusCode());
+    }
+}
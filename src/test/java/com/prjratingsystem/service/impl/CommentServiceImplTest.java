@@ -2,23 +2,31 @@ package com.prjratingsystem.service.impl;
 
 import com.prjratingsystem.dto.CommentDTO;
 import com.prjratingsystem.dto.CommentWithSellerRequestDTO;
+import com.prjratingsystem.dto.CursorPage;
+import com.prjratingsystem.event.CommentCreatedEvent;
+import com.prjratingsystem.event.CommentDeletedEvent;
 import com.prjratingsystem.exception.CommentNotFoundException;
+import com.prjratingsystem.exception.DuplicateCommentException;
 import com.prjratingsystem.exception.UserAlreadyExistsException;
 import com.prjratingsystem.exception.UserNotFoundException;
+import com.prjratingsystem.index.CommentFingerprintIndex;
 import com.prjratingsystem.model.Comment;
 import com.prjratingsystem.model.User;
 import com.prjratingsystem.repository.CommentRepository;
-import com.prjratingsystem.repository.RatingRepository;
 import com.prjratingsystem.repository.UserRepository;
+import com.prjratingsystem.service.RatingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,7 +42,13 @@ class CommentServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private RatingRepository ratingRepository;
+    private RatingService ratingService;
+
+    @Mock
+    private CommentFingerprintIndex commentFingerprintIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private CommentServiceImpl commentService;
@@ -64,6 +78,32 @@ class CommentServiceImplTest {
         assertNotNull(result);
         assertEquals("Test message", result.getMessage());
         assertEquals(1, result.getSellerId());
+        verify(eventPublisher).publishEvent(new CommentCreatedEvent(result));
+    }
+
+    @Test
+    void createComment_ShouldReturnEarlierComment_WhenMerged() {
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setMessage("Test message");
+        CommentDTO existing = new CommentDTO(5, "Test message!", 1, null, false);
+
+        when(commentFingerprintIndex.screen(1, "Test message")).thenReturn(Optional.of(5));
+        when(commentRepository.findDTOById(5)).thenReturn(Optional.of(existing));
+
+        assertSame(existing, commentService.createComment(1, commentDTO));
+        verify(commentRepository, never()).save(any(Comment.class));
+        verifyNoInteractions(userRepository, eventPublisher);
+    }
+
+    @Test
+    void createComment_ShouldNotTouchDatabase_WhenRejectedAsDuplicate() {
+        CommentDTO commentDTO = new CommentDTO();
+        commentDTO.setMessage("Test message");
+
+        when(commentFingerprintIndex.screen(1, "Test message")).thenThrow(new DuplicateCommentException("duplicate"));
+
+        assertThrows(DuplicateCommentException.class, () -> commentService.createComment(1, commentDTO));
+        verifyNoInteractions(userRepository, commentRepository, eventPublisher);
     }
 
     @Test
@@ -103,6 +143,21 @@ class CommentServiceImplTest {
         assertEquals(1, result.getSellerId());
     }
 
+    @Test
+    void createCommentWithSellerRequest_ShouldReturnEarlierComment_WhenMerged() throws UserAlreadyExistsException {
+        CommentWithSellerRequestDTO requestDTO = new CommentWithSellerRequestDTO();
+        requestDTO.setSellerEmail("test@example.com");
+        requestDTO.setMessage("Test message");
+        CommentDTO existing = new CommentDTO(5, "Test message!", 1, null, false);
+
+        when(commentFingerprintIndex.screen(null, "Test message")).thenReturn(Optional.of(5));
+        when(commentRepository.findDTOById(5)).thenReturn(Optional.of(existing));
+
+        assertSame(existing, commentService.createCommentWithSellerRequest(requestDTO));
+        verify(commentRepository, never()).save(any(Comment.class));
+        verifyNoInteractions(userRepository, eventPublisher);
+    }
+
     @Test
     void createCommentWithSellerRequest_ShouldThrowUserAlreadyExistsException() {
         CommentWithSellerRequestDTO requestDTO = new CommentWithSellerRequestDTO();
@@ -115,48 +170,57 @@ class CommentServiceImplTest {
 
     @Test
     void getCommentsBySellerId_ShouldReturnListOfCommentDTOs() {
-        User seller = new User();
-        seller.setId(1);
+        List<CommentDTO> comments = new ArrayList<>();
+        comments.add(new CommentDTO(1, "First", 1, null, true));
+        comments.add(new CommentDTO(2, "Second", 1, null, false));
 
-        User commentUser = new User();
-        commentUser.setId(2);
+        when(userRepository.existsById(anyInt())).thenReturn(true);
+        when(commentRepository.findDTOsByUserIdAfter(anyInt(), anyInt(), any(Limit.class))).thenReturn(comments);
 
-        List<Comment> comments = new ArrayList<>();
-        Comment comment1 = new Comment();
-        comment1.setUser(commentUser);
-        Comment comment2 = new Comment();
-        comment2.setUser(commentUser);
+        CursorPage<CommentDTO> result = commentService.getCommentsBySellerId(1, null, 50);
 
-        comments.add(comment1);
-        comments.add(comment2);
+        assertNotNull(result);
+        assertEquals(2, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
 
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(seller));
-        when(commentRepository.findByUserId(anyInt())).thenReturn(comments);
+    @Test
+    void getCommentsBySellerId_ShouldThrowUserNotFoundException() {
+        when(userRepository.existsById(anyInt())).thenReturn(false);
 
-        List<CommentDTO> result = commentService.getCommentsBySellerId(1);
+        assertThrows(UserNotFoundException.class, () -> commentService.getCommentsBySellerId(1, null, 50));
+    }
 
-        assertNotNull(result);
-        assertEquals(2, result.size());
+    @Test
+    void exportCommentsBySellerId_ShouldStreamSellerComments() {
+        CommentDTO comment = new CommentDTO(1, "Great seller", 1, null, true);
+        when(commentRepository.streamAsDTOsByUserId(1)).thenReturn(Stream.of(comment));
+
+        List<CommentDTO> exported = new ArrayList<>();
+        commentService.exportCommentsBySellerId(1, exported::add);
+
+        assertEquals(List.of(comment), exported);
     }
 
     @Test
-    void getCommentsBySellerId_ShouldThrowUserNotFoundException() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+    void checkSellerExists_ShouldPassForKnownSeller() {
+        when(userRepository.existsById(1)).thenReturn(true);
 
-        assertThrows(UserNotFoundException.class, () -> commentService.getCommentsBySellerId(1));
+        assertDoesNotThrow(() -> commentService.checkSellerExists(1));
     }
 
     @Test
-    void getCommentById_ShouldReturnCommentDTO() {
-        User user = new User();
-        user.setId(2);
+    void checkSellerExists_ShouldThrowUserNotFoundException() {
+        when(userRepository.existsById(1)).thenReturn(false);
 
-        Comment comment = new Comment();
-        comment.setId(1);
-        comment.setMessage("Test message");
-        comment.setUser(user);
+        assertThrows(UserNotFoundException.class, () -> commentService.checkSellerExists(1));
+    }
 
-        when(commentRepository.findById(anyInt())).thenReturn(Optional.of(comment));
+    @Test
+    void getCommentById_ShouldReturnCommentDTO() {
+        CommentDTO comment = new CommentDTO(1, "Test message", 2, null, true);
+
+        when(commentRepository.findDTOById(anyInt())).thenReturn(Optional.of(comment));
 
         CommentDTO result = commentService.getCommentById(1);
 
@@ -167,7 +231,7 @@ class CommentServiceImplTest {
 
     @Test
     void getCommentById_ShouldThrowCommentNotFoundException() {
-        when(commentRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(commentRepository.findDTOById(anyInt())).thenReturn(Optional.empty());
 
         assertThrows(CommentNotFoundException.class, () -> commentService.getCommentById(1));
     }
@@ -213,7 +277,9 @@ class CommentServiceImplTest {
 
         commentService.deleteComment(1);
 
+        verify(ratingService).deleteRatingByCommentId(1);
         verify(commentRepository).delete(comment);
+        verify(eventPublisher).publishEvent(new CommentDeletedEvent(1));
     }
 
     @Test
@@ -1,13 +1,18 @@
 package com.prjratingsystem.service.impl;
 
+import com.prjratingsystem.mail.EmailOutboxProperties;
+import com.prjratingsystem.model.EmailOutboxMessage;
+import com.prjratingsystem.model.enums.OutboxStatus;
+import com.prjratingsystem.repository.EmailOutboxRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.SimpleMailMessage;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -16,38 +21,61 @@ class EmailServiceImplTest {
     @Mock
     private JavaMailSender mailSender;
 
-    @InjectMocks
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    private final EmailOutboxProperties outboxProperties = new EmailOutboxProperties();
+
     private EmailServiceImpl emailService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        emailService = new EmailServiceImpl(mailSender, outboxRepository, outboxProperties);
     }
 
     @Test
-    void sendSellerApprovedEmail_SendsEmail() {
-        doNothing().when(mailSender).send(any(SimpleMailMessage.class));
-
+    void sendSellerApprovedEmail_QueuesEmail() {
         emailService.sendSellerApprovedEmail("test@example.com");
 
-        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+        EmailOutboxMessage queued = captureQueued();
+        assertEquals("test@example.com", queued.getRecipient());
+        assertEquals("Seller Account Approved", queued.getSubject());
+        assertEquals(OutboxStatus.PENDING, queued.getStatus());
+        assertEquals(queued.getCreatedAt(), queued.getNextAttemptAt());
+        verifyNoInteractions(mailSender);
     }
 
     @Test
-    void sendSellerRegistrationEmail_SendsEmailWithConfirmationCode() {
-        doNothing().when(mailSender).send(any(SimpleMailMessage.class));
-
+    void sendSellerRegistrationEmail_QueuesEmailWithConfirmationCode() {
         emailService.sendSellerRegistrationEmail("test@example.com", "confirmationCode");
 
-        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+        assertTrue(captureQueued().getBody().contains("code=confirmationCode"));
+        verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    void sendPasswordResetEmail_QueuesEmailWithResetCode() {
+        emailService.sendPasswordResetEmail("test@example.com", "resetCode");
+
+        assertTrue(captureQueued().getBody().contains("resetCode"));
+        verifyNoInteractions(mailSender);
     }
 
     @Test
-    void sendPasswordResetEmail_SendsEmailWithResetCode() {
+    void sendPasswordResetEmail_SendsEmail_WhenOutboxIsDisabled() {
+        outboxProperties.setEnabled(false);
         doNothing().when(mailSender).send(any(SimpleMailMessage.class));
 
         emailService.sendPasswordResetEmail("test@example.com", "resetCode");
 
         verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+        verifyNoInteractions(outboxRepository);
+    }
+
+    private EmailOutboxMessage captureQueued() {
+        ArgumentCaptor<EmailOutboxMessage> captor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+        verify(outboxRepository).save(captor.capture());
+        return captor.getValue();
     }
-}
\ No newline at end of file
+}
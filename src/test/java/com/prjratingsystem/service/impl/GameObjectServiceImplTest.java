@@ -1,8 +1,14 @@
 package com.prjratingsystem.service.impl;
 
+import com.prjratingsystem.dto.CursorPage;
 import com.prjratingsystem.dto.GameObjectDTO;
+import com.prjratingsystem.dto.TitleSuggestionDTO;
+import com.prjratingsystem.event.GameObjectDeletedEvent;
+import com.prjratingsystem.event.GameObjectSavedEvent;
 import com.prjratingsystem.exception.GameObjectNotFoundException;
 import com.prjratingsystem.exception.UserNotFoundException;
+import com.prjratingsystem.index.GameObjectSearchIndex;
+import com.prjratingsystem.index.GameTitleSuggestIndex;
 import com.prjratingsystem.model.GameObject;
 import com.prjratingsystem.model.User;
 import com.prjratingsystem.repository.GameObjectRepository;
@@ -13,10 +19,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,6 +42,15 @@ class GameObjectServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private GameObjectSearchIndex gameObjectSearchIndex;
+
+    @Mock
+    private GameTitleSuggestIndex gameTitleSuggestIndex;
+
     @InjectMocks
     private GameObjectServiceImpl gameObjectService;
 
@@ -71,6 +90,7 @@ class GameObjectServiceImplTest {
         assertEquals(1, result.getUserId());
         verify(userRepository).findById(1);
         verify(gameObjectRepository).save(any(GameObject.class));
+        verify(eventPublisher).publishEvent(any(GameObjectSavedEvent.class));
     }
 
     @Test
@@ -87,7 +107,8 @@ class GameObjectServiceImplTest {
 
     @Test
     void getGameObjectById_ShouldReturnGameObjectDTO() {
-        when(gameObjectRepository.findById(1)).thenReturn(Optional.of(testGameObject));
+        when(gameObjectRepository.findDTOById(1))
+                .thenReturn(Optional.of(new GameObjectDTO(1, "Test Game", "Test Description", 1, null, null)));
 
         GameObjectDTO result = gameObjectService.getGameObjectById(1);
 
@@ -96,32 +117,27 @@ class GameObjectServiceImplTest {
         assertEquals("Test Game", result.getTitle());
         assertEquals("Test Description", result.getText());
         assertEquals(1, result.getUserId());
-        verify(gameObjectRepository).findById(1);
+        verify(gameObjectRepository).findDTOById(1);
     }
 
     @Test
     void getGameObjectById_ShouldThrowGameObjectNotFoundException() {
-        when(gameObjectRepository.findById(999)).thenReturn(Optional.empty());
+        when(gameObjectRepository.findDTOById(999)).thenReturn(Optional.empty());
 
         assertThrows(GameObjectNotFoundException.class, () -> gameObjectService.getGameObjectById(999));
-        verify(gameObjectRepository).findById(999);
+        verify(gameObjectRepository).findDTOById(999);
     }
 
     @Test
     void getAllGameObjects_ShouldReturnListOfGameObjectDTOs() {
-        List<GameObject> gameObjects = new ArrayList<>();
-        gameObjects.add(testGameObject);
-
-        GameObject gameObject2 = new GameObject();
-        gameObject2.setId(2);
-        gameObject2.setTitle("Another Game");
-        gameObject2.setText("Another Description");
-        gameObject2.setUser(testUser);
-        gameObjects.add(gameObject2);
+        List<GameObjectDTO> gameObjects = new ArrayList<>();
+        gameObjects.add(new GameObjectDTO(1, "Test Game", "Test Description", 1, null, null));
+        gameObjects.add(new GameObjectDTO(2, "Another Game", "Another Description", 1, null, null));
 
-        when(gameObjectRepository.findAll()).thenReturn(gameObjects);
+        when(gameObjectRepository.findDTOsAfter(0, Limit.of(51))).thenReturn(gameObjects);
 
-        List<GameObjectDTO> result = gameObjectService.getAllGameObjects();
+        CursorPage<GameObjectDTO> page = gameObjectService.getAllGameObjects(null, 50);
+        List<GameObjectDTO> result = page.getItems();
 
         assertNotNull(result);
         assertEquals(2, result.size());
@@ -129,7 +145,8 @@ class GameObjectServiceImplTest {
         assertEquals("Another Game", result.get(1).getTitle());
         assertEquals(1, result.get(0).getUserId());
         assertEquals(1, result.get(1).getUserId());
-        verify(gameObjectRepository).findAll();
+        assertNull(page.getNextCursor());
+        verify(gameObjectRepository).findDTOsAfter(0, Limit.of(51));
     }
 
     @Test
@@ -176,14 +193,15 @@ class GameObjectServiceImplTest {
     }
 
     @Test
-    void deleteGameObject_ShouldDeleteGameObject() {
+    void deleteGameObject_ShouldMarkGameObjectDeleted() {
         when(gameObjectRepository.findById(1)).thenReturn(Optional.of(testGameObject));
-        doNothing().when(gameObjectRepository).delete(any(GameObject.class));
 
         gameObjectService.deleteGameObject(1);
 
         verify(gameObjectRepository).findById(1);
-        verify(gameObjectRepository).delete(testGameObject);
+        assertNotNull(testGameObject.getDeletedAt());
+        verify(gameObjectRepository, never()).delete(any(GameObject.class));
+        verify(eventPublisher).publishEvent(new GameObjectDeletedEvent(1));
     }
 
     @Test
@@ -196,38 +214,68 @@ class GameObjectServiceImplTest {
     }
 
     @Test
-    void getGameObjectsByUserId_ShouldReturnListOfGameObjectDTOs() {
-        List<GameObject> gameObjects = new ArrayList<>();
-        gameObjects.add(testGameObject);
+    void exportGameObjects_ShouldPassEveryRowToConsumerAndCloseStream() {
+        GameObjectDTO first = new GameObjectDTO(1, "Test Game", "Test Description", 1, null, null);
+        GameObjectDTO second = new GameObjectDTO(2, "Another Game", "Another Description", 1, null, null);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(gameObjectRepository.streamAllAsDTOs()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
 
-        GameObject gameObject2 = new GameObject();
-        gameObject2.setId(2);
-        gameObject2.setTitle("Another Game");
-        gameObject2.setText("Another Description");
-        gameObject2.setUser(testUser);
-        gameObjects.add(gameObject2);
+        List<GameObjectDTO> exported = new ArrayList<>();
+        gameObjectService.exportGameObjects(exported::add);
+
+        assertEquals(List.of(first, second), exported);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void getGameObjectsByUserId_ShouldReturnListOfGameObjectDTOs() {
+        List<GameObjectDTO> gameObjects = new ArrayList<>();
+        gameObjects.add(new GameObjectDTO(1, "Test Game", "Test Description", 1, null, null));
+        gameObjects.add(new GameObjectDTO(2, "Another Game", "Another Description", 1, null, null));
 
-        when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-        when(gameObjectRepository.findByUser(testUser)).thenReturn(gameObjects);
+        when(userRepository.existsById(1)).thenReturn(true);
+        when(gameObjectRepository.findDTOsByUserIdAfter(1, 0, Limit.of(2))).thenReturn(gameObjects);
 
-        List<GameObjectDTO> result = gameObjectService.getGameObjectsByUserId(1);
+        CursorPage<GameObjectDTO> page = gameObjectService.getGameObjectsByUserId(1, null, 1);
+        List<GameObjectDTO> result = page.getItems();
 
         assertNotNull(result);
-        assertEquals(2, result.size());
+        assertEquals(1, result.size());
         assertEquals("Test Game", result.get(0).getTitle());
-        assertEquals("Another Game", result.get(1).getTitle());
         assertEquals(1, result.get(0).getUserId());
-        assertEquals(1, result.get(1).getUserId());
-        verify(userRepository).findById(1);
-        verify(gameObjectRepository).findByUser(testUser);
+        assertEquals(CursorPage.encode(1), page.getNextCursor());
+        verify(userRepository).existsById(1);
     }
 
     @Test
     void getGameObjectsByUserId_ShouldThrowUserNotFoundException() {
-        when(userRepository.findById(999)).thenReturn(Optional.empty());
+        when(userRepository.existsById(999)).thenReturn(false);
 
-        assertThrows(UserNotFoundException.class, () -> gameObjectService.getGameObjectsByUserId(999));
-        verify(userRepository).findById(999);
-        verify(gameObjectRepository, never()).findByUser(any(User.class));
+        assertThrows(UserNotFoundException.class, () -> gameObjectService.getGameObjectsByUserId(999, null, 50));
+        verify(userRepository).existsById(999);
+        verifyNoInteractions(gameObjectRepository);
+    }
+
+    @Test
+    void searchGameObjects_ShouldServeResultsFromIndex() {
+        GameObjectDTO hit = new GameObjectDTO();
+        hit.setId(1);
+        when(gameObjectSearchIndex.search("knife", 20)).thenReturn(List.of(hit));
+
+        List<GameObjectDTO> result = gameObjectService.searchGameObjects("knife", 20);
+
+        assertEquals(List.of(hit), result);
+        verifyNoInteractions(gameObjectRepository);
+    }
+
+    @Test
+    void suggestTitles_ShouldServeSuggestionsFromIndex() {
+        List<TitleSuggestionDTO> suggestions = List.of(new TitleSuggestionDTO("CS:GO Knife", 3));
+        when(gameTitleSuggestIndex.suggest("cs", 10)).thenReturn(suggestions);
+
+        List<TitleSuggestionDTO> result = gameObjectService.suggestTitles("cs", 10);
+
+        assertEquals(suggestions, result);
+        verifyNoInteractions(gameObjectRepository);
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.prjratingsystem.service.impl;
 
+import com.prjratingsystem.event.UserChangedEvent;
 import com.prjratingsystem.model.User;
 import com.prjratingsystem.repository.UserRepository;
 import com.prjratingsystem.service.EmailService;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -40,6 +42,9 @@ class PasswordResetServiceImplTest {
     @Mock
     private ValueOperations<String, String> valueOperations;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private static final String TEST_EMAIL = "test@example.com";
     private static final String TEST_CODE = "12345678";
     private static final String TEST_PASSWORD = "newPassword123";
@@ -54,7 +59,8 @@ class PasswordResetServiceImplTest {
                 userRepository,
                 emailService,
                 redisTemplate,
-                passwordEncoder
+                passwordEncoder,
+                eventPublisher
         );
     }
 
@@ -133,6 +139,8 @@ class PasswordResetServiceImplTest {
 
         User savedUser = userCaptor.getValue();
         assertEquals(ENCODED_PASSWORD, savedUser.getPassword());
+        assertEquals(1, savedUser.getTokenVersion());
+        verify(eventPublisher).publishEvent(new UserChangedEvent(null, TEST_EMAIL, 1));
 
         verify(redisTemplate).delete(key);
     }
@@ -0,0 +1,100 @@
+package com.prjratingsystem.service.impl;
+
+import com.prjratingsystem.dto.UserDTO;
+import com.prjratingsystem.model.SellerRatingStats;
+import com.prjratingsystem.model.User;
+import com.prjratingsystem.model.enums.Role;
+import com.prjratingsystem.purge.UserPurgeWorker;
+import com.prjratingsystem.repository.SellerRatingStatsRepository;
+import com.prjratingsystem.repository.UserRepository;
+import com.prjratingsystem.service.AdminService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the SQL statements {@link AdminService#getPendingSellers()} sends to a real Postgres, using Hibernate
+ * statistics. Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({AdminServiceImpl.class, RatingServiceImpl.class})
+class PendingSellersQueryCountTest {
+
+    private static final int SELLERS = 200;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockitoBean
+    private UserPurgeWorker userPurgeWorker;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SellerRatingStatsRepository sellerRatingStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void getPendingSellers_ShouldSendTwoStatements_RegardlessOfListSize() {
+        Map<Integer, Double> expectedAverages = new HashMap<>();
+        for (int i = 0; i < SELLERS; i++) {
+            User seller = userRepository.save(pendingSeller(i));
+            if (i % 3 == 0) {
+                expectedAverages.put(seller.getId(), 0.0);
+                continue;
+            }
+            SellerRatingStats stats = new SellerRatingStats(seller.getId());
+            stats.addRating(1 + i % 5);
+            stats.addRating(5);
+            sellerRatingStatsRepository.save(stats);
+            expectedAverages.put(seller.getId(), stats.getAverage());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<UserDTO> result = adminService.getPendingSellers();
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(SELLERS, result.size());
+        result.forEach(seller -> assertEquals(expectedAverages.get(seller.getId()), seller.getAverageRating(),
+                () -> "average of seller " + seller.getId()));
+    }
+
+    private static User pendingSeller(int i) {
+        User seller = new User();
+        seller.setFirstName("First");
+        seller.setLastName("Last");
+        seller.setEmail("seller%d@example.com".formatted(i));
+        seller.setPassword("-");
+        seller.setRole(Role.SELLER);
+        seller.setApproved(false);
+        return seller;
+    }
+}
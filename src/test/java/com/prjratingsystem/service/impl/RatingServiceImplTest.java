@@ -1,20 +1,32 @@
 package com.prjratingsystem.service.impl;
 
 import com.prjratingsystem.dto.RatingDTO;
+import com.prjratingsystem.event.SellerRatingChangedEvent;
+import com.prjratingsystem.event.SellerRatingStatsRebuiltEvent;
 import com.prjratingsystem.exception.CommentNotFoundException;
 import com.prjratingsystem.model.Comment;
 import com.prjratingsystem.model.Rating;
+import com.prjratingsystem.model.SellerRatingStats;
+import com.prjratingsystem.model.User;
 import com.prjratingsystem.repository.CommentRepository;
 import com.prjratingsystem.repository.RatingRepository;
+import com.prjratingsystem.repository.SellerRatingStatsRepository;
+import com.prjratingsystem.repository.projection.SellerAverageRating;
+import com.prjratingsystem.repository.projection.SellerRatingAggregate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,12 +40,23 @@ class RatingServiceImplTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private SellerRatingStatsRepository sellerRatingStatsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RatingServiceImpl ratingService;
 
+    private User seller;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+
+        seller = new User();
+        seller.setId(7);
     }
 
     @Test
@@ -44,6 +67,7 @@ class RatingServiceImplTest {
 
         Comment comment = new Comment();
         comment.setId(1);
+        comment.setUser(seller);
 
         Rating rating = new Rating();
         rating.setComment(comment);
@@ -51,6 +75,7 @@ class RatingServiceImplTest {
 
         when(commentRepository.findById(anyInt())).thenReturn(Optional.of(comment));
         when(ratingRepository.save(any(Rating.class))).thenReturn(rating);
+        when(sellerRatingStatsRepository.findBySellerIdForUpdate(7)).thenReturn(Optional.of(new SellerRatingStats(7)));
 
         RatingDTO result = ratingService.createRating(ratingDTO);
 
@@ -59,6 +84,40 @@ class RatingServiceImplTest {
         assertEquals(5, result.getRatingValue());
     }
 
+    @Test
+    void createRating_ShouldUpdateSellerRatingStats() {
+        RatingDTO ratingDTO = new RatingDTO();
+        ratingDTO.setCommentId(1);
+        ratingDTO.setRatingValue(2);
+
+        Comment comment = new Comment();
+        comment.setId(1);
+        comment.setUser(seller);
+
+        Rating rating = new Rating();
+        rating.setComment(comment);
+        rating.setRatingValue(2);
+
+        SellerRatingStats stats = new SellerRatingStats(7);
+        stats.addRating(4);
+
+        when(commentRepository.findById(anyInt())).thenReturn(Optional.of(comment));
+        when(ratingRepository.save(any(Rating.class))).thenReturn(rating);
+        when(sellerRatingStatsRepository.findBySellerIdForUpdate(7)).thenReturn(Optional.of(stats));
+
+        ratingService.createRating(ratingDTO);
+
+        InOrder inOrder = inOrder(sellerRatingStatsRepository);
+        inOrder.verify(sellerRatingStatsRepository).insertIfAbsent(7);
+        inOrder.verify(sellerRatingStatsRepository).findBySellerIdForUpdate(7);
+        verify(sellerRatingStatsRepository).save(stats);
+        assertEquals(6L, stats.getRatingSum());
+        assertEquals(2, stats.getRatingCount());
+        assertEquals(2, stats.getMinRating());
+        assertEquals(4, stats.getMaxRating());
+        verify(eventPublisher).publishEvent(new SellerRatingChangedEvent(7, 3.0, 2, 2));
+    }
+
     @Test
     void createRating_ShouldThrowCommentNotFoundException() {
         RatingDTO ratingDTO = new RatingDTO();
@@ -69,26 +128,203 @@ class RatingServiceImplTest {
         assertThrows(CommentNotFoundException.class, () -> ratingService.createRating(ratingDTO));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void createRatings_ShouldBatchInsertAndUpdateEachSellerOnce() {
+        RatingDTO first = rating(1, 5);
+        RatingDTO second = rating(2, 3);
+        RatingDTO alreadyRated = rating(3, 1);
+        RatingDTO other = rating(4, 4);
+
+        SellerRatingStats stats = new SellerRatingStats(7);
+        stats.addRating(4);
+
+        when(ratingRepository.findRatedCommentIds(anyList())).thenReturn(List.of(3));
+        when(commentRepository.getReferenceById(anyInt())).thenAnswer(invocation -> {
+            Comment comment = new Comment();
+            comment.setId(invocation.getArgument(0));
+            return comment;
+        });
+        when(sellerRatingStatsRepository.findBySellerIdForUpdate(7)).thenReturn(Optional.of(stats));
+        when(sellerRatingStatsRepository.findBySellerIdForUpdate(8)).thenReturn(Optional.of(new SellerRatingStats(8)));
+
+        Set<Integer> rated = ratingService.createRatings(Map.of(
+                7, List.of(first, second, alreadyRated),
+                8, List.of(other)));
+
+        assertEquals(Set.of(1, 2, 4), rated);
+
+        ArgumentCaptor<List<Rating>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(ratingRepository).saveAll(inserted.capture());
+        assertEquals(List.of(5, 3, 4), inserted.getValue().stream().map(Rating::getRatingValue).toList());
+        assertEquals(List.of(1, 2, 4), inserted.getValue().stream().map(rating -> rating.getComment().getId()).toList());
+
+        assertEquals(3, stats.getRatingCount());
+        assertEquals(12L, stats.getRatingSum());
+        verify(sellerRatingStatsRepository).insertIfAbsent(7);
+        verify(sellerRatingStatsRepository).insertIfAbsent(8);
+        verify(sellerRatingStatsRepository, times(2)).save(any(SellerRatingStats.class));
+        verify(eventPublisher).publishEvent(new SellerRatingChangedEvent(7, 4.0, 3, 3));
+        verify(eventPublisher).publishEvent(new SellerRatingChangedEvent(8, 4.0, 1, 1));
+    }
+
+    @Test
+    void createRatings_ShouldDoNothing_WhenNoRatingsGiven() {
+        assertTrue(ratingService.createRatings(Map.of()).isEmpty());
+
+        verifyNoInteractions(ratingRepository, sellerRatingStatsRepository);
+    }
+
     @Test
     void calculateSellerRating_ShouldReturnAverageRating() {
-        Rating rating1 = new Rating();
-        rating1.setRatingValue(4);
-        Rating rating2 = new Rating();
-        rating2.setRatingValue(5);
+        SellerRatingStats stats = new SellerRatingStats(1);
+        stats.addRating(4);
+        stats.addRating(5);
 
-        when(ratingRepository.findByComment_User_Id(anyInt())).thenReturn(List.of(rating1, rating2));
+        when(sellerRatingStatsRepository.findById(anyInt())).thenReturn(Optional.of(stats));
 
         Double averageRating = ratingService.calculateSellerRating(1);
 
         assertEquals(4.5, averageRating);
+        verifyNoInteractions(ratingRepository);
     }
 
     @Test
     void calculateSellerRating_ShouldReturnZero_WhenNoRatings() {
-        when(ratingRepository.findByComment_User_Id(anyInt())).thenReturn(Collections.emptyList());
+        when(sellerRatingStatsRepository.findById(anyInt())).thenReturn(Optional.empty());
 
         Double averageRating = ratingService.calculateSellerRating(1);
 
         assertEquals(0.0, averageRating);
     }
-}
\ No newline at end of file
+
+    @Test
+    void calculateSellerRatings_ShouldIssueSingleQuery_RegardlessOfSellerCount() {
+        List<Integer> sellerIds = IntStream.rangeClosed(1, 200).boxed().toList();
+        SellerAverageRating rated = mock(SellerAverageRating.class);
+        when(rated.getSellerId()).thenReturn(3);
+        when(rated.getAverageRating()).thenReturn(4.5);
+        when(sellerRatingStatsRepository.findAverageRatings(sellerIds)).thenReturn(List.of(rated));
+
+        Map<Integer, Double> averages = ratingService.calculateSellerRatings(sellerIds);
+
+        assertEquals(200, averages.size());
+        assertEquals(4.5, averages.get(3));
+        assertEquals(0.0, averages.get(1));
+        verify(sellerRatingStatsRepository, times(1)).findAverageRatings(sellerIds);
+        verifyNoMoreInteractions(sellerRatingStatsRepository);
+        verifyNoInteractions(ratingRepository);
+    }
+
+    @Test
+    void calculateSellerRatings_ShouldSkipQuery_WhenNoSellers() {
+        Map<Integer, Double> averages = ratingService.calculateSellerRatings(List.of());
+
+        assertTrue(averages.isEmpty());
+        verifyNoInteractions(sellerRatingStatsRepository);
+    }
+
+    @Test
+    void deleteRatingByCommentId_ShouldReaggregateSellerStats() {
+        Comment comment = new Comment();
+        comment.setId(1);
+        comment.setUser(seller);
+
+        Rating rating = new Rating();
+        rating.setComment(comment);
+        rating.setRatingValue(1);
+
+        SellerRatingStats stats = new SellerRatingStats(7);
+        stats.addRating(1);
+        stats.addRating(5);
+
+        SellerRatingAggregate remaining = aggregate(7, 5L, 1L, 5, 5);
+
+        when(ratingRepository.findByCommentId(1)).thenReturn(rating);
+        when(sellerRatingStatsRepository.findBySellerIdForUpdate(7)).thenReturn(Optional.of(stats));
+        when(ratingRepository.aggregateBySellerId(7)).thenReturn(Optional.of(remaining));
+
+        ratingService.deleteRatingByCommentId(1);
+
+        verify(ratingRepository).delete(rating);
+        assertEquals(5L, stats.getRatingSum());
+        assertEquals(1, stats.getRatingCount());
+        assertEquals(5, stats.getMinRating());
+        assertEquals(5.0, stats.getAverage());
+    }
+
+    @Test
+    void deleteRatingByCommentId_ShouldEmptyStats_WhenLastRatingRemoved() {
+        Comment comment = new Comment();
+        comment.setId(1);
+        comment.setUser(seller);
+
+        Rating rating = new Rating();
+        rating.setComment(comment);
+        rating.setRatingValue(3);
+
+        SellerRatingStats stats = new SellerRatingStats(7);
+        stats.addRating(3);
+
+        when(ratingRepository.findByCommentId(1)).thenReturn(rating);
+        when(sellerRatingStatsRepository.findBySellerIdForUpdate(7)).thenReturn(Optional.of(stats));
+        when(ratingRepository.aggregateBySellerId(7)).thenReturn(Optional.empty());
+
+        ratingService.deleteRatingByCommentId(1);
+
+        verify(sellerRatingStatsRepository, never()).delete(any());
+        assertEquals(0L, stats.getRatingSum());
+        assertEquals(0, stats.getRatingCount());
+        assertNull(stats.getMinRating());
+        verify(eventPublisher).publishEvent(new SellerRatingChangedEvent(7, 0.0, 0, 2));
+    }
+
+    @Test
+    void deleteRatingByCommentId_ShouldDoNothing_WhenCommentHasNoRating() {
+        when(ratingRepository.findByCommentId(1)).thenReturn(null);
+
+        ratingService.deleteRatingByCommentId(1);
+
+        verify(ratingRepository, never()).delete(any());
+        verifyNoInteractions(sellerRatingStatsRepository);
+    }
+
+    @Test
+    void clearSellerRatingStats_ShouldDeleteStatsAndPublishEmptyRating() {
+        ratingService.clearSellerRatingStats(7);
+
+        verify(sellerRatingStatsRepository).deleteById(7);
+        verify(eventPublisher).publishEvent(new SellerRatingChangedEvent(7, 0.0, 0, SellerRatingChangedEvent.REMOVED));
+    }
+
+    @Test
+    void rebuildSellerRatingStats_ShouldLockThenRebuildInOneStatement() {
+        when(sellerRatingStatsRepository.rebuildAll()).thenReturn(2);
+
+        int rebuilt = ratingService.rebuildSellerRatingStats();
+
+        assertEquals(2, rebuilt);
+        InOrder inOrder = inOrder(sellerRatingStatsRepository);
+        inOrder.verify(sellerRatingStatsRepository).lockAll();
+        inOrder.verify(sellerRatingStatsRepository).rebuildAll();
+        verify(sellerRatingStatsRepository, never()).deleteAllInBatch();
+        verify(eventPublisher).publishEvent(new SellerRatingStatsRebuiltEvent(2));
+    }
+
+    private SellerRatingAggregate aggregate(Integer sellerId, Long sum, Long count, Integer min, Integer max) {
+        SellerRatingAggregate aggregate = mock(SellerRatingAggregate.class);
+        when(aggregate.getSellerId()).thenReturn(sellerId);
+        when(aggregate.getRatingSum()).thenReturn(sum);
+        when(aggregate.getRatingCount()).thenReturn(count);
+        when(aggregate.getMinRating()).thenReturn(min);
+        when(aggregate.getMaxRating()).thenReturn(max);
+        return aggregate;
+    }
+
+    private RatingDTO rating(Integer commentId, Integer ratingValue) {
+        RatingDTO rating = new RatingDTO();
+        rating.setCommentId(commentId);
+        rating.setRatingValue(ratingValue);
+        return rating;
+    }
+}
@@ -16,7 +16,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class UserDetailsServiceImplTest {
@@ -103,4 +103,28 @@ class UserDetailsServiceImplTest {
 
         assertEquals("Your account has not been approved yet.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadUserByUsername_ShouldServeRepeatedLookupsFromCache() {
+        when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(testUser));
+
+        UserDetails first = userDetailsService.loadUserByUsername(testEmail);
+        UserDetails second = userDetailsService.loadUserByUsername(testEmail);
+
+        assertSame(first, second);
+        verify(userRepository, times(1)).findByEmail(testEmail);
+    }
+
+    @Test
+    void evict_ShouldReloadChangedUser() {
+        when(userRepository.findByEmail(testEmail)).thenReturn(Optional.of(testUser));
+        userDetailsService.loadUserByUsername(testEmail);
+        testUser.setRole(Role.ADMIN);
+
+        userDetailsService.evict(testEmail);
+        UserDetails reloaded = userDetailsService.loadUserByUsername(testEmail);
+
+        assertEquals("ROLE_ADMIN", reloaded.getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(2)).findByEmail(testEmail);
+    }
+}
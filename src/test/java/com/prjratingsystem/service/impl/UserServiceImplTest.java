@@ -1,14 +1,19 @@
 package com.prjratingsystem.service.impl;
 
+import com.prjratingsystem.dto.CursorPage;
 import com.prjratingsystem.dto.UserDTO;
 import com.prjratingsystem.dto.UserRegistrationDTO;
+import com.prjratingsystem.event.UserChangedEvent;
+import com.prjratingsystem.event.UserDeletedEvent;
 import com.prjratingsystem.exception.EmailAlreadyExistsException;
+import com.prjratingsystem.exception.InvalidCursorException;
 import com.prjratingsystem.exception.UserNotFoundException;
+import com.prjratingsystem.index.LeaderboardEntry;
+import com.prjratingsystem.index.SellerLeaderboard;
+import com.prjratingsystem.index.SellerSearchIndex;
 import com.prjratingsystem.model.User;
 import com.prjratingsystem.model.enums.Role;
-import com.prjratingsystem.repository.CommentRepository;
 import com.prjratingsystem.repository.GameObjectRepository;
-import com.prjratingsystem.repository.RatingRepository;
 import com.prjratingsystem.repository.UserRepository;
 import com.prjratingsystem.service.EmailService;
 import com.prjratingsystem.service.RatingService;
@@ -17,15 +22,17 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,15 +43,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
-    @Mock
-    private CommentRepository commentRepository;
-
     @Mock
     private GameObjectRepository gameObjectRepository;
 
-    @Mock
-    private RatingRepository ratingRepository;
-
     @Mock
     private RatingService ratingService;
 
@@ -55,6 +56,15 @@ class UserServiceImplTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private SellerLeaderboard sellerLeaderboard;
+
+    @Mock
+    private SellerSearchIndex sellerSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -105,6 +115,7 @@ class UserServiceImplTest {
         verify(userRepository).save(user);
         verify(redisTemplate).delete("confirmationCode");
         verify(emailService).sendSellerApprovedEmail("test@example.com");
+        verify(eventPublisher).publishEvent(new UserChangedEvent(null, "test@example.com", 0));
     }
 
     @Test
@@ -118,11 +129,7 @@ class UserServiceImplTest {
 
     @Test
     void findUserById_ShouldReturnUserDTO() {
-        User user = new User();
-        user.setId(1);
-        user.setRole(Role.SELLER);
-
-        when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
+        when(userRepository.findDTOById(anyInt())).thenReturn(Optional.of(userDTO(1, Role.SELLER)));
         when(ratingService.calculateSellerRating(anyInt())).thenReturn(4.5);
 
         UserDTO result = userService.findUserById(1);
@@ -134,22 +141,37 @@ class UserServiceImplTest {
 
     @Test
     void findUserById_ShouldThrowUserNotFoundException() {
-        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(userRepository.findDTOById(anyInt())).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> userService.findUserById(1));
     }
 
     @Test
     void findAllUsers_ShouldReturnListOfUserDTOs() {
-        User user = new User();
-        user.setId(1);
+        when(userRepository.findDTOsAfter(0, Limit.of(51))).thenReturn(Collections.singletonList(userDTO(1, Role.ADMIN)));
 
-        when(userRepository.findAll()).thenReturn(Collections.singletonList(user));
-
-        List<UserDTO> result = userService.findAllUsers();
+        CursorPage<UserDTO> result = userService.findAllUsers(null, 50);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void findAllUsers_ShouldContinueAfterCursor() {
+        when(userRepository.findDTOsAfter(10, Limit.of(3))).thenReturn(List.of(
+                userDTO(11, Role.ADMIN), userDTO(12, Role.ADMIN), userDTO(13, Role.ADMIN)));
+
+        CursorPage<UserDTO> result = userService.findAllUsers(CursorPage.encode(10), 2);
+
+        assertEquals(List.of(11, 12), result.getItems().stream().map(UserDTO::getId).toList());
+        assertEquals(12, CursorPage.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void findAllUsers_ShouldRejectMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> userService.findAllUsers("not-a-cursor", 50));
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -168,6 +190,8 @@ class UserServiceImplTest {
 
         assertNotNull(result);
         assertEquals("new@example.com", result.getEmail());
+        assertEquals(1, user.getTokenVersion());
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1, "old@example.com", 1));
     }
 
     @Test
@@ -186,18 +210,23 @@ class UserServiceImplTest {
     }
 
     @Test
-    void deleteUser_ShouldDeleteUserAndRelatedEntities() {
+    void deleteUser_ShouldMarkUserAndGameObjectsDeleted() {
         User user = new User();
         user.setId(1);
+        user.setEmail("seller@example.com");
 
         when(userRepository.findById(anyInt())).thenReturn(Optional.of(user));
 
         userService.deleteUser(1);
 
-        verify(ratingRepository).deleteAllByCommentUserId(1);
-        verify(commentRepository).deleteAllByUserId(1);
-        verify(gameObjectRepository).deleteAllByUserId(1);
-        verify(userRepository).delete(user);
+        assertNotNull(user.getDeletedAt());
+        assertEquals("deleted-1@deleted.invalid", user.getEmail());
+        assertEquals(1, user.getTokenVersion());
+        verify(gameObjectRepository).markDeletedByUserId(1, user.getDeletedAt());
+        verify(ratingService).clearSellerRatingStats(1);
+        verify(userRepository, never()).delete(any(User.class));
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(1));
+        verify(eventPublisher).publishEvent(UserChangedEvent.deleted(1, "seller@example.com"));
     }
 
     @Test
@@ -209,16 +238,13 @@ class UserServiceImplTest {
 
     @Test
     void findUsersByRole_ShouldReturnListOfUserDTOs() {
-        User user = new User();
-        user.setId(1);
-        user.setRole(Role.SELLER);
-
-        when(userRepository.findByRole(any(Role.class))).thenReturn(Collections.singletonList(user));
+        when(userRepository.findDTOsByRoleAfter(eq(Role.SELLER), eq(0), any(Limit.class)))
+                .thenReturn(Collections.singletonList(userDTO(1, Role.SELLER)));
 
-        List<UserDTO> result = userService.findUsersByRole("SELLER");
+        CursorPage<UserDTO> result = userService.findUsersByRole("SELLER", null, 50);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(1, result.getItems().size());
     }
 
     @Test
@@ -240,36 +266,102 @@ class UserServiceImplTest {
     }
 
     @Test
-    void getTopSellers_ShouldReturnListOfTopSellerDTOs() {
-        User seller = new User();
-        seller.setId(1);
-        seller.setRole(Role.SELLER);
+    void getTopSellers_ShouldReturnSellersInLeaderboardOrder() {
+        when(sellerLeaderboard.getRange(10L, 2)).thenReturn(List.of(
+                new LeaderboardEntry(2, 4.8),
+                new LeaderboardEntry(1, 4.5)));
+        when(userRepository.findDTOsByRoleAndIdIn(Role.SELLER, List.of(2, 1)))
+                .thenReturn(List.of(userDTO(1, Role.SELLER), userDTO(2, Role.SELLER)));
+
+        List<UserDTO> result = userService.getTopSellers(PageRequest.of(5, 2));
+
+        assertEquals(2, result.size());
+        assertEquals(2, result.get(0).getId());
+        assertEquals(4.8, result.get(0).getAverageRating());
+        assertEquals(1, result.get(1).getId());
+        assertEquals(4.5, result.get(1).getAverageRating());
+        verify(ratingService, never()).calculateSellerRating(anyInt());
+        verify(userRepository, never()).findUnratedDTOsByRole(any(), anyInt(), anyInt());
+    }
 
-        Page<User> sellerPage = new PageImpl<>(Collections.singletonList(seller));
+    @Test
+    void getTopSellers_ShouldFillPageWithUnratedSellers_WhenRankingEndsWithinPage() {
+        when(sellerLeaderboard.getRange(10L, 10)).thenReturn(List.of(new LeaderboardEntry(2, 4.8)));
+        when(userRepository.findDTOsByRoleAndIdIn(Role.SELLER, List.of(2))).thenReturn(List.of(userDTO(2, Role.SELLER)));
+        when(userRepository.findUnratedDTOsByRole(Role.SELLER, 0, 9))
+                .thenReturn(List.of(userDTO(4, Role.SELLER), userDTO(5, Role.SELLER)));
+
+        List<UserDTO> result = userService.getTopSellers(PageRequest.of(1, 10));
+
+        assertEquals(List.of(2, 4, 5), result.stream().map(UserDTO::getId).toList());
+        assertEquals(4.8, result.get(0).getAverageRating());
+        assertEquals(0.0, result.get(1).getAverageRating());
+        assertEquals(0.0, result.get(2).getAverageRating());
+    }
 
-        when(userRepository.findByRole(any(Role.class), any(PageRequest.class))).thenReturn(sellerPage);
-        when(ratingService.calculateSellerRating(anyInt())).thenReturn(4.5);
+    @Test
+    void getTopSellers_ShouldPageThroughUnratedSellers_WhenPageIsPastRanking() {
+        when(sellerLeaderboard.getRange(20L, 10)).thenReturn(List.of());
+        when(sellerLeaderboard.size()).thenReturn(12L);
+        when(userRepository.findUnratedDTOsByRole(Role.SELLER, 8, 10)).thenReturn(List.of(userDTO(30, Role.SELLER)));
 
-        List<UserDTO> result = userService.getTopSellers(PageRequest.of(0, 10));
+        List<UserDTO> result = userService.getTopSellers(PageRequest.of(2, 10));
 
-        assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals(4.5, result.get(0).getAverageRating());
+        assertEquals(30, result.get(0).getId());
+        assertEquals(0.0, result.get(0).getAverageRating());
     }
 
     @Test
-    void filterSellers_ShouldReturnListOfFilteredSellerDTOs() {
-        User seller = new User();
-        seller.setId(1);
-        seller.setRole(Role.SELLER);
+    void getTopSellers_ShouldSkipRankedUsersThatAreNoLongerSellers() {
+        when(sellerLeaderboard.getRange(0L, 10)).thenReturn(List.of(new LeaderboardEntry(3, 5.0)));
+        when(userRepository.findDTOsByRoleAndIdIn(Role.SELLER, List.of(3))).thenReturn(List.of());
 
-        when(userRepository.findSellersByGameAndRating(anyString(), anyDouble(), anyDouble())).thenReturn(Collections.singletonList(seller));
-        when(ratingService.calculateSellerRating(anyInt())).thenReturn(4.5);
+        List<UserDTO> result = userService.getTopSellers(PageRequest.of(0, 10));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void filterSellers_ShouldReturnListOfFilteredSellerDTOs() {
+        when(sellerSearchIndex.findSellerIds("gameTitle", 4.0, 5.0)).thenReturn(Set.of(1));
+        when(userRepository.findDTOsByRoleAndIdIn(Role.SELLER, Set.of(1))).thenReturn(List.of(userDTO(1, Role.SELLER)));
+        when(ratingService.calculateSellerRatings(List.of(1))).thenReturn(Map.of(1, 4.5));
 
         List<UserDTO> result = userService.filterSellers("gameTitle", 4.0, 5.0);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(4.5, result.get(0).getAverageRating());
+        verify(ratingService, never()).calculateSellerRating(anyInt());
+        verify(userRepository, never()).findDTOsByRole(any(Role.class));
+    }
+
+    @Test
+    void filterSellers_ShouldSkipQuery_WhenIndexFindsNoSellers() {
+        when(sellerSearchIndex.findSellerIds("gameTitle", null, null)).thenReturn(Set.of());
+
+        List<UserDTO> result = userService.filterSellers("gameTitle", null, null);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(userRepository, ratingService);
+    }
+
+    @Test
+    void filterSellers_ShouldScanSellers_WhenIndexCannotEnumerateMatches() {
+        when(sellerSearchIndex.findSellerIds(null, 0.0, 1.0)).thenReturn(null);
+        when(userRepository.findDTOsByRole(Role.SELLER)).thenReturn(List.of(userDTO(1, Role.SELLER), userDTO(2, Role.SELLER)));
+        when(sellerSearchIndex.matchesRating(1, 0.0, 1.0)).thenReturn(false);
+        when(sellerSearchIndex.matchesRating(2, 0.0, 1.0)).thenReturn(true);
+        when(ratingService.calculateSellerRatings(List.of(2))).thenReturn(Map.of(2, 0.0));
+
+        List<UserDTO> result = userService.filterSellers(null, 0.0, 1.0);
+
+        assertEquals(1, result.size());
+        assertEquals(2, result.get(0).getId());
+    }
+
+    private UserDTO userDTO(Integer id, Role role) {
+        return new UserDTO(id, "First", "Last", "user%d@example.com".formatted(id), role, true);
     }
-}
\ No newline at end of file
+}
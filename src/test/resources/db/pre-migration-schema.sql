@@ -0,0 +1,26 @@
+-- The schema Hibernate's ddl-auto=update created for the entities before the Flyway migrations were introduced: identity
+-- ids, generated constraint names, no soft-delete columns, no rating stats or email outbox. The rows take their ids from
+-- the identity columns, as they did then.
+
+create table comments (approved boolean not null, id integer generated by default as identity, user_id integer not null, created_at timestamp(6), message TEXT not null, primary key (id));
+create table game_objects (id integer generated by default as identity, user_id integer not null, created_at timestamp(6), updated_at timestamp(6), title varchar(100) not null, text TEXT not null, primary key (id));
+create table ratings (comment_id integer not null unique, id integer generated by default as identity, rating_value integer not null, primary key (id));
+create table users (approved boolean not null, id integer generated by default as identity, email varchar(255) not null unique, first_name varchar(255) not null, last_name varchar(255) not null, password varchar(255) not null, role varchar(255) not null check (role in ('ADMIN','SELLER')), primary key (id));
+alter table if exists comments add constraint FK8omq0tc18jd43bu5tjh6jvraq foreign key (user_id) references users;
+alter table if exists game_objects add constraint FKjisl2s3eb0vw6ol4gbb0mmq9v foreign key (user_id) references users;
+alter table if exists ratings add constraint FKp6hek6r34x3dx77mc77u1tq7f foreign key (comment_id) references comments;
+
+INSERT INTO users (first_name, last_name, email, password, role, approved) VALUES
+    ('Ada', 'Admin', 'admin@example.com', '-', 'ADMIN', true),
+    ('Sam', 'Seller', 'sam@example.com', '-', 'SELLER', true),
+    ('Pat', 'Pending', 'pat@example.com', '-', 'SELLER', false);
+
+INSERT INTO comments (message, user_id, created_at, approved) VALUES
+    ('Fast trade', 2, now(), true),
+    ('Slow to answer', 2, now(), true),
+    ('Not rated', 2, now(), false),
+    ('Honest seller', 3, now(), true);
+
+INSERT INTO ratings (comment_id, rating_value) VALUES (1, 5), (2, 3), (4, 4);
+
+INSERT INTO game_objects (title, text, user_id, created_at, updated_at) VALUES ('Rare skin', 'Listing', 2, now(), now());
@@ -0,0 +1,28 @@
+-- Rows for SchemaMigrationTest, sized so that a sequential scan is not the cheapest plan for the selective queries:
+-- 100k users (one in a thousand an admin, one in two hundred awaiting approval, one in five hundred soft-deleted),
+-- 10 comments per user over the last year (1% pending), 2 game objects per user, 300k ratings and a week of sent email.
+INSERT INTO users (id, first_name, last_name, email, password, role, approved, token_version, deleted_at)
+SELECT g, 'First', 'Last', 'user' || g || '@example.com', '-', CASE WHEN g % 1000 = 0 THEN 'ADMIN' ELSE 'SELLER' END,
+       g % 200 <> 0, 0, CASE WHEN g % 500 = 7 THEN now() - g * interval '1 second' END
+FROM generate_series(1, 100000) g;
+
+INSERT INTO comments (id, message, user_id, created_at, approved)
+SELECT g, 'Comment ' || g, 1 + g % 100000, now() - g * interval '30 seconds', g % 100 <> 0
+FROM generate_series(1, 1000000) g;
+
+INSERT INTO game_objects (id, title, text, user_id, created_at, updated_at, deleted_at)
+SELECT g, 'Game ' || g, 'Listing', 1 + g % 100000, now(), now(), CASE WHEN g % 100 = 0 THEN now() END
+FROM generate_series(1, 200000) g;
+
+INSERT INTO ratings (id, comment_id, rating_value)
+SELECT g, g * 3, 1 + g % 5
+FROM generate_series(1, 300000) g;
+
+INSERT INTO email_outbox (id, sender, recipient, subject, body, status, attempts, next_attempt_at, created_at, sent_at,
+                          last_error)
+SELECT g, 'noreply@example.com', 'user@example.com', 'Subject', 'Body', CASE WHEN g % 100 = 0 THEN 'PENDING' ELSE 'SENT' END,
+       1, now() - g * interval '1 second', now() - g * interval '6.2 seconds',
+       CASE WHEN g % 100 <> 0 THEN now() - g * interval '6.2 seconds' END, NULL
+FROM generate_series(1, 100000) g;
+
+ANALYZE;